@@ -0,0 +1,42 @@
+package com.sports.tracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Serves the admin endpoints ({@value #ADMIN_PATH_PREFIX}**) only on the admin connector
+ * ({@code custom.admin-port}), and nothing else there, neither the OpenAPI documentation nor actuator. Requests
+ * on the wrong port get a 404, so the public port does not reveal that the admin endpoints exist; for the same
+ * reason they are left out of the OpenAPI documentation, see {@link OpenApiConfig}.
+ */
+@Component
+public class AdminPortFilter extends OncePerRequestFilter {
+
+    static final String ADMIN_PATH_PREFIX = "/admin/";
+
+    private final int adminPort;
+
+    public AdminPortFilter(@Value("${custom.admin-port:8082}") int adminPort) {
+        this.adminPort = adminPort;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean adminPath = path.startsWith(ADMIN_PATH_PREFIX) || path.equals("/admin");
+        if (adminPath != (request.getLocalPort() == adminPort)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,157 @@
+package com.sports.tracker.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.tomcat.util.threads.TaskQueue;
+import org.apache.tomcat.util.threads.TaskThreadFactory;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives each Tomcat connector its own request executor and connection limits, so that traffic on one port
+ * cannot starve request processing on another.
+ * <p>
+ * Settings are bound per connector name from {@code custom.connectors.<name>} (see {@link ConnectorSettings}).
+ * Metrics, all tagged with the connector name and port:
+ * <ul>
+ *     <li>{@code tomcat.connector.threads.busy} - requests currently being processed</li>
+ *     <li>{@code tomcat.connector.threads.current} - threads of the platform pool (absent for virtual threads)</li>
+ *     <li>{@code tomcat.connector.threads.max} - configured size of the platform pool (absent for virtual threads)</li>
+ *     <li>{@code tomcat.connector.queue.size} - requests waiting for a platform thread (absent for virtual threads)</li>
+ *     <li>{@code tomcat.connector.connections.current} - open connections</li>
+ *     <li>{@code tomcat.connector.connections.max} - configured connection limit</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ConnectorExecutors {
+
+    private static final String PREFIX = "custom.connectors.";
+
+    private final Binder binder;
+    private final MeterRegistry meterRegistry;
+    private final List<ThreadPoolExecutor> pools = new CopyOnWriteArrayList<>();
+
+    public ConnectorExecutors(Environment environment, MeterRegistry meterRegistry) {
+        this.binder = Binder.get(environment);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return the settings of the named connector, with defaults for everything not configured
+     */
+    public ConnectorSettings settings(String name) {
+        return binder.bindOrCreate(PREFIX + name, ConnectorSettings.class);
+    }
+
+    /**
+     * Applies the named connector's settings and installs a dedicated executor. Must be called before
+     * the connector starts.
+     */
+    public void configure(String name, Connector connector) {
+        if (!(connector.getProtocolHandler() instanceof AbstractHttp11Protocol<?> protocol)) {
+            throw new IllegalStateException("Unsupported protocol handler for connector " + name + ": "
+                    + connector.getProtocolHandler().getClass().getName());
+        }
+        ConnectorSettings settings = settings(name);
+        protocol.setMaxConnections(settings.maxConnections());
+        protocol.setAcceptCount(settings.acceptCount());
+        protocol.setKeepAliveTimeout(settings.keepAliveTimeoutMs());
+        protocol.setMaxKeepAliveRequests(settings.maxKeepAliveRequests());
+        if (settings.compression() != null) {
+            protocol.setCompression(settings.compression());
+            protocol.setCompressionMinSize(settings.compressionMinSize());
+        }
+
+        Tags tags = Tags.of("connector", name, "port", Integer.toString(connector.getPort()));
+        if (settings.executor() == ConnectorSettings.ExecutorType.VIRTUAL) {
+            CountingVirtualThreadExecutor executor = new CountingVirtualThreadExecutor("http-" + name + "-");
+            protocol.setExecutor(executor);
+            Gauge.builder("tomcat.connector.threads.busy", executor, CountingVirtualThreadExecutor::busy)
+                 .tags(tags).register(meterRegistry);
+        } else {
+            ThreadPoolExecutor pool = createPool(name, settings);
+            protocol.setExecutor(pool);
+            pools.add(pool);
+            Gauge.builder("tomcat.connector.threads.busy", pool, ThreadPoolExecutor::getActiveCount)
+                 .tags(tags).register(meterRegistry);
+            Gauge.builder("tomcat.connector.threads.current", pool, ThreadPoolExecutor::getPoolSize)
+                 .tags(tags).register(meterRegistry);
+            Gauge.builder("tomcat.connector.threads.max", pool, ThreadPoolExecutor::getMaximumPoolSize)
+                 .tags(tags).register(meterRegistry);
+            Gauge.builder("tomcat.connector.queue.size", pool, p -> p.getQueue().size())
+                 .tags(tags).register(meterRegistry);
+        }
+        Gauge.builder("tomcat.connector.connections.current", protocol, p -> Math.max(p.getConnectionCount(), 0))
+             .tags(tags).register(meterRegistry);
+        Gauge.builder("tomcat.connector.connections.max", protocol, AbstractProtocol::getMaxConnections)
+             .tags(tags).register(meterRegistry);
+
+        log.info("Connector {} on port {}: {} executor, maxThreads={}, maxConnections={}, acceptCount={}",
+                name, connector.getPort(), settings.executor(), settings.maxThreads(),
+                settings.maxConnections(), settings.acceptCount());
+    }
+
+    /**
+     * Tomcat does not shut down executors it did not create itself.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pools.forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    /**
+     * Same pool Tomcat would create internally: grows to {@code maxThreads} before it starts queueing.
+     */
+    private static ThreadPoolExecutor createPool(String name, ConnectorSettings settings) {
+        TaskQueue queue = new TaskQueue();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                Math.min(settings.minSpareThreads(), settings.maxThreads()), settings.maxThreads(),
+                60, TimeUnit.SECONDS, queue,
+                new TaskThreadFactory("http-" + name + "-exec-", true, Thread.NORM_PRIORITY));
+        queue.setParent(pool);
+        return pool;
+    }
+
+    /**
+     * Tomcat's virtual thread executor, counting the requests it is running.
+     */
+    static final class CountingVirtualThreadExecutor extends VirtualThreadExecutor {
+
+        private final AtomicInteger busy = new AtomicInteger();
+
+        CountingVirtualThreadExecutor(String namePrefix) {
+            super(namePrefix);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            super.execute(() -> {
+                busy.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    busy.decrementAndGet();
+                }
+            });
+        }
+
+        int busy() {
+            return busy.get();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sports.tracker.config;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Request-processing limits of one Tomcat connector, bound from {@code custom.connectors.<name>}.
+ *
+ * @param executor             whether requests run on virtual threads or on a bounded platform pool
+ * @param maxThreads           maximum platform threads; ignored for virtual threads
+ * @param minSpareThreads      platform threads kept alive while idle; ignored for virtual threads
+ * @param maxConnections       connections the connector accepts and keeps open at the same time
+ * @param acceptCount          connections queued by the OS once {@code maxConnections} is reached
+ * @param keepAliveTimeoutMs   how long an idle keep-alive connection is kept open
+ * @param maxKeepAliveRequests requests served on one keep-alive connection before it is closed, -1 for no limit
+ * @param compression          gzip response compression: {@code on}, {@code off} or {@code force}; unset leaves
+ *                             the connector as configured elsewhere, e.g. by {@code server.compression}
+ * @param compressionMinSize   smallest response body that is compressed, in bytes
+ */
+public record ConnectorSettings(
+        @DefaultValue("platform") ExecutorType executor,
+        @DefaultValue("200") int maxThreads,
+        @DefaultValue("10") int minSpareThreads,
+        @DefaultValue("8192") int maxConnections,
+        @DefaultValue("100") int acceptCount,
+        @DefaultValue("20000") int keepAliveTimeoutMs,
+        @DefaultValue("100") int maxKeepAliveRequests,
+        String compression,
+        @DefaultValue("2048") int compressionMinSize) {
+
+    public enum ExecutorType {
+        /** One virtual thread per request; concurrency is bounded by {@code maxConnections} only. */
+        VIRTUAL,
+        /** A platform thread pool of at most {@code maxThreads} threads. */
+        PLATFORM
+    }
+}
@@ -4,32 +4,83 @@ import jakarta.validation.constraints.NotNull;
 import org.apache.catalina.connector.Connector;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.boot.web.servlet.server.ServletWebServerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
 /**
  * Configuration class for enabling dual port support in the embedded Tomcat server.
  * <p>
  * This setup allows the application to listen on an additional (secondary) HTTP port,
- * in addition to the default one.
+ * in addition to the default one. Each port gets its own executor and connection limits
+ * from {@link ConnectorExecutors}, so mock-provider load on the secondary port does not
+ * delay status ingestion on the primary one.
+ * <p>
+ * A third connector on {@code custom.admin-port}, bound to {@code custom.admin-address} (loopback by default),
+ * serves the admin endpoints, which {@link AdminPortFilter} keeps off the other ports.
  */
 @Configuration
 public class DualPortConfig {
 
+    public static final String PRIMARY_CONNECTOR = "primary";
+    public static final String SECONDARY_CONNECTOR = "secondary";
+    public static final String ADMIN_CONNECTOR = "admin";
+
     @Value("${custom.secondary-port}")
     private int secondaryPort;
 
+    @Value("${custom.admin-port:8082}")
+    private int adminPort;
+
+    @Value("${custom.admin-address:127.0.0.1}")
+    private String adminAddress;
+
     @Bean
-    public ServletWebServerFactory servletContainer() {
+    public ServletWebServerFactory servletContainer(ConnectorExecutors connectorExecutors) {
         TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
-        factory.addAdditionalTomcatConnectors(createSecondaryConnector());
+        factory.addAdditionalTomcatConnectors(createSecondaryConnector(connectorExecutors),
+                createAdminConnector(connectorExecutors));
         return factory;
     }
 
-    private @NotNull Connector createSecondaryConnector() {
+    /**
+     * Configures the primary connector after Spring Boot applied {@code server.tomcat.*}, which would otherwise
+     * resize the dedicated executor.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> primaryConnectorCustomizer(
+            ConnectorExecutors connectorExecutors) {
+        return new OrderedCustomizer(connectorExecutors);
+    }
+
+    private @NotNull Connector createSecondaryConnector(ConnectorExecutors connectorExecutors) {
         Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
         connector.setPort(secondaryPort);
+        connectorExecutors.configure(SECONDARY_CONNECTOR, connector);
         return connector;
     }
+
+    private @NotNull Connector createAdminConnector(ConnectorExecutors connectorExecutors) {
+        Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+        connector.setPort(adminPort);
+        connector.setProperty("address", adminAddress);
+        connectorExecutors.configure(ADMIN_CONNECTOR, connector);
+        return connector;
+    }
+
+    private record OrderedCustomizer(ConnectorExecutors connectorExecutors)
+            implements WebServerFactoryCustomizer<TomcatServletWebServerFactory>, Ordered {
+
+        @Override
+        public void customize(TomcatServletWebServerFactory factory) {
+            factory.addConnectorCustomizers(connector -> connectorExecutors.configure(PRIMARY_CONNECTOR, connector));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package com.sports.tracker.config;
+
+import com.sports.tracker.kafka.HotEventKeys;
+import com.sports.tracker.kafka.HotEventPartitioner;
+import com.sports.tracker.kafka.PartitionSkewMonitor;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration class for the Kafka producer created by Spring Boot.
+ * <p>
+ * Installs the {@link HotEventPartitioner} and hands it the shared {@link HotEventKeys} and
+ * {@link PartitionSkewMonitor} beans through the producer configs, since Kafka instantiates partitioners
+ * reflectively. Also declares the log-compacted snapshot topic, which {@code KafkaAdmin} creates on startup
+ * if it does not exist yet.
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer hotEventPartitionerCustomizer(
+            HotEventKeys hotEventKeys,
+            PartitionSkewMonitor partitionSkewMonitor,
+            @Value("${kafka.partitioner.hot-spread:3}") int hotSpread,
+            @Value("${kafka.partitioner.virtual-nodes:64}") int virtualNodes,
+            @Value("${kafka.snapshot-topic}") String snapshotTopic) {
+        return producerFactory -> producerFactory.updateConfigs(Map.of(
+                ProducerConfig.PARTITIONER_CLASS_CONFIG, HotEventPartitioner.class,
+                HotEventPartitioner.HOT_EVENT_KEYS_CONFIG, hotEventKeys,
+                HotEventPartitioner.SKEW_MONITOR_CONFIG, partitionSkewMonitor,
+                HotEventPartitioner.HOT_SPREAD_CONFIG, hotSpread,
+                HotEventPartitioner.VIRTUAL_NODES_CONFIG, virtualNodes,
+                HotEventPartitioner.PINNED_TOPICS_CONFIG, List.of(snapshotTopic)));
+    }
+
+    /**
+     * Topic holding only the latest score per eventId. Compaction runs eagerly so that a consumer
+     * bootstrapping from it reads little more than one record per live event.
+     */
+    @Bean
+    public NewTopic snapshotTopic(@Value("${kafka.snapshot-topic}") String snapshotTopic,
+                                  @Value("${kafka.snapshot.partitions:6}") int partitions,
+                                  @Value("${kafka.snapshot.tombstone-retention-ms:86400000}") long tombstoneRetention) {
+        return TopicBuilder.name(snapshotTopic)
+                           .partitions(partitions)
+                           .compact()
+                           .config(TopicConfig.MIN_CLEANABLE_DIRTY_RATIO_CONFIG, "0.1")
+                           .config(TopicConfig.SEGMENT_MS_CONFIG, "600000")
+                           .config(TopicConfig.DELETE_RETENTION_MS_CONFIG, Long.toString(tombstoneRetention))
+                           .build();
+    }
+}
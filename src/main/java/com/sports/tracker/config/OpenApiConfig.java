@@ -4,6 +4,7 @@ import io.swagger.v3.oas.models.ExternalDocumentation;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import org.springdoc.core.models.GroupedOpenApi;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,7 +12,9 @@ import org.springframework.context.annotation.Configuration;
  * Configuration class for OpenAPI documentation.
  * <p>
  * This class sets up the OpenAPI specification using Springdoc for the Sports Tracker microservice.
- * It includes basic metadata and a link to the project repository.
+ * It includes basic metadata and a link to the project repository. The public API and the mock provider are
+ * documented as separate groups. The admin endpoints are left out ({@code springdoc.paths-to-exclude}): the
+ * documentation is served on the public ports, where they do not exist, see {@link AdminPortFilter}.
  */
 @Configuration
 public class OpenApiConfig {
@@ -28,4 +31,14 @@ public class OpenApiConfig {
                         .url("https://github.com/swepsa/sports-tracker"));
     }
 
+    @Bean
+    public GroupedOpenApi publicApi() {
+        return GroupedOpenApi.builder().group("public").pathsToMatch("/events/**").build();
+    }
+
+    @Bean
+    public GroupedOpenApi mockProviderApi() {
+        return GroupedOpenApi.builder().group("mock-provider").pathsToMatch("/api/**").build();
+    }
+
 }
@@ -1,19 +1,36 @@
 package com.sports.tracker.config;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sports.tracker.exception.ExternalApiUnexpectedStatusException;
+import com.sports.tracker.exception.FailureCategory;
+import com.sports.tracker.exception.KafkaSendInterruptedException;
+import io.github.resilience4j.core.IntervalFunction;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 /**
  * Configuration class for setting up Resilience4j Retry mechanism.
  * <p>
- * This class defines a retry policy and a named retry instance ("clientRetry")
- * that can be injected where needed (e.g., HTTP client, Kafka producer).
+ * This class defines separate retry instances for the external HTTP API ("httpClientRetry") and the Kafka
+ * producer ("kafkaRetry"). Both back off exponentially with jitter, and both run asynchronously: the shared
+ * {@code retryScheduler} only times the backoff, and the attempts it triggers run on an executor of the caller,
+ * see {@link #attempts}.
  */
 @Slf4j
 @Configuration
@@ -21,21 +38,113 @@ public class RetryConfigFactory {
 
     @Bean
     public RetryRegistry retryRegistry() {
+        return RetryRegistry.ofDefaults();
+    }
+
+    /**
+     * Scheduler used by asynchronous retries and hedged requests to trigger the next attempt after a delay. Its
+     * single thread must not run the attempts themselves, see {@link #attempts}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService retryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                                                                .name("retry-scheduler")
+                                                                .daemon()
+                                                                .factory());
+    }
+
+    @Bean
+    public Retry httpClientRetry(RetryRegistry retryRegistry,
+                                 @Value("${retry.http.max-attempts:3}") int maxAttempts,
+                                 @Value("${retry.http.initial-interval-ms:500}") long initialIntervalMillis,
+                                 @Value("${retry.http.max-interval-ms:5000}") long maxIntervalMillis) {
         RetryConfig config = RetryConfig.custom()
-                                        .maxAttempts(3)
-                                        .waitDuration(Duration.ofSeconds(2))
-                                        .retryExceptions(Exception.class)
+                                        .maxAttempts(maxAttempts)
+                                        .intervalFunction(backoff(initialIntervalMillis, maxIntervalMillis))
+                                        .retryOnException(RetryConfigFactory::isRetryableHttpFailure)
                                         .build();
-        return RetryRegistry.of(config);
+        return withLogging(retryRegistry.retry("httpClientRetry", config));
     }
 
     @Bean
-    public Retry clientRetry(RetryRegistry retryRegistry) {
-        Retry httpClientRetry = retryRegistry.retry("clientRetry");
-        httpClientRetry.getEventPublisher()
-                       .onRetry(e -> log.warn("Retry attempt after {} error: ", e.getNumberOfRetryAttempts(),
-                               e.getLastThrowable()))
-                       .onError(e -> log.error("Retry failed: ", e.getLastThrowable()));
-        return httpClientRetry;
+    public Retry kafkaRetry(RetryRegistry retryRegistry,
+                            @Value("${retry.kafka.max-attempts:3}") int maxAttempts,
+                            @Value("${retry.kafka.initial-interval-ms:200}") long initialIntervalMillis,
+                            @Value("${retry.kafka.max-interval-ms:2000}") long maxIntervalMillis) {
+        RetryConfig config = RetryConfig.custom()
+                                        .maxAttempts(maxAttempts)
+                                        .intervalFunction(backoff(initialIntervalMillis, maxIntervalMillis))
+                                        .retryOnException(RetryConfigFactory::isRetryableKafkaFailure)
+                                        .build();
+        return withLogging(retryRegistry.retry("kafkaRetry", config));
+    }
+
+    /**
+     * Adapts an asynchronous attempt for {@link Retry#decorateCompletionStage}, which calls the supplier again on
+     * the {@code retryScheduler} once the backoff elapsed. The first attempt runs on the caller's thread and every
+     * retry is handed to {@code executor}, so an attempt that blocks, such as a Kafka send waiting for broker
+     * metadata, cannot hold up the other retries and the hedge timers.
+     *
+     * @param executor runs the retries
+     * @param attempt  starts the attempt with the given number, counting from 1
+     */
+    public static <T> Supplier<CompletionStage<T>> attempts(Executor executor,
+                                                            IntFunction<CompletionStage<T>> attempt) {
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> {
+            int number = attempts.incrementAndGet();
+            if (number == 1) {
+                return attempt.apply(number);
+            }
+            return CompletableFuture.supplyAsync(() -> attempt.apply(number), executor)
+                                    .thenCompose(stage -> stage);
+        };
+    }
+
+    /**
+     * Client errors (4xx other than 408 and 429) and malformed payloads will not succeed on a second attempt.
+     */
+    public static boolean isRetryableHttpFailure(Throwable throwable) {
+        for (Throwable t = unwrap(throwable); t != null; t = t.getCause()) {
+            if (t instanceof ExternalApiUnexpectedStatusException statusException) {
+                int status = statusException.getStatusCode();
+                return status >= 500 || status == 408 || status == 429;
+            }
+            if (t instanceof JsonProcessingException || t instanceof InterruptedException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isRetryableKafkaFailure(Throwable throwable) {
+        return !(unwrap(throwable) instanceof KafkaSendInterruptedException);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private static IntervalFunction backoff(long initialIntervalMillis, long maxIntervalMillis) {
+        return IntervalFunction.ofExponentialRandomBackoff(initialIntervalMillis, 2.0, 0.5, maxIntervalMillis);
+    }
+
+    private static Retry withLogging(Retry retry) {
+        retry.getEventPublisher()
+             .onRetry(e -> log.warn("{}: retry attempt {} in {} after error: {}", e.getName(),
+                     e.getNumberOfRetryAttempts(), e.getWaitInterval(), String.valueOf(e.getLastThrowable())))
+             .onError(e -> {
+                 if (FailureCategory.of(e.getLastThrowable()).isExpected()) {
+                     log.warn("{}: retry failed after {} attempts: {}", e.getName(), e.getNumberOfRetryAttempts(),
+                             FailureCategory.summarize(e.getLastThrowable()));
+                 } else {
+                     log.error("{}: retry failed: ", e.getName(), e.getLastThrowable());
+                 }
+             });
+        return retry;
     }
 }
@@ -1,17 +1,25 @@
 package com.sports.tracker.controller;
 
 import com.sports.tracker.model.EventStatus;
+import com.sports.tracker.model.ScoreHistory;
+import com.sports.tracker.scheduler.SchedulerClock;
+import com.sports.tracker.scheduler.ScoreTimeline;
 import com.sports.tracker.service.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * REST controller for managing event statuses.
  */
@@ -21,20 +29,66 @@ import org.springframework.web.bind.annotation.RestController;
 public class EventController {
 
     private final EventService eventService;
+    private final ScoreTimeline scoreTimeline;
+    private final SchedulerClock clock;
 
     /**
-     * Updates the status of an event to "live" or "not live".
+     * Updates the status of an event to "live" or "not live". A live event may carry a polling tier or an
+     * explicit poll interval; sending them again for a live event changes its cadence.
      *
      * @param eventStatus The event status payload.
      * @return A response indicating successful update.
      */
     @Operation(summary = "Update Event Status",
-            description = "Updates the status of an event to 'live' or 'not live'.")
+            description = "Updates the status of an event to 'live' or 'not live'. Live events may set a "
+                    + "'tier' (PREMIUM, STANDARD, MINOR) or an explicit 'pollIntervalMs'.")
     @ApiResponse(responseCode = "200", description = "Event status updated successfully.")
+    @ApiResponse(responseCode = "400", description = "Poll interval out of range.", content = @Content)
+    @ApiResponse(responseCode = "429", description = "At capacity, retry after the Retry-After delay.",
+            content = @Content)
     @ApiResponse(responseCode = "500", description = "Internal server error.", content = @Content)
     @PostMapping("/status")
     public ResponseEntity<String> updateEventStatus(@RequestBody EventStatus eventStatus) {
         eventService.updateEventStatus(eventStatus);
         return ResponseEntity.ok("Event status updated successfully.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Updates the statuses of many events at once, e.g. when a feed reconnects or a round of matches kicks off.
+     *
+     * @param eventStatuses The event status payloads; the last status of an event wins.
+     * @return A response indicating successful update.
+     */
+    @Operation(summary = "Update Event Statuses",
+            description = "Updates the statuses of several events in one request using bulk scheduling.")
+    @ApiResponse(responseCode = "200", description = "Event statuses updated successfully.")
+    @ApiResponse(responseCode = "400", description = "Poll interval out of range.", content = @Content)
+    @ApiResponse(responseCode = "429", description = "At capacity, some live events were not admitted; "
+            + "retry them after the Retry-After delay.", content = @Content)
+    @ApiResponse(responseCode = "500", description = "Internal server error.", content = @Content)
+    @PostMapping("/status/batch")
+    public ResponseEntity<String> updateEventStatuses(@RequestBody List<EventStatus> eventStatuses) {
+        eventService.updateEventStatuses(eventStatuses);
+        return ResponseEntity.ok("Event statuses updated successfully.");
+    }
+
+    /**
+     * Returns the recent score changes of a live event from memory, so replays do not have to read Kafka.
+     *
+     * @param eventId The ID of the event.
+     * @param since   Only changes fetched at or after this time, in epoch milliseconds.
+     * @return The score changes, oldest first.
+     */
+    @Operation(summary = "Get Score History",
+            description = "Returns the recent score changes of a live event as parallel 'timestamps', 'home' and "
+                    + "'away' arrays, oldest first. Only the configured number of changes within the retention "
+                    + "is kept per event.")
+    @ApiResponse(responseCode = "200", description = "Score history returned successfully.")
+    @ApiResponse(responseCode = "404", description = "Event is not live.", content = @Content)
+    @GetMapping("/{eventId}/history")
+    public ResponseEntity<ScoreHistory> getScoreHistory(@PathVariable String eventId,
+                                                        @RequestParam(defaultValue = "0") long since) {
+        ScoreHistory history = scoreTimeline.history(eventId, since, clock.currentTimeMillis());
+        return history == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(history);
+    }
+}
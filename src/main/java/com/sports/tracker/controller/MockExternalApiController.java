@@ -2,6 +2,7 @@ package com.sports.tracker.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,11 +14,20 @@ import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Mock controller to simulate external API responses.
+ * <p>
+ * A share of {@code mock.api.slow-ratio} responses is delayed by {@code mock.api.slow-delay-ms}, to
+ * simulate provider latency spikes.
  */
 @RestController
 @RequestMapping("/api/events")
 public class MockExternalApiController {
 
+    @Value("${mock.api.slow-ratio:0}")
+    private double slowRatio;
+
+    @Value("${mock.api.slow-delay-ms:0}")
+    private long slowDelayMillis;
+
     /**
      * Mock endpoint to simulate external API responses for event score.
      *
@@ -31,7 +41,11 @@ public class MockExternalApiController {
     @ApiResponse(responseCode = "200", description = "Successfully retrieved event score.")
     @ApiResponse(responseCode = "500", description = "Internal server error.")
     @GetMapping("/{eventId}/score")
-    public ResponseEntity<Map<String, String>> getEventScore(@PathVariable String eventId) {
+    public ResponseEntity<Map<String, String>> getEventScore(@PathVariable String eventId)
+            throws InterruptedException {
+        if (slowDelayMillis > 0 && ThreadLocalRandom.current().nextDouble() < slowRatio) {
+            Thread.sleep(slowDelayMillis);
+        }
         String score = generateRandomScore();
         Map<String, String> response = Map.of(
                 "eventId", eventId,
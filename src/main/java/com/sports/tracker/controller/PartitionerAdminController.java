@@ -0,0 +1,61 @@
+package com.sports.tracker.controller;
+
+import com.sports.tracker.kafka.HotEventKeys;
+import com.sports.tracker.kafka.PartitionSkewMonitor;
+import com.sports.tracker.model.PartitionerState;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admin controller for flagging hot events and inspecting how records are spread over Kafka partitions.
+ */
+@RestController
+@RequestMapping("/admin/partitioner")
+@RequiredArgsConstructor
+public class PartitionerAdminController {
+
+    private final HotEventKeys hotEventKeys;
+    private final PartitionSkewMonitor partitionSkewMonitor;
+
+    @Operation(summary = "Get Partitioner State",
+            description = "Returns the hot events and the per-partition record counts and skew of each topic.")
+    @ApiResponse(responseCode = "200", description = "Partitioner state returned successfully.")
+    @GetMapping
+    public ResponseEntity<PartitionerState> getState() {
+        Map<String, Double> skew = partitionSkewMonitor.skewPerTopic();
+        Map<String, Map<Integer, Long>> records = new LinkedHashMap<>();
+        skew.keySet().forEach(topic -> records.put(topic, partitionSkewMonitor.recordsPerPartition(topic)));
+        return ResponseEntity.ok(new PartitionerState(hotEventKeys.hotEvents(), skew, records));
+    }
+
+    @Operation(summary = "Flag Hot Event",
+            description = "Spreads the records of the event over several partitions from its next record on.")
+    @ApiResponse(responseCode = "204", description = "Event flagged as hot.")
+    @PutMapping("/hot-events/{eventId}")
+    public ResponseEntity<Void> markHot(@PathVariable String eventId) {
+        hotEventKeys.markHot(eventId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Unflag Hot Event",
+            description = "Pins the records of the event to a single partition again.")
+    @ApiResponse(responseCode = "204", description = "Event no longer flagged as hot.")
+    @ApiResponse(responseCode = "404", description = "Event was not flagged as hot.")
+    @DeleteMapping("/hot-events/{eventId}")
+    public ResponseEntity<Void> unmarkHot(@PathVariable String eventId) {
+        return hotEventKeys.unmarkHot(eventId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
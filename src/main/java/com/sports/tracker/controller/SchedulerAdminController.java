@@ -0,0 +1,78 @@
+package com.sports.tracker.controller;
+
+import com.sports.tracker.model.ScheduledEventPage;
+import com.sports.tracker.model.SchedulerCapacity;
+import com.sports.tracker.model.enums.PollingTier;
+import com.sports.tracker.scheduler.AdmissionControl;
+import com.sports.tracker.scheduler.SchedulerInspector;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin controller exposing the internal state of the event scheduler for diagnostics.
+ * <p>
+ * Documented in the separate "admin" OpenAPI group, apart from the public API.
+ */
+@RestController
+@RequestMapping("/admin/scheduler")
+@RequiredArgsConstructor
+public class SchedulerAdminController {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final SchedulerInspector schedulerInspector;
+    private final AdmissionControl admissionControl;
+
+    /**
+     * Lists live events with their polling timing and health.
+     *
+     * @param page                   zero-based page number
+     * @param size                   page size, capped at {@value #MAX_PAGE_SIZE}
+     * @param eventIdPrefix          only events whose id starts with this prefix
+     * @param minConsecutiveFailures only events with at least this many consecutive failures
+     * @param minFetchLatencyMs      only events whose last fetch took at least this long
+     * @param minOverdueMs           only events whose next poll is overdue by at least this long
+     * @param inFlight               only events with (or without) a poll in flight
+     * @param tier                   only events in this polling tier
+     * @return a page of matching events
+     */
+    @Operation(summary = "List Scheduled Events",
+            description = "Lists live events with last fetch latency, last publish offset, next due time, "
+                    + "consecutive failures, poll interval and polling tier.")
+    @ApiResponse(responseCode = "200", description = "Scheduler state returned successfully.")
+    @GetMapping("/events")
+    public ResponseEntity<ScheduledEventPage> listEvents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String eventIdPrefix,
+            @RequestParam(required = false) Integer minConsecutiveFailures,
+            @RequestParam(required = false) Long minFetchLatencyMs,
+            @RequestParam(required = false) Long minOverdueMs,
+            @RequestParam(required = false) Boolean inFlight,
+            @RequestParam(required = false) PollingTier tier) {
+        SchedulerInspector.Filter filter = new SchedulerInspector.Filter(
+                eventIdPrefix, minConsecutiveFailures, minFetchLatencyMs, minOverdueMs, inFlight, tier);
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        return ResponseEntity.ok(schedulerInspector.inspect(filter, Math.max(0, page), pageSize));
+    }
+
+    /**
+     * Shows how much of the node's polling capacity is in use and from which utilization each tier is shed.
+     *
+     * @return the current load and limits
+     */
+    @Operation(summary = "Show Scheduler Capacity",
+            description = "Returns live events and requested polls per second against their limits, the "
+                    + "resulting utilization and the admission threshold of each polling tier.")
+    @ApiResponse(responseCode = "200", description = "Scheduler capacity returned successfully.")
+    @GetMapping("/capacity")
+    public ResponseEntity<SchedulerCapacity> capacity() {
+        return ResponseEntity.ok(admissionControl.capacity());
+    }
+}
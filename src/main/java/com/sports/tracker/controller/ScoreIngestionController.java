@@ -0,0 +1,81 @@
+package com.sports.tracker.controller;
+
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.PushSummary;
+import com.sports.tracker.service.ScoreIngestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * REST controller for providers that push scores instead of being polled.
+ */
+@RestController
+@RequestMapping("/events/scores")
+@RequiredArgsConstructor
+public class ScoreIngestionController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final ScoreIngestionService scoreIngestionService;
+
+    /**
+     * Publishes a pushed score of a live event and suspends its polling while pushes keep coming.
+     *
+     * @param eventScore The score payload.
+     * @return What became of the score.
+     */
+    @Operation(summary = "Push Score",
+            description = "Publishes the score of a live event pushed by its provider. Polling of the event is "
+                    + "suspended until the push feed has been quiet for 'scheduler.push.quiet-ms'.")
+    @ApiResponse(responseCode = "200", description = "Score processed; see the summary for its outcome.")
+    @ApiResponse(responseCode = "400", description = "eventId or currentScore missing.", content = @Content)
+    @PostMapping
+    public ResponseEntity<PushSummary> pushScore(@RequestBody EventScore eventScore) {
+        return ResponseEntity.ok(scoreIngestionService.push(List.of(eventScore)));
+    }
+
+    /**
+     * Publishes several pushed scores in order.
+     *
+     * @param eventScores The score payloads.
+     * @return What became of the scores.
+     */
+    @Operation(summary = "Push Scores",
+            description = "Publishes several pushed scores in order. The batch is rejected as a whole if a "
+                    + "score lacks an eventId or currentScore.")
+    @ApiResponse(responseCode = "200", description = "Scores processed; see the summary for their outcomes.")
+    @ApiResponse(responseCode = "400", description = "eventId or currentScore missing.", content = @Content)
+    @PostMapping("/batch")
+    public ResponseEntity<PushSummary> pushScores(@RequestBody List<EventScore> eventScores) {
+        return ResponseEntity.ok(scoreIngestionService.push(eventScores));
+    }
+
+    /**
+     * Publishes the scores of a long-lived NDJSON stream, one score per line, until the provider closes it.
+     *
+     * @param provider The name of the provider, for logging.
+     * @param request  The streaming request.
+     * @return What became of the scores of the whole stream.
+     */
+    @Operation(summary = "Stream Scores",
+            description = "Keeps the request open and publishes each line of the NDJSON body as a score as soon "
+                    + "as it arrives. Lines that are not a valid score are skipped.")
+    @ApiResponse(responseCode = "200", description = "Stream closed; see the summary for the outcomes.")
+    @PostMapping(value = "/stream", consumes = NDJSON)
+    public ResponseEntity<PushSummary> streamScores(@RequestParam(defaultValue = "default") String provider,
+                                                    HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(scoreIngestionService.stream(provider, request.getInputStream()));
+    }
+}
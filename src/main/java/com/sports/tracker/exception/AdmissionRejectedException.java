@@ -0,0 +1,24 @@
+package com.sports.tracker.exception;
+
+/**
+ * Thrown when live events are refused because the node is at capacity; answered with
+ * {@code 429 Too Many Requests}.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+    private final int rejectedEvents;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, int rejectedEvents, long retryAfterSeconds) {
+        super(message);
+        this.rejectedEvents = rejectedEvents;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRejectedEvents() {
+        return rejectedEvents;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
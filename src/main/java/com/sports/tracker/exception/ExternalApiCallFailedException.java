@@ -1,7 +1,11 @@
 package com.sports.tracker.exception;
 
+/**
+ * Thrown when a call to the external API got no usable response. Thrown without a stack trace of its own: the
+ * cause carries the trace of what went wrong.
+ */
 public class ExternalApiCallFailedException extends ExternalApiException {
     public ExternalApiCallFailedException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false);
     }
 }
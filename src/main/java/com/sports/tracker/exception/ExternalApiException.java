@@ -8,4 +8,11 @@ public class ExternalApiException extends RuntimeException {
     public ExternalApiException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * For expected failures, which are thrown without a stack trace; see {@link FailureCategory}.
+     */
+    protected ExternalApiException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, false, writableStackTrace);
+    }
 }
@@ -1,7 +1,18 @@
 package com.sports.tracker.exception;
 
+/**
+ * Thrown when the external API answers with a status other than 200. An expected failure, thrown without a
+ * stack trace.
+ */
 public class ExternalApiUnexpectedStatusException extends ExternalApiException {
+    private final int statusCode;
+
     public ExternalApiUnexpectedStatusException(int statusCode) {
-        super("Unexpected response status from external API: " + statusCode);
+        super("Unexpected response status from external API: " + statusCode, null, false);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
     }
 }
@@ -0,0 +1,114 @@
+package com.sports.tracker.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.kafka.common.errors.RetriableException;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * What kind of failure an error is.
+ * <p>
+ * Expected failures are the provider answering with an error status, being unreachable or sending an
+ * unreadable body, and the broker failing transiently or the hand-off to it being full. They come in floods
+ * during incidents, so they are thrown without stack traces, logged in one line and counted by category. Only
+ * {@link #UNEXPECTED} failures are logged with their stack trace.
+ */
+public enum FailureCategory {
+    PROVIDER_STATUS,
+    PROVIDER_IO,
+    PROVIDER_DECODE,
+    KAFKA_SEND,
+    INTERRUPTED,
+    UNEXPECTED;
+
+    private static final int MAX_CAUSES = 16;
+
+    public boolean isExpected() {
+        return this != UNEXPECTED;
+    }
+
+    /**
+     * @return the value of the {@code category} metric tag
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Classifies an error by the service exception that reports it, which tells where it came from: a provider
+     * call or a Kafka send. Below that exception, only the direct cause is looked at, so an I/O or JSON error of
+     * the service's own, such as a failed serialization, counts as {@link #UNEXPECTED}. So does every error that
+     * no service exception reports.
+     *
+     * @return the category of the first service exception in the cause chain
+     */
+    public static FailureCategory of(Throwable error) {
+        Throwable cause = error;
+        for (int depth = 0; cause != null && depth < MAX_CAUSES; depth++, cause = cause.getCause()) {
+            if (cause instanceof ExternalApiUnexpectedStatusException) {
+                return PROVIDER_STATUS;
+            }
+            if (cause instanceof ExternalApiCallFailedException) {
+                // The synchronous call wraps a status exception in a call failure
+                if (cause.getCause() instanceof ExternalApiException) {
+                    continue;
+                }
+                return ofProviderCall(cause.getCause());
+            }
+            if (cause instanceof KafkaSendInterruptedException) {
+                return INTERRUPTED;
+            }
+            if (cause instanceof KafkaMessageSendException) {
+                return ofKafkaSend(cause.getCause());
+            }
+        }
+        return UNEXPECTED;
+    }
+
+    private static FailureCategory ofProviderCall(Throwable cause) {
+        if (cause instanceof InterruptedException) {
+            return INTERRUPTED;
+        }
+        // Checked first: Jackson's exceptions are IOExceptions too
+        if (cause instanceof JsonProcessingException) {
+            return PROVIDER_DECODE;
+        }
+        if (cause instanceof IOException) {
+            return PROVIDER_IO;
+        }
+        return UNEXPECTED;
+    }
+
+    /**
+     * @param cause the cause of the send exception; {@code null} if the service refused the record itself, e.g.
+     *              because the score hand-off is full
+     */
+    private static FailureCategory ofKafkaSend(Throwable cause) {
+        if (cause == null) {
+            return KAFKA_SEND;
+        }
+        if (cause instanceof KafkaMessageSendException) {
+            return of(cause);
+        }
+        // The producer reports broker trouble as a retriable Kafka exception, possibly wrapped by Spring
+        for (int depth = 0; cause != null && depth < MAX_CAUSES; depth++, cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return KAFKA_SEND;
+            }
+        }
+        return UNEXPECTED;
+    }
+
+    /**
+     * @return the messages of the error and its causes in one line, for logging an expected failure
+     */
+    public static String summarize(Throwable error) {
+        StringBuilder summary = new StringBuilder(String.valueOf(error));
+        Throwable cause = error.getCause();
+        for (int depth = 1; cause != null && depth < MAX_CAUSES; depth++, cause = cause.getCause()) {
+            summary.append("; caused by ").append(cause);
+        }
+        return summary.toString();
+    }
+}
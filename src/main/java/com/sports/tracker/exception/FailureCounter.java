@@ -0,0 +1,33 @@
+package com.sports.tracker.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts failed polls and publishes as {@code failures{category}}, tagged with their {@link FailureCategory}.
+ */
+@Component
+public class FailureCounter {
+
+    private final Counter[] counters = new Counter[FailureCategory.values().length];
+
+    public FailureCounter(MeterRegistry meterRegistry) {
+        for (FailureCategory category : FailureCategory.values()) {
+            counters[category.ordinal()] = Counter.builder("failures")
+                                                  .tag("category", category.tag())
+                                                  .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Counts a failure.
+     *
+     * @return its category
+     */
+    public FailureCategory count(Throwable error) {
+        FailureCategory category = FailureCategory.of(error);
+        counters[category.ordinal()].increment();
+        return category;
+    }
+}
@@ -1,10 +1,11 @@
 package com.sports.tracker.exception;
 
 /**
- * Thrown when sending a message to Kafka fails.
+ * Thrown when sending a message to Kafka fails. Thrown without a stack trace of its own: the cause, if any,
+ * carries the trace of what went wrong.
  */
 public class KafkaMessageSendException extends RuntimeException {
     public KafkaMessageSendException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
@@ -0,0 +1,63 @@
+package com.sports.tracker.http;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A bounded pool of byte arrays for response bodies, so that polling does not allocate fresh buffers for
+ * every response.
+ * <p>
+ * Buffers are handed out with at least {@code bufferSize} bytes. Buffers grown beyond
+ * {@code maxRetainedSize} are not taken back, so one huge response does not pin its memory in the pool.
+ * Safe for use from any thread; virtual threads share the pool instead of holding one buffer each.
+ */
+public class BufferPool {
+
+    private final ArrayBlockingQueue<byte[]> buffers;
+    private final int bufferSize;
+    private final int maxRetainedSize;
+
+    public BufferPool(int capacity, int bufferSize, int maxRetainedSize) {
+        if (capacity <= 0 || bufferSize <= 0 || maxRetainedSize < bufferSize) {
+            throw new IllegalArgumentException("Invalid buffer pool: capacity=" + capacity
+                    + ", bufferSize=" + bufferSize + ", maxRetainedSize=" + maxRetainedSize);
+        }
+        this.buffers = new ArrayBlockingQueue<>(capacity);
+        this.bufferSize = bufferSize;
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    /**
+     * @return a pooled buffer, or a new one if the pool is empty
+     */
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    /**
+     * Returns a buffer of at least {@code minSize} bytes holding the first {@code length} bytes of
+     * {@code buffer}, and releases {@code buffer}.
+     */
+    public byte[] grow(byte[] buffer, int length, int minSize) {
+        byte[] grown = new byte[Math.max(minSize, buffer.length * 2)];
+        System.arraycopy(buffer, 0, grown, 0, length);
+        release(buffer);
+        return grown;
+    }
+
+    /**
+     * Returns a buffer to the pool; dropped if the pool is full or the buffer grew too large.
+     */
+    public void release(byte[] buffer) {
+        if (buffer != null && buffer.length >= bufferSize && buffer.length <= maxRetainedSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    /**
+     * @return the number of buffers currently waiting in the pool
+     */
+    public int available() {
+        return buffers.size();
+    }
+}
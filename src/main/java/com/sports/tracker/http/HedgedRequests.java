@@ -0,0 +1,286 @@
+package com.sports.tracker.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Races a hedge request against a slow primary request to cut tail latency.
+ * <p>
+ * The primary request is sent at once. If it has not answered after the hedge delay, the hedge request is
+ * sent as well; the first successful response wins and the other request is cancelled. A call fails only when
+ * every request it sent failed, with the error of the primary request.
+ * <p>
+ * The hedge delay follows the latency of recent successful primary requests: it is their
+ * {@code external.api.hedge.percentile} percentile, but at least {@code external.api.hedge.min-delay-ms}, and
+ * {@code external.api.hedge.initial-delay-ms} until enough samples were seen. At most
+ * {@code external.api.hedge.max-rate} of all calls are hedged, so a slow provider does not double the load.
+ * Metrics:
+ * <ul>
+ *     <li>{@code external.api.hedge.calls} - tagged with {@code result=primary|hedged|capped}, where
+ *     {@code capped} calls needed a hedge but were over budget</li>
+ *     <li>{@code external.api.hedge.wins} - hedged calls, tagged with the winning {@code request=primary|hedge}</li>
+ *     <li>{@code external.api.hedge.rate} and {@code external.api.hedge.win-rate} - the share of calls that were
+ *     hedged, and of hedged calls the hedge won</li>
+ *     <li>{@code external.api.hedge.delay} - the current hedge delay in milliseconds</li>
+ * </ul>
+ */
+@Component
+public class HedgedRequests {
+
+    private static final int LATENCY_SAMPLES = 512;
+    private static final int RECOMPUTE_EVERY = 128;
+    private static final long CREDIT_PER_HEDGE = 1_000;
+    private static final long MAX_CREDIT = 10 * CREDIT_PER_HEDGE;
+    /**
+     * Taken by a primary request that completed before a hedge was sent, so none is sent after it.
+     */
+    private static final CompletableFuture<?> NO_HEDGE = CompletableFuture.completedFuture(null);
+
+    private final ScheduledExecutorService scheduler;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long creditPerCall;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_SAMPLES);
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong credit = new AtomicLong(MAX_CREDIT);
+    private volatile long delayNanos;
+
+    private final Counter primaryOnly;
+    private final Counter hedged;
+    private final Counter capped;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    public HedgedRequests(MeterRegistry meterRegistry,
+                          ScheduledExecutorService retryScheduler,
+                          @Value("${external.api.hedge.percentile:0.95}") double percentile,
+                          @Value("${external.api.hedge.min-delay-ms:20}") long minDelayMillis,
+                          @Value("${external.api.hedge.initial-delay-ms:500}") long initialDelayMillis,
+                          @Value("${external.api.hedge.max-rate:0.1}") double maxRate) {
+        if (percentile <= 0 || percentile > 1 || maxRate < 0 || maxRate > 1) {
+            throw new IllegalArgumentException("external.api.hedge.percentile and max-rate must be within (0, 1]");
+        }
+        this.scheduler = retryScheduler;
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.creditPerCall = Math.round(maxRate * CREDIT_PER_HEDGE);
+        this.delayNanos = Math.max(minDelayNanos, TimeUnit.MILLISECONDS.toNanos(initialDelayMillis));
+        this.primaryOnly = calls(meterRegistry, "primary");
+        this.hedged = calls(meterRegistry, "hedged");
+        this.capped = calls(meterRegistry, "capped");
+        this.primaryWins = wins(meterRegistry, "primary");
+        this.hedgeWins = wins(meterRegistry, "hedge");
+        Gauge.builder("external.api.hedge.rate", this, HedgedRequests::hedgeRate).register(meterRegistry);
+        Gauge.builder("external.api.hedge.win-rate", this, HedgedRequests::winRate).register(meterRegistry);
+        Gauge.builder("external.api.hedge.delay", this, requests -> requests.delayMillis())
+             .baseUnit("milliseconds")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Sends the primary request, and the hedge request too if the primary one is slow.
+     *
+     * @param primary sends the primary request
+     * @param hedge   sends the hedge request, or {@code null} to send the primary request only
+     * @return a future completed with the first successful response
+     */
+    public <T> CompletableFuture<T> send(Supplier<CompletableFuture<T>> primary,
+                                         Supplier<CompletableFuture<T>> hedge) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<T> primaryCall = primary.get();
+        if (hedge == null) {
+            return primaryCall.whenComplete((value, error) -> {
+                if (error == null) {
+                    recordLatency(System.nanoTime() - startedAt);
+                }
+            });
+        }
+        credit.getAndUpdate(current -> Math.min(MAX_CREDIT, current + creditPerCall));
+
+        HedgedCall<T> call = new HedgedCall<>(primaryCall);
+        ScheduledFuture<?> timer = scheduler.schedule(() -> call.hedge(hedge), delayNanos, TimeUnit.NANOSECONDS);
+        primaryCall.whenComplete((value, error) -> {
+            timer.cancel(false);
+            if (error == null || primaryCall.isCancelled()) {
+                // A primary request that lost the race still took at least this long
+                recordLatency(System.nanoTime() - startedAt);
+            }
+            call.primaryCompleted(value, error);
+        });
+        call.result.whenComplete((value, error) -> call.cancelRequests());
+        return call.result;
+    }
+
+    /**
+     * @return the current hedge delay in milliseconds
+     */
+    public long delayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(delayNanos);
+    }
+
+    private void recordLatency(long nanos) {
+        long count = recorded.incrementAndGet();
+        latencies.set((int) (count % LATENCY_SAMPLES), nanos);
+        if (count % RECOMPUTE_EVERY == 0) {
+            int samples = (int) Math.min(count, LATENCY_SAMPLES);
+            long[] sorted = new long[samples];
+            for (int i = 0; i < samples; i++) {
+                sorted[i] = latencies.get(i);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.min(samples - 1, Math.ceil(percentile * samples) - 1);
+            delayNanos = Math.max(minDelayNanos, sorted[rank]);
+        }
+    }
+
+    private void returnCredit() {
+        credit.getAndUpdate(current -> Math.min(MAX_CREDIT, current + CREDIT_PER_HEDGE));
+    }
+
+    private boolean tryTakeCredit() {
+        long current;
+        do {
+            current = credit.get();
+            if (current < CREDIT_PER_HEDGE) {
+                return false;
+            }
+        } while (!credit.compareAndSet(current, current - CREDIT_PER_HEDGE));
+        return true;
+    }
+
+    private double hedgeRate() {
+        double calls = primaryOnly.count() + hedged.count() + capped.count();
+        return calls == 0 ? 0 : hedged.count() / calls;
+    }
+
+    private double winRate() {
+        double wins = primaryWins.count() + hedgeWins.count();
+        return wins == 0 ? 0 : hedgeWins.count() / wins;
+    }
+
+    /**
+     * The state of one call: its requests and who settled its result. Metrics are counted before the result is
+     * completed, so they are up to date once a caller sees the result.
+     * <p>
+     * Whether a hedge is sent is decided by a single compare-and-set on {@code hedge}: the hedge claims it before
+     * it is sent, and a primary request completing first claims it with {@link #NO_HEDGE}. So a primary request
+     * failing while the hedge is being sent waits for the hedge instead of failing the call.
+     */
+    private final class HedgedCall<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final CompletableFuture<T> primary;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private final AtomicReference<CompletableFuture<?>> hedge = new AtomicReference<>();
+        private volatile Throwable primaryError;
+        private volatile Counter outcome = primaryOnly;
+
+        private HedgedCall(CompletableFuture<T> primary) {
+            this.primary = primary;
+        }
+
+        private void hedge(Supplier<CompletableFuture<T>> send) {
+            if (primary.isDone()) {
+                return;
+            }
+            if (!tryTakeCredit()) {
+                outcome = capped;
+                return;
+            }
+            CompletableFuture<T> call = new CompletableFuture<>();
+            if (!hedge.compareAndSet(null, call)) {
+                // The primary request completed meanwhile
+                returnCredit();
+                return;
+            }
+            outcome = hedged;
+            call.whenComplete((value, error) -> {
+                if (error == null) {
+                    succeed(value, hedgeWins);
+                } else if (primaryError != null) {
+                    fail(primaryError);
+                }
+            });
+            CompletableFuture<T> sent;
+            try {
+                sent = send.get();
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            // Cancelling the call, as cancelRequests does once the result is settled, cancels the request
+            CompletableFuture<T> request = sent;
+            call.whenComplete((value, error) -> request.cancel(true));
+            request.whenComplete((value, error) -> {
+                if (error == null) {
+                    call.complete(value);
+                } else {
+                    call.completeExceptionally(error);
+                }
+            });
+        }
+
+        private void primaryCompleted(T value, Throwable error) {
+            CompletableFuture<?> call = hedge.compareAndExchange(null, NO_HEDGE);
+            if (error == null) {
+                succeed(value, call != null ? primaryWins : null);
+                return;
+            }
+            primaryError = error;
+            if (call == null || call.isCompletedExceptionally()) {
+                fail(error);
+            }
+        }
+
+        private void succeed(T value, Counter winner) {
+            if (settled.compareAndSet(false, true)) {
+                outcome.increment();
+                if (winner != null) {
+                    winner.increment();
+                }
+                result.complete(value);
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (settled.compareAndSet(false, true)) {
+                outcome.increment();
+                result.completeExceptionally(error);
+            }
+        }
+
+        private void cancelRequests() {
+            primary.cancel(true);
+            CompletableFuture<?> call = hedge.get();
+            if (call != null) {
+                call.cancel(true);
+            }
+        }
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("external.api.hedge.calls")
+                      .tag("result", result)
+                      .register(meterRegistry);
+    }
+
+    private static Counter wins(MeterRegistry meterRegistry, String request) {
+        return Counter.builder("external.api.hedge.wins")
+                      .tag("request", request)
+                      .register(meterRegistry);
+    }
+}
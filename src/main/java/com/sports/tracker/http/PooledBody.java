@@ -0,0 +1,83 @@
+package com.sports.tracker.http;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A decoded response body held in a pooled buffer. Only the first {@link #length()} bytes of
+ * {@link #bytes()} belong to the body. Must be closed once the body was read, which returns the buffer to
+ * its pool; the bytes must not be used afterwards.
+ */
+public final class PooledBody implements AutoCloseable {
+
+    private final BufferPool pool;
+    private byte[] bytes;
+    private final int length;
+    private final int wireLength;
+    private final String contentEncoding;
+
+    PooledBody(BufferPool pool, byte[] bytes, int length, int wireLength, String contentEncoding) {
+        this.pool = pool;
+        this.bytes = bytes;
+        this.length = length;
+        this.wireLength = wireLength;
+        this.contentEncoding = contentEncoding;
+    }
+
+    public byte[] bytes() {
+        if (bytes == null) {
+            throw new IllegalStateException("Body was already released");
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the length of the decoded body
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the length of the body as transferred, before decompression
+     */
+    public int wireLength() {
+        return wireLength;
+    }
+
+    /**
+     * @return the {@code Content-Encoding} the body was decoded from, {@code identity} if none
+     */
+    public String contentEncoding() {
+        return contentEncoding;
+    }
+
+    @Override
+    public void close() {
+        byte[] released = bytes;
+        bytes = null;
+        pool.release(released);
+    }
+
+    /**
+     * Decodes at most the first {@code maxBytes} bytes of the body as UTF-8, for logging a body that may be
+     * large. A truncated preview ends with {@code ...}; a character cut in half decodes as a replacement
+     * character.
+     */
+    public String preview(int maxBytes) {
+        if (bytes == null) {
+            return "<released>";
+        }
+        if (length <= maxBytes) {
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        return new String(bytes, 0, maxBytes, StandardCharsets.UTF_8) + "...";
+    }
+
+    /**
+     * Decodes the body as UTF-8; meant for logging, which only calls it if the message is enabled.
+     */
+    @Override
+    public String toString() {
+        return bytes == null ? "<released>" : new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+package com.sports.tracker.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Collects response bodies into {@link BufferPool pooled} buffers and decodes the negotiated
+ * {@code Content-Encoding}.
+ * <p>
+ * Send {@link #ACCEPT_ENCODING} as the request's {@code Accept-Encoding} to negotiate compression;
+ * {@code gzip}, {@code deflate} and uncompressed bodies are decoded, anything else fails the response with
+ * an {@link IOException}. Decoded bodies larger than {@code maxBodySize} fail as well, so a small
+ * compressed payload cannot expand without bounds.
+ */
+public class PooledBodyHandler implements HttpResponse.BodyHandler<PooledBody> {
+
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+    public static final String IDENTITY = "identity";
+
+    private final BufferPool pool;
+    private final int maxBodySize;
+
+    public PooledBodyHandler(BufferPool pool, int maxBodySize) {
+        this.pool = pool;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<PooledBody> apply(HttpResponse.ResponseInfo responseInfo) {
+        String encoding = responseInfo.headers()
+                                      .firstValue("Content-Encoding")
+                                      .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                                      .filter(value -> !value.isEmpty())
+                                      .orElse(IDENTITY);
+        return new PooledBodySubscriber(encoding);
+    }
+
+    private PooledBody decode(byte[] wire, int wireLength, String encoding) throws IOException {
+        InputStream compressed = new ByteArrayInputStream(wire, 0, wireLength);
+        try (InputStream in = switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(compressed);
+            case "deflate" -> new InflaterInputStream(compressed);
+            default -> throw new IOException("Unsupported Content-Encoding: " + encoding);
+        }) {
+            byte[] buffer = pool.acquire();
+            int length = 0;
+            try {
+                int read;
+                while ((read = in.read(buffer, length, buffer.length - length)) >= 0) {
+                    length += read;
+                    if (length == buffer.length) {
+                        buffer = pool.grow(buffer, length, checkedSize(length + 1));
+                    }
+                }
+                return new PooledBody(pool, buffer, length, wireLength, encoding);
+            } catch (IOException | RuntimeException e) {
+                pool.release(buffer);
+                throw e;
+            }
+        } finally {
+            pool.release(wire);
+        }
+    }
+
+    private int checkedSize(int size) throws IOException {
+        if (size > maxBodySize) {
+            throw new IOException("Response body exceeds " + maxBodySize + " bytes");
+        }
+        return Math.min(maxBodySize, size);
+    }
+
+    private final class PooledBodySubscriber implements HttpResponse.BodySubscriber<PooledBody> {
+
+        private final CompletableFuture<PooledBody> result = new CompletableFuture<>();
+        private final String encoding;
+        private Flow.Subscription subscription;
+        private byte[] buffer;
+        private int length;
+
+        private PooledBodySubscriber(String encoding) {
+            this.encoding = encoding;
+        }
+
+        @Override
+        public CompletionStage<PooledBody> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            buffer = pool.acquire();
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                for (ByteBuffer item : items) {
+                    int remaining = item.remaining();
+                    if (length + remaining > buffer.length) {
+                        buffer = pool.grow(buffer, length, checkedSize(length + remaining));
+                    }
+                    item.get(buffer, length, remaining);
+                    length += remaining;
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (result.isDone()) {
+                return;
+            }
+            if (IDENTITY.equals(encoding)) {
+                result.complete(new PooledBody(pool, buffer, length, length, encoding));
+                return;
+            }
+            try {
+                result.complete(decode(buffer, length, encoding));
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (result.completeExceptionally(error)) {
+                pool.release(buffer);
+            }
+        }
+    }
+}
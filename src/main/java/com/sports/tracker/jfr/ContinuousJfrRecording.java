@@ -0,0 +1,79 @@
+package com.sports.tracker.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Continuous Java Flight Recorder recording started together with the application.
+ * <p>
+ * Enabled with {@code tracing.jfr.enabled=true}. The recording acts as a ring buffer bounded by
+ * {@code tracing.jfr.max-age} and {@code tracing.jfr.max-size}. It always includes the custom fetch, decode,
+ * publish and dispatch events. If {@code tracing.jfr.dump-path} is set, the buffer is written there when the
+ * application stops. At other times it can be dumped with {@code jcmd <pid> JFR.dump name=sports-tracker}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tracing.jfr", name = "enabled", havingValue = "true")
+public class ContinuousJfrRecording {
+
+    static final String RECORDING_NAME = "sports-tracker";
+
+    @Value("${tracing.jfr.settings:default}")
+    private String settings = "default";
+
+    @Value("${tracing.jfr.max-age:15m}")
+    private Duration maxAge = Duration.ofMinutes(15);
+
+    @Value("${tracing.jfr.max-size:64MB}")
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    @Value("${tracing.jfr.dump-path:}")
+    private String dumpPath = "";
+
+    private Recording recording;
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        JfrEvents.TRACKER_EVENTS.forEach(type -> recording.enable(type).withoutThreshold());
+        if (!dumpPath.isBlank()) {
+            recording.setDestination(Path.of(dumpPath));
+            recording.setDumpOnExit(true);
+        }
+        recording.start();
+        log.info("Started continuous JFR recording '{}' (settings={}, maxAge={}, maxSize={})",
+                RECORDING_NAME, settings, maxAge, maxSize);
+    }
+
+    /**
+     * Writes the current content of the ring buffer to the given file.
+     */
+    public void dump(Path target) throws IOException {
+        recording.dump(target);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            // Stopping writes the recording to its destination, if one is configured
+            recording.stop();
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.sports.tracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering a single attempt to fetch a score from the external API.
+ */
+@Name("com.sports.tracker.ExternalApiCall")
+@Label("External API Call")
+@Category({"Sports Tracker", "Fetch"})
+@Description("A single HTTP attempt to fetch the score of an event")
+@StackTrace(false)
+public class ExternalApiCallEvent extends Event {
+
+    @Label("Event Id")
+    public String eventId;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Status Code")
+    public int statusCode;
+
+    @Label("Outcome")
+    public String outcome;
+}
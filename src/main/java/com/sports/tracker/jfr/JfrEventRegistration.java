@@ -0,0 +1,17 @@
+package com.sports.tracker.jfr;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers the tracker event types while the context starts, whether or not a continuous recording is
+ * enabled, so a recording started later with {@code jcmd} does not stall the first poll either.
+ */
+@Component
+public class JfrEventRegistration {
+
+    @PostConstruct
+    public void register() {
+        JfrEvents.preload();
+    }
+}
@@ -0,0 +1,29 @@
+package com.sports.tracker.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+
+import java.util.List;
+
+/**
+ * The custom JFR event types of the tracker.
+ */
+public final class JfrEvents {
+
+    public static final List<Class<? extends Event>> TRACKER_EVENTS = List.of(
+            ExternalApiCallEvent.class,
+            JsonDecodeEvent.class,
+            KafkaSendEvent.class,
+            SchedulerDispatchEvent.class);
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Registers all tracker event types up front. The first use of an event type initializes JFR metadata,
+     * which takes hundreds of milliseconds and would otherwise be paid by the first poll.
+     */
+    public static void preload() {
+        TRACKER_EVENTS.forEach(FlightRecorder::register);
+    }
+}
@@ -0,0 +1,32 @@
+package com.sports.tracker.jfr;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Outcome values recorded in the custom JFR events.
+ */
+public final class JfrOutcomes {
+
+    public static final String SUCCESS = "success";
+
+    /**
+     * The work completed but its result was dropped, e.g. a stale score.
+     */
+    public static final String DISCARDED = "discarded";
+
+    private JfrOutcomes() {
+    }
+
+    /**
+     * @return an outcome naming the type of the failure, unwrapping async wrappers
+     */
+    public static String failure(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return "failure:" + cause.getClass().getSimpleName();
+    }
+}
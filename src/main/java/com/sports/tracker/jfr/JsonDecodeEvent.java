@@ -0,0 +1,41 @@
+package com.sports.tracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the decoding of an external API response into an {@code EventScore}.
+ */
+@Name("com.sports.tracker.JsonDecode")
+@Label("JSON Decode")
+@Category({"Sports Tracker", "Fetch"})
+@Description("Decoding of a provider response body")
+@StackTrace(false)
+public class JsonDecodeEvent extends Event {
+
+    @Label("Event Id")
+    public String eventId;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bodySize;
+
+    @Label("Wire Size")
+    @Description("Body size as transferred, before decompression")
+    @DataAmount
+    public long wireSize;
+
+    @Label("Content Encoding")
+    public String contentEncoding;
+
+    @Label("Outcome")
+    public String outcome;
+}
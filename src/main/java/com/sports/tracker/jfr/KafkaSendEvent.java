@@ -0,0 +1,34 @@
+package com.sports.tracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering a single attempt to publish a record to Kafka, from send until acknowledgement.
+ */
+@Name("com.sports.tracker.KafkaSend")
+@Label("Kafka Send")
+@Category({"Sports Tracker", "Publish"})
+@Description("A single attempt to publish an event score to Kafka")
+@StackTrace(false)
+public class KafkaSendEvent extends Event {
+
+    @Label("Topic")
+    public String topic;
+
+    @Label("Event Id")
+    public String eventId;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Offset")
+    public long offset;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,35 @@
+package com.sports.tracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event covering one scheduled poll of an event, from dispatch until fetch and publish completed.
+ */
+@Name("com.sports.tracker.SchedulerDispatch")
+@Label("Scheduler Dispatch")
+@Category({"Sports Tracker", "Scheduler"})
+@Description("A poll dispatched by the event scheduler")
+@StackTrace(false)
+public class SchedulerDispatchEvent extends Event {
+
+    @Label("Event Id")
+    public String eventId;
+
+    @Label("Attempt")
+    @Description("1 for a regular poll, n for the poll following n - 1 consecutive failures")
+    public int attempt;
+
+    @Label("Dispatch Delay")
+    @Description("How late the poll was dispatched relative to its due time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long dispatchDelay;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,60 @@
+package com.sports.tracker.kafka;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Set of eventIds flagged as hot, whose records the {@link HotEventPartitioner} spreads over several
+ * partitions instead of pinning them to one.
+ * <p>
+ * Seeded from {@code kafka.partitioner.hot-events} and adjustable at runtime, e.g. ahead of a final.
+ */
+@Component
+public class HotEventKeys {
+
+    private final ConcurrentHashMap<String, AtomicLong> hotEvents = new ConcurrentHashMap<>();
+
+    public HotEventKeys(@Value("${kafka.partitioner.hot-events:}") List<String> initialHotEvents) {
+        initialHotEvents.stream()
+                        .map(String::trim)
+                        .filter(eventId -> !eventId.isEmpty())
+                        .forEach(this::markHot);
+    }
+
+    /**
+     * @return {@code true} if the event was not flagged hot before
+     */
+    public boolean markHot(String eventId) {
+        return hotEvents.putIfAbsent(eventId, new AtomicLong()) == null;
+    }
+
+    /**
+     * @return {@code true} if the event was flagged hot before
+     */
+    public boolean unmarkHot(String eventId) {
+        return hotEvents.remove(eventId) != null;
+    }
+
+    public boolean isHot(String eventId) {
+        return hotEvents.containsKey(eventId);
+    }
+
+    public Set<String> hotEvents() {
+        return Set.copyOf(hotEvents.keySet());
+    }
+
+    /**
+     * Returns the number of records partitioned for a hot event so far and counts the next one.
+     *
+     * @return the record counter before this call, or -1 if the event is not hot
+     */
+    long nextRecord(String eventId) {
+        AtomicLong counter = hotEvents.get(eventId);
+        return counter == null ? -1 : counter.getAndIncrement();
+    }
+}
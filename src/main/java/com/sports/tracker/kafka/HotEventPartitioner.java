@@ -0,0 +1,180 @@
+package com.sports.tracker.kafka;
+
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Kafka {@link Partitioner} that places eventIds on a consistent-hash ring of partitions.
+ * <p>
+ * Every partition owns {@code virtualNodes} points on the ring and a key goes to the owner of the first point
+ * at or after its hash, so all records of an event land on the same partition and keep their order. When
+ * partitions are added only the keys between the new points move, instead of nearly all keys as with
+ * {@code hash % partitions}.
+ * <p>
+ * Records of events flagged in {@link HotEventKeys} are spread round-robin over the first {@code hotSpread}
+ * distinct partitions after the key on the ring, trading strict partition order for load balance; consumers
+ * restore the order of such events from the sequence header set by the producer. Topics listed in
+ * {@value #PINNED_TOPICS_CONFIG}, such as the log-compacted snapshot topic whose compaction works per partition,
+ * are never spread. Assignments are reported to the {@link PartitionSkewMonitor}.
+ * <p>
+ * Kafka instantiates the partitioner itself, so the shared beans are passed in through the producer configs
+ * (see {@link com.sports.tracker.config.KafkaProducerConfig}).
+ */
+public class HotEventPartitioner implements Partitioner {
+
+    public static final String HOT_EVENT_KEYS_CONFIG = "sports.partitioner.hot-event-keys";
+    public static final String SKEW_MONITOR_CONFIG = "sports.partitioner.skew-monitor";
+    public static final String HOT_SPREAD_CONFIG = "sports.partitioner.hot-spread";
+    public static final String VIRTUAL_NODES_CONFIG = "sports.partitioner.virtual-nodes";
+    public static final String PINNED_TOPICS_CONFIG = "sports.partitioner.pinned-topics";
+
+    static final int DEFAULT_HOT_SPREAD = 3;
+    static final int DEFAULT_VIRTUAL_NODES = 64;
+
+    private final Map<Integer, Ring> rings = new ConcurrentHashMap<>();
+    private final AtomicInteger unkeyedCounter = new AtomicInteger();
+    private HotEventKeys hotEventKeys = new HotEventKeys(List.of());
+    private PartitionSkewMonitor skewMonitor;
+    private int hotSpread = DEFAULT_HOT_SPREAD;
+    private int virtualNodes = DEFAULT_VIRTUAL_NODES;
+    private Set<String> pinnedTopics = Set.of();
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        if (configs.get(HOT_EVENT_KEYS_CONFIG) instanceof HotEventKeys keys) {
+            hotEventKeys = keys;
+        }
+        if (configs.get(SKEW_MONITOR_CONFIG) instanceof PartitionSkewMonitor monitor) {
+            skewMonitor = monitor;
+        }
+        hotSpread = Math.max(1, intConfig(configs, HOT_SPREAD_CONFIG, DEFAULT_HOT_SPREAD));
+        virtualNodes = Math.max(1, intConfig(configs, VIRTUAL_NODES_CONFIG, DEFAULT_VIRTUAL_NODES));
+        Object pinned = configs.get(PINNED_TOPICS_CONFIG);
+        if (pinned instanceof Collection<?> topics) {
+            pinnedTopics = topics.stream().map(Object::toString).collect(Collectors.toUnmodifiableSet());
+        } else if (pinned != null) {
+            pinnedTopics = Set.of(pinned.toString().split("\\s*,\\s*"));
+        }
+    }
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes,
+                         Cluster cluster) {
+        int numPartitions = cluster.partitionsForTopic(topic).size();
+        int partition;
+        boolean hot = false;
+        if (keyBytes == null) {
+            partition = Utils.toPositive(unkeyedCounter.getAndIncrement()) % numPartitions;
+        } else {
+            long hotRecord = key instanceof String eventId && !pinnedTopics.contains(topic)
+                    ? hotEventKeys.nextRecord(eventId) : -1;
+            hot = hotRecord >= 0;
+            partition = partition(keyBytes, numPartitions, hot ? hotRecord : 0);
+        }
+        if (skewMonitor != null) {
+            skewMonitor.record(topic, partition, numPartitions, hot);
+        }
+        return partition;
+    }
+
+    /**
+     * @param spreadIndex the index among the key's spread partitions; 0 selects the key's home partition
+     */
+    int partition(byte[] keyBytes, int numPartitions, long spreadIndex) {
+        Ring ring = rings.computeIfAbsent(numPartitions, n -> new Ring(n, virtualNodes));
+        int hash = Utils.toPositive(Utils.murmur2(keyBytes));
+        if (spreadIndex == 0) {
+            return ring.owner(hash);
+        }
+        int[] spread = ring.successors(hash, Math.min(hotSpread, numPartitions));
+        return spread[(int) (spreadIndex % spread.length)];
+    }
+
+    @Override
+    public void close() {
+        rings.clear();
+    }
+
+    private static int intConfig(Map<String, ?> configs, String name, int defaultValue) {
+        Object value = configs.get(name);
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        return value == null ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+
+    /**
+     * Sorted ring points and the partition owning each of them.
+     */
+    private static final class Ring {
+        private final int[] points;
+        private final int[] owners;
+        private final int numPartitions;
+
+        Ring(int numPartitions, int virtualNodes) {
+            this.numPartitions = numPartitions;
+            long[] entries = new long[numPartitions * virtualNodes];
+            int n = 0;
+            for (int partition = 0; partition < numPartitions; partition++) {
+                for (int node = 0; node < virtualNodes; node++) {
+                    byte[] label = ("partition-" + partition + "#" + node).getBytes(StandardCharsets.UTF_8);
+                    entries[n++] = ((long) Utils.toPositive(Utils.murmur2(label)) << 32) | partition;
+                }
+            }
+            Arrays.sort(entries);
+            points = new int[entries.length];
+            owners = new int[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                points[i] = (int) (entries[i] >>> 32);
+                owners[i] = (int) entries[i];
+            }
+        }
+
+        int owner(int hash) {
+            return owners[indexOf(hash)];
+        }
+
+        /**
+         * @return the first {@code count} distinct partitions at or after the hash, the owner first
+         */
+        int[] successors(int hash, int count) {
+            int[] result = new int[Math.min(count, numPartitions)];
+            int found = 0;
+            for (int i = indexOf(hash); found < result.length; i = (i + 1) % points.length) {
+                int owner = owners[i];
+                if (!contains(result, found, owner)) {
+                    result[found++] = owner;
+                }
+            }
+            return result;
+        }
+
+        private int indexOf(int hash) {
+            int i = Arrays.binarySearch(points, hash);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return i == points.length ? 0 : i;
+        }
+
+        private static boolean contains(int[] values, int length, int value) {
+            for (int i = 0; i < length; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
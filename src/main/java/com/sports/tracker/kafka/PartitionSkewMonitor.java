@@ -0,0 +1,116 @@
+package com.sports.tracker.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts records per partition as they are assigned by the {@link HotEventPartitioner} and exposes how
+ * unevenly they are spread.
+ * <p>
+ * Metrics, all tagged with the topic:
+ * <ul>
+ *     <li>{@code kafka.partitioner.records} - records assigned to each partition (also tagged with it)</li>
+ *     <li>{@code kafka.partitioner.hot.records} - records of hot events that were spread</li>
+ *     <li>{@code kafka.partitioner.skew} - records on the busiest partition divided by the mean per
+ *     partition; 1.0 is a perfect spread</li>
+ * </ul>
+ */
+@Component
+public class PartitionSkewMonitor {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, TopicStats> topics = new ConcurrentHashMap<>();
+
+    public PartitionSkewMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records that a record of the topic was assigned to the partition.
+     *
+     * @param numPartitions the current partition count of the topic
+     * @param hot           whether the record belongs to a hot event
+     */
+    public void record(String topic, int partition, int numPartitions, boolean hot) {
+        TopicStats stats = topics.computeIfAbsent(topic, this::register);
+        stats.numPartitions = numPartitions;
+        stats.partitions.computeIfAbsent(partition, p -> registerPartition(topic, p)).increment();
+        if (hot) {
+            stats.hotRecords.increment();
+        }
+    }
+
+    /**
+     * @return records assigned per partition of the topic, in partition order
+     */
+    public Map<Integer, Long> recordsPerPartition(String topic) {
+        TopicStats stats = topics.get(topic);
+        Map<Integer, Long> records = new TreeMap<>();
+        if (stats != null) {
+            stats.partitions.forEach((partition, count) -> records.put(partition, count.sum()));
+        }
+        return records;
+    }
+
+    /**
+     * @return the busiest partition's record count divided by the mean per partition, or 0 if the topic
+     * has no records yet
+     */
+    public double skew(String topic) {
+        TopicStats stats = topics.get(topic);
+        if (stats == null || stats.numPartitions == 0) {
+            return 0.0;
+        }
+        long total = 0;
+        long max = 0;
+        for (LongAdder count : stats.partitions.values()) {
+            long sum = count.sum();
+            total += sum;
+            max = Math.max(max, sum);
+        }
+        return total == 0 ? 0.0 : (double) max * stats.numPartitions / total;
+    }
+
+    public Map<String, Double> skewPerTopic() {
+        Map<String, Double> skew = new TreeMap<>();
+        topics.keySet().forEach(topic -> skew.put(topic, skew(topic)));
+        return skew;
+    }
+
+    private TopicStats register(String topic) {
+        Gauge.builder("kafka.partitioner.skew", this, monitor -> monitor.skew(topic))
+             .description("Records on the busiest partition divided by the mean per partition")
+             .tag("topic", topic)
+             .register(meterRegistry);
+        return new TopicStats(Counter.builder("kafka.partitioner.hot.records")
+                                     .tag("topic", topic)
+                                     .register(meterRegistry));
+    }
+
+    private LongAdder registerPartition(String topic, int partition) {
+        LongAdder count = new LongAdder();
+        FunctionCounter.builder("kafka.partitioner.records", count, LongAdder::sum)
+                       .tag("topic", topic)
+                       .tag("partition", Integer.toString(partition))
+                       .register(meterRegistry);
+        return count;
+    }
+
+    private static final class TopicStats {
+        final ConcurrentHashMap<Integer, LongAdder> partitions = new ConcurrentHashMap<>();
+        final Counter hotRecords;
+        volatile int numPartitions;
+
+        TopicStats(Counter hotRecords) {
+            this.hotRecords = hotRecords;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.sports.tracker.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which events write success-path logs on the polling hot path.
+ * <p>
+ * Sampling is per event, not per line: a sampled event logs every poll and publish, so its logs tell the whole
+ * story, while the other events only log failures. The decision hashes the eventId, so every instance and
+ * every restart samples the same events. {@code logging.sampling.rate} is the share of sampled events; 1, the
+ * default, logs all of them.
+ */
+@Component
+public class LogSampler {
+
+    private static final long HASH_RANGE = 1L << 32;
+
+    private final long threshold;
+
+    public LogSampler(@Value("${logging.sampling.rate:1.0}") double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("logging.sampling.rate must be within [0, 1]");
+        }
+        this.threshold = (long) Math.ceil(rate * HASH_RANGE);
+    }
+
+    /**
+     * @param eventId the event, or the key of a record that is not about a single event
+     * @return {@code true} if success-path logs of the event are written
+     */
+    public boolean isSampled(String eventId) {
+        if (threshold >= HASH_RANGE) {
+            return true;
+        }
+        if (eventId == null || threshold == 0) {
+            return false;
+        }
+        // Spread the String hash, whose low bits are poor for similar ids such as "event-1", "event-2"
+        int hash = eventId.hashCode() * 0x9E3779B9;
+        return Integer.toUnsignedLong(hash ^ hash >>> 16) < threshold;
+    }
+}
@@ -7,8 +7,18 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  *
  * @param eventId      the unique identifier of the event
  * @param currentScore the current score of the event, e.g., "2:1"
+ * @param version      monotonic per-event sequence assigned by the provider, or {@code null} if the provider
+ *                     does not version its scores
  */
 public record EventScore(
         @JsonProperty("eventId") String eventId,
-        @JsonProperty("currentScore") String currentScore) {
-}
\ No newline at end of file
+        @JsonProperty("currentScore") String currentScore,
+        @JsonProperty("version") Long version) {
+
+    /**
+     * Creates a score without a provider version.
+     */
+    public EventScore(String eventId, String currentScore) {
+        this(eventId, currentScore, null);
+    }
+}
@@ -1,14 +1,26 @@
 package com.sports.tracker.model;
 
+import com.sports.tracker.model.enums.PollingTier;
 import com.sports.tracker.model.enums.Status;
 
 /**
  * Represents the status of an event.
  *
- * @param eventId The unique identifier of the event.
- * @param status  The current status of the event ("live" or "not live").
+ * @param eventId        The unique identifier of the event.
+ * @param status         The current status of the event ("live" or "not live").
+ * @param tier           The polling tier of a live event; {@code null} for {@link PollingTier#STANDARD}.
+ * @param pollIntervalMs An explicit poll interval overriding the tier's interval, or {@code null}.
  */
 public record EventStatus(
         String eventId,
-        Status status) {
-}
\ No newline at end of file
+        Status status,
+        PollingTier tier,
+        Long pollIntervalMs) {
+
+    /**
+     * Creates a status that polls a live event at the standard cadence.
+     */
+    public EventStatus(String eventId, Status status) {
+        this(eventId, status, null, null);
+    }
+}
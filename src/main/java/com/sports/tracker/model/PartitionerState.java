@@ -0,0 +1,17 @@
+package com.sports.tracker.model;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot of the hot-event-aware Kafka partitioner returned by the partitioner admin endpoint.
+ *
+ * @param hotEvents           eventIds whose records are spread over several partitions
+ * @param skew                per topic, records on the busiest partition divided by the mean per partition
+ * @param recordsPerPartition per topic, records assigned to each partition since startup
+ */
+public record PartitionerState(
+        Set<String> hotEvents,
+        Map<String, Double> skew,
+        Map<String, Map<Integer, Long>> recordsPerPartition) {
+}
@@ -0,0 +1,16 @@
+package com.sports.tracker.model;
+
+/**
+ * What became of the scores of one push request or stream.
+ *
+ * @param accepted scores handed off for publishing
+ * @param stale    scores not newer than one published before, e.g. heartbeats
+ * @param notLive  scores of events that are not live, which are dropped
+ * @param invalid  scores without an eventId or currentScore, or stream lines that are not a score
+ */
+public record PushSummary(
+        int accepted,
+        int stale,
+        int notLive,
+        int invalid) {
+}
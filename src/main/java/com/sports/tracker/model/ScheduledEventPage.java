@@ -0,0 +1,20 @@
+package com.sports.tracker.model;
+
+import java.util.List;
+
+/**
+ * A page of {@link ScheduledEventState}s returned by the scheduler admin endpoint.
+ *
+ * @param page          zero-based page number
+ * @param size          requested page size
+ * @param totalMatching number of live events matching the filters
+ * @param liveEvents    number of live events in the scheduler
+ * @param events        the events on this page, in registry slot order
+ */
+public record ScheduledEventPage(
+        int page,
+        int size,
+        int totalMatching,
+        int liveEvents,
+        List<ScheduledEventState> events) {
+}
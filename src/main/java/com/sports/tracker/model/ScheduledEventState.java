@@ -0,0 +1,32 @@
+package com.sports.tracker.model;
+
+import com.sports.tracker.model.enums.PollingTier;
+
+import java.time.Instant;
+
+/**
+ * Point-in-time view of how the scheduler is polling a single live event.
+ *
+ * @param eventId the unique identifier of the event
+ * @param currentScore the last fetched score, e.g. "2:1", or {@code null} if none was fetched yet
+ * @param lastFetchAt when the last fetch completed, or {@code null} if none completed yet
+ * @param lastFetchLatencyMs duration of the last fetch including retries, or -1 if none completed yet
+ * @param lastPublishOffset Kafka offset of the last published score, or -1 if unknown
+ * @param nextDueAt when the next poll is due, or {@code null} while it waits for a poll in flight
+ * @param inFlight whether a poll is currently running for the event
+ * @param consecutiveFailures number of polls that failed in a row
+ * @param pollIntervalMs the current poll interval of the event
+ * @param tier the polling tier of the event
+ */
+public record ScheduledEventState(
+        String eventId,
+        String currentScore,
+        Instant lastFetchAt,
+        long lastFetchLatencyMs,
+        long lastPublishOffset,
+        Instant nextDueAt,
+        boolean inFlight,
+        int consecutiveFailures,
+        long pollIntervalMs,
+        PollingTier tier) {
+}
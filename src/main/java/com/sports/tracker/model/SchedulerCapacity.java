@@ -0,0 +1,24 @@
+package com.sports.tracker.model;
+
+import com.sports.tracker.model.enums.PollingTier;
+
+import java.util.Map;
+
+/**
+ * Capacity utilization of the scheduler returned by the scheduler admin endpoint.
+ *
+ * @param liveEvents          events currently polled
+ * @param maxLiveEvents       events the node may poll
+ * @param pollsPerSecond      polls per second the live events ask for
+ * @param maxPollsPerSecond   polls per second the provider quota allows
+ * @param utilization         the share of capacity in use, by the more utilized limit
+ * @param admissionThresholds per tier, the utilization up to which new events are admitted
+ */
+public record SchedulerCapacity(
+        int liveEvents,
+        int maxLiveEvents,
+        double pollsPerSecond,
+        double maxPollsPerSecond,
+        double utilization,
+        Map<PollingTier, Double> admissionThresholds) {
+}
@@ -0,0 +1,20 @@
+package com.sports.tracker.model;
+
+/**
+ * Recent score changes of an event returned by the history endpoint, oldest first. Entries are stored in
+ * parallel columns, so a long history is a handful of arrays rather than an object per entry.
+ *
+ * @param eventId    the event
+ * @param timestamps when each score was fetched, in epoch milliseconds
+ * @param home       home goals of each score
+ * @param away       away goals of each score
+ */
+public record ScoreHistory(String eventId, long[] timestamps, int[] home, int[] away) {
+
+    private static final long[] NO_TIMESTAMPS = new long[0];
+    private static final int[] NO_GOALS = new int[0];
+
+    public static ScoreHistory empty(String eventId) {
+        return new ScoreHistory(eventId, NO_TIMESTAMPS, NO_GOALS, NO_GOALS);
+    }
+}
@@ -0,0 +1,29 @@
+package com.sports.tracker.model;
+
+import java.util.List;
+
+/**
+ * All scores fetched within one publishing tick, published as a single record in aggregated batch mode.
+ *
+ * @param tickMillis start of the tick in epoch milliseconds
+ * @param scores     the scores of the tick, in the order they were fetched
+ */
+public record ScoreTick(
+        long tickMillis,
+        List<Entry> scores) {
+
+    /**
+     * One event's score within a tick.
+     *
+     * @param eventId      the unique identifier of the event
+     * @param currentScore the current score of the event, e.g., "2:1"
+     * @param version      the per-event version of the score
+     * @param sequence     the per-event sequence number of the score
+     */
+    public record Entry(
+            String eventId,
+            String currentScore,
+            long version,
+            long sequence) {
+    }
+}
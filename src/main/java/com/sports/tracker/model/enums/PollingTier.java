@@ -0,0 +1,8 @@
+package com.sports.tracker.model.enums;
+
+/**
+ * Commercial tier of a live event, deciding how often its score is polled.
+ */
+public enum PollingTier {
+    PREMIUM, STANDARD, MINOR
+}
@@ -0,0 +1,283 @@
+package com.sports.tracker.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Local spill-to-disk outbox for Kafka records that could not be published.
+ * <p>
+ * Records are appended to a chain of memory-mapped {@link OutboxSegment} files and read back in FIFO order,
+ * which preserves per-event ordering. Disk usage is bounded by {@code maxSegments * segmentSize}; once the
+ * budget is exhausted further appends are rejected. Fully drained segments are deleted.
+ * <p>
+ * Appends are written to the page cache and not forced to disk, so spilled records survive a crash of the
+ * process but may be lost if the operating system crashes or the machine loses power before it wrote them
+ * back. Segments are forced when the outbox is closed.
+ * <p>
+ * The outbox counts its pending records per key, so a producer can park only the records of keys that
+ * already wait here, see {@link #hasPending(String)}.
+ */
+@Slf4j
+@Component
+public class KafkaOutbox {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private final Deque<OutboxSegment> segments = new ArrayDeque<>();
+    private final Map<String, Integer> pendingKeys = new HashMap<>();
+    private long nextSequence;
+    private volatile long pendingRecords;
+    private volatile long pendingBytes;
+    private volatile long oldestTimestampMillis;
+
+    private final Counter appendedCounter;
+    private final Counter drainedCounter;
+    private final Counter rejectedCounter;
+
+    public KafkaOutbox(@Value("${kafka.outbox.dir:${java.io.tmpdir}/sports-tracker-outbox}") Path directory,
+                       @Value("${kafka.outbox.segment-size-bytes:16777216}") int segmentSize,
+                       @Value("${kafka.outbox.max-segments:8}") int maxSegments,
+                       MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        this.appendedCounter = meterRegistry.counter("kafka.outbox.appended");
+        this.drainedCounter = meterRegistry.counter("kafka.outbox.drained");
+        this.rejectedCounter = meterRegistry.counter("kafka.outbox.rejected");
+        Gauge.builder("kafka.outbox.pending.records", this, KafkaOutbox::pendingRecords).register(meterRegistry);
+        Gauge.builder("kafka.outbox.pending.bytes", this, o -> o.pendingBytes).baseUnit("bytes")
+             .register(meterRegistry);
+        Gauge.builder("kafka.outbox.drain.lag", this, o -> o.drainLagMillis(System.currentTimeMillis()))
+             .baseUnit("milliseconds")
+             .description("Age of the oldest record waiting in the outbox")
+             .register(meterRegistry);
+
+        recover();
+    }
+
+    /**
+     * Appends a record to the tail of the outbox.
+     *
+     * @return {@code false} if the record was rejected because the disk budget is exhausted or its topic, key or
+     * a header name is longer than 32767 bytes
+     */
+    public synchronized boolean append(OutboxRecord outboxRecord) {
+        String key = outboxRecord.key();
+        long timestampMillis = outboxRecord.timestampMillis();
+        List<Header> headers = outboxRecord.headers();
+        byte[] topicBytes = outboxRecord.topic().getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = outboxRecord.value() == null ? null : outboxRecord.value().getBytes(StandardCharsets.UTF_8);
+        if (!OutboxSegment.fitsLengthFields(topicBytes, keyBytes, headers)) {
+            // A length that overflows its prefix would make the record unreadable and stall the drain for good
+            log.error("Record for key of {} bytes has a field too long for the outbox, rejecting it",
+                    keyBytes.length);
+            rejectedCounter.increment();
+            return false;
+        }
+        int recordSize = OutboxSegment.sizeOf(topicBytes, keyBytes, valueBytes, headers);
+        if (recordSize > OutboxSegment.maxRecordSize(segmentSize)) {
+            log.error("Record for key={} is larger than an outbox segment, rejecting it", key);
+            rejectedCounter.increment();
+            return false;
+        }
+
+        OutboxSegment tail = segments.peekLast();
+        if (tail == null || !tail.append(topicBytes, keyBytes, valueBytes, timestampMillis, headers)) {
+            if (segments.size() >= maxSegments) {
+                log.error("Outbox is full ({} segments of {} bytes), rejecting record for key={}",
+                        maxSegments, segmentSize, key);
+                rejectedCounter.increment();
+                return false;
+            }
+            tail = newSegment();
+            tail.append(topicBytes, keyBytes, valueBytes, timestampMillis, headers);
+        }
+
+        if (pendingRecords == 0) {
+            oldestTimestampMillis = timestampMillis;
+        }
+        pendingKeys.merge(key, 1, Integer::sum);
+        pendingRecords++;
+        pendingBytes += recordSize;
+        appendedCounter.increment();
+        return true;
+    }
+
+    /**
+     * @return the oldest pending record without removing it, or {@code null} if the outbox is empty
+     */
+    public synchronized OutboxRecord peek() {
+        OutboxSegment head = segments.peekFirst();
+        return head == null ? null : head.peek();
+    }
+
+    /**
+     * @return the oldest pending records without removing them, at most {@code maxRecords}
+     */
+    public synchronized List<OutboxRecord> peek(int maxRecords) {
+        List<OutboxRecord> batch = new ArrayList<>();
+        for (OutboxSegment segment : segments) {
+            if (batch.size() >= maxRecords) {
+                break;
+            }
+            segment.peek(maxRecords - batch.size(), batch);
+        }
+        return batch;
+    }
+
+    /**
+     * Removes the record previously returned by {@link #peek()} after it was published.
+     */
+    public synchronized void remove() {
+        OutboxSegment head = segments.peekFirst();
+        if (head == null || !head.hasPending()) {
+            return;
+        }
+        pendingKeys.computeIfPresent(head.peekKey(), (key, count) -> count == 1 ? null : count - 1);
+        pendingBytes -= head.consume();
+        pendingRecords--;
+        drainedCounter.increment();
+
+        if (!head.hasPending()) {
+            segments.pollFirst();
+            deleteQuietly(head);
+        }
+        refreshOldestTimestamp();
+    }
+
+    /**
+     * Removes the oldest {@code count} records, previously returned by {@link #peek(int)}, after they were
+     * published.
+     */
+    public synchronized void remove(int count) {
+        for (int i = 0; i < count; i++) {
+            remove();
+        }
+    }
+
+    public boolean isEmpty() {
+        return pendingRecords == 0;
+    }
+
+    /**
+     * @return {@code true} if a record with the given key is pending
+     */
+    public boolean hasPending(String key) {
+        if (pendingRecords == 0) {
+            return false;
+        }
+        synchronized (this) {
+            return pendingKeys.containsKey(key);
+        }
+    }
+
+    public long pendingRecords() {
+        return pendingRecords;
+    }
+
+    /**
+     * @return how long the oldest pending record has been waiting, or 0 if the outbox is empty
+     */
+    public long drainLagMillis(long nowMillis) {
+        return pendingRecords == 0 ? 0 : Math.max(0, nowMillis - oldestTimestampMillis);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (OutboxSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Failed to close outbox segment", e);
+            }
+        }
+        segments.clear();
+        pendingKeys.clear();
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                              .sorted()
+                              .toList();
+            }
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long sequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length()));
+                OutboxSegment segment = OutboxSegment.open(file, sequence, segmentSize);
+                long[] stats = segment.pendingStats(key -> pendingKeys.merge(key, 1, Integer::sum));
+                if (stats[0] == 0) {
+                    segment.delete();
+                    continue;
+                }
+                segments.addLast(segment);
+                pendingRecords += stats[0];
+                pendingBytes += stats[1];
+                nextSequence = sequence + 1;
+            }
+            refreshOldestTimestamp();
+            if (pendingRecords > 0) {
+                log.warn("Recovered {} pending records from Kafka outbox at {}", pendingRecords, directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open Kafka outbox at " + directory, e);
+        }
+    }
+
+    private OutboxSegment newSegment() {
+        long sequence = nextSequence++;
+        Path file = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        try {
+            OutboxSegment segment = OutboxSegment.open(file, sequence, segmentSize);
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create outbox segment " + file, e);
+        }
+    }
+
+    private void refreshOldestTimestamp() {
+        OutboxSegment head = segments.peekFirst();
+        if (head != null && head.hasPending()) {
+            oldestTimestampMillis = head.oldestTimestampMillis();
+        }
+    }
+
+    private void deleteQuietly(OutboxSegment segment) {
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            log.warn("Failed to delete drained outbox segment {}", segment.sequence(), e);
+        }
+    }
+}
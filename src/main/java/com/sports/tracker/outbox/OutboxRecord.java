@@ -0,0 +1,33 @@
+package com.sports.tracker.outbox;
+
+import org.apache.kafka.common.header.Header;
+
+import java.util.List;
+
+/**
+ * A Kafka record parked in the {@link KafkaOutbox} until the broker accepts it.
+ *
+ * @param topic           the topic the record is published to
+ * @param key             the record key (the eventId)
+ * @param value           the record value, {@code null} for a tombstone
+ * @param timestampMillis the time the record was originally produced
+ * @param headers         the record headers
+ */
+public record OutboxRecord(
+        String topic,
+        String key,
+        String value,
+        long timestampMillis,
+        List<Header> headers) {
+
+    public OutboxRecord {
+        headers = headers == null ? List.of() : List.copyOf(headers);
+    }
+
+    /**
+     * Creates a record without headers.
+     */
+    public OutboxRecord(String topic, String key, String value, long timestampMillis) {
+        this(topic, key, value, timestampMillis, List.of());
+    }
+}
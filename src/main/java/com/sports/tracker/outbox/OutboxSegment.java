@@ -0,0 +1,302 @@
+package com.sports.tracker.outbox;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A fixed-size, memory-mapped append-only file holding {@link OutboxRecord}s.
+ * <p>
+ * Layout: a 12-byte header ({@code magic, writePosition, readPosition}) followed by length-prefixed records
+ * ({@code length, timestamp, topicLength, topic, keyLength, key, valueLength, value, headerCount, headers...}), where each header
+ * is stored as {@code nameLength, name, valueLength, value}. A value length of -1 encodes a {@code null}
+ * value. Topic, key, header name lengths and the header count are shorts, so longer ones are rejected; see
+ * {@link #fitsLengthFields}. Positions are stored in the header after every append and consume, so a restarted
+ * service resumes where the previous one stopped.
+ * <p>
+ * Writes go through the mapping and are only forced to disk on {@link #close()}, so records survive a process crash
+ * but not an operating system crash or power loss.
+ * <p>
+ * Not thread-safe; {@link KafkaOutbox} serializes access.
+ */
+class OutboxSegment implements AutoCloseable {
+
+    private static final int MAGIC = 0x5350_4F42; // "SPOB"
+    private static final int HEADER_SIZE = 12;
+    private static final int WRITE_POSITION_OFFSET = 4;
+    private static final int READ_POSITION_OFFSET = 8;
+    private static final int RECORD_OVERHEAD =
+            Integer.BYTES + Long.BYTES + Short.BYTES + Short.BYTES + Integer.BYTES + Short.BYTES;
+    private static final int HEADER_OVERHEAD = Short.BYTES + Integer.BYTES;
+    private static final int MAX_SHORT_FIELD_LENGTH = Short.MAX_VALUE;
+
+    private final Path path;
+    private final long sequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+    private int readPosition;
+
+    private OutboxSegment(Path path, long sequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.sequence = sequence;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Opens an existing segment or creates a new one of the given size.
+     */
+    static OutboxSegment open(Path path, long sequence, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        OutboxSegment segment = new OutboxSegment(path, sequence, channel, buffer);
+        if (buffer.getInt(0) == MAGIC) {
+            segment.writePosition = buffer.getInt(WRITE_POSITION_OFFSET);
+            segment.readPosition = buffer.getInt(READ_POSITION_OFFSET);
+        } else {
+            segment.writePosition = HEADER_SIZE;
+            segment.readPosition = HEADER_SIZE;
+            buffer.putInt(0, MAGIC);
+            segment.storePositions();
+        }
+        return segment;
+    }
+
+    /**
+     * @return the serialized size of the record including its length prefix
+     */
+    static int sizeOf(byte[] topic, byte[] key, byte[] value, List<Header> headers) {
+        int size = RECORD_OVERHEAD + topic.length + key.length + (value == null ? 0 : value.length);
+        for (Header header : headers) {
+            size += HEADER_OVERHEAD + header.key().getBytes(StandardCharsets.UTF_8).length
+                    + (header.value() == null ? 0 : header.value().length);
+        }
+        return size;
+    }
+
+    /**
+     * @return {@code false} if the topic, the key, a header name or the header count is too long for its
+     * short length prefix
+     */
+    static boolean fitsLengthFields(byte[] topic, byte[] key, List<Header> headers) {
+        if (topic.length > MAX_SHORT_FIELD_LENGTH || key.length > MAX_SHORT_FIELD_LENGTH
+                || headers.size() > MAX_SHORT_FIELD_LENGTH) {
+            return false;
+        }
+        for (Header header : headers) {
+            if (header.key().getBytes(StandardCharsets.UTF_8).length > MAX_SHORT_FIELD_LENGTH) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int maxRecordSize(int segmentSize) {
+        return segmentSize - HEADER_SIZE;
+    }
+
+    /**
+     * Appends a record if it fits into the remaining space.
+     *
+     * @return {@code false} if the segment is full
+     * @throws IllegalArgumentException if the record does not {@link #fitsLengthFields fit the length fields}
+     */
+    boolean append(byte[] topic, byte[] key, byte[] value, long timestampMillis, List<Header> headers) {
+        if (!fitsLengthFields(topic, key, headers)) {
+            throw new IllegalArgumentException("Topic, key or header name of the record is too long for the outbox");
+        }
+        int recordSize = sizeOf(topic, key, value, headers);
+        if (writePosition + recordSize > buffer.capacity()) {
+            return false;
+        }
+        int position = writePosition;
+        buffer.putInt(position, recordSize - Integer.BYTES);
+        position += Integer.BYTES;
+        buffer.putLong(position, timestampMillis);
+        position += Long.BYTES;
+        buffer.putShort(position, (short) topic.length);
+        position += Short.BYTES;
+        buffer.put(position, topic);
+        position += topic.length;
+        buffer.putShort(position, (short) key.length);
+        position += Short.BYTES;
+        buffer.put(position, key);
+        position += key.length;
+        position = putBytes(position, value);
+        buffer.putShort(position, (short) headers.size());
+        position += Short.BYTES;
+        for (Header header : headers) {
+            byte[] name = header.key().getBytes(StandardCharsets.UTF_8);
+            buffer.putShort(position, (short) name.length);
+            position += Short.BYTES;
+            buffer.put(position, name);
+            position += name.length;
+            position = putBytes(position, header.value());
+        }
+
+        writePosition += recordSize;
+        storePositions();
+        return true;
+    }
+
+    /**
+     * @return the oldest unconsumed record, or {@code null} if every record was consumed
+     */
+    OutboxRecord peek() {
+        return hasPending() ? readAt(readPosition) : null;
+    }
+
+    /**
+     * Adds the oldest unconsumed records to {@code batch}, up to {@code maxRecords} of them.
+     *
+     * @return the number of records added
+     */
+    int peek(int maxRecords, List<OutboxRecord> batch) {
+        int added = 0;
+        for (int position = readPosition; position < writePosition && added < maxRecords; added++) {
+            batch.add(readAt(position));
+            position += Integer.BYTES + buffer.getInt(position);
+        }
+        return added;
+    }
+
+    /**
+     * @return the key of the oldest unconsumed record; only valid if {@link #hasPending()}
+     */
+    String peekKey() {
+        return keyAt(readPosition);
+    }
+
+    private String keyAt(int recordPosition) {
+        int position = recordPosition + Integer.BYTES + Long.BYTES;
+        position += Short.BYTES + buffer.getShort(position);
+        byte[] key = new byte[buffer.getShort(position)];
+        buffer.get(position + Short.BYTES, key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    private OutboxRecord readAt(int recordPosition) {
+        int position = recordPosition + Integer.BYTES;
+        long timestampMillis = buffer.getLong(position);
+        position += Long.BYTES;
+        byte[] topic = new byte[buffer.getShort(position)];
+        position += Short.BYTES;
+        buffer.get(position, topic);
+        position += topic.length;
+        byte[] key = new byte[buffer.getShort(position)];
+        position += Short.BYTES;
+        buffer.get(position, key);
+        position += key.length;
+        byte[] value = getBytes(position);
+        position += Integer.BYTES + (value == null ? 0 : value.length);
+        int headerCount = buffer.getShort(position);
+        position += Short.BYTES;
+        List<Header> headers = new ArrayList<>(headerCount);
+        for (int h = 0; h < headerCount; h++) {
+            byte[] name = new byte[buffer.getShort(position)];
+            position += Short.BYTES;
+            buffer.get(position, name);
+            position += name.length;
+            byte[] headerValue = getBytes(position);
+            position += Integer.BYTES + (headerValue == null ? 0 : headerValue.length);
+            headers.add(new RecordHeader(new String(name, StandardCharsets.UTF_8), headerValue));
+        }
+        return new OutboxRecord(new String(topic, StandardCharsets.UTF_8), new String(key, StandardCharsets.UTF_8),
+                value == null ? null : new String(value, StandardCharsets.UTF_8), timestampMillis, headers);
+    }
+
+    private int putBytes(int position, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(position, -1);
+            return position + Integer.BYTES;
+        }
+        buffer.putInt(position, bytes.length);
+        buffer.put(position + Integer.BYTES, bytes);
+        return position + Integer.BYTES + bytes.length;
+    }
+
+    private byte[] getBytes(int position) {
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + Integer.BYTES, bytes);
+        return bytes;
+    }
+
+    /**
+     * @return the size in bytes of the record that was consumed
+     */
+    int consume() {
+        int recordSize = Integer.BYTES + buffer.getInt(readPosition);
+        readPosition += recordSize;
+        storePositions();
+        return recordSize;
+    }
+
+    /**
+     * @return the timestamp of the oldest unconsumed record; only valid if {@link #hasPending()}
+     */
+    long oldestTimestampMillis() {
+        return buffer.getLong(readPosition + Integer.BYTES);
+    }
+
+    boolean hasPending() {
+        return readPosition < writePosition;
+    }
+
+    /**
+     * Walks the unconsumed records, used to rebuild counters after a restart.
+     *
+     * @param keys receives the key of every unconsumed record
+     * @return {@code {records, bytes}} still pending in this segment
+     */
+    long[] pendingStats(Consumer<String> keys) {
+        long records = 0;
+        long bytes = 0;
+        for (int position = readPosition; position < writePosition; ) {
+            int recordSize = Integer.BYTES + buffer.getInt(position);
+            keys.accept(keyAt(position));
+            records++;
+            bytes += recordSize;
+            position += recordSize;
+        }
+        return new long[]{records, bytes};
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    private void storePositions() {
+        buffer.putInt(WRITE_POSITION_OFFSET, writePosition);
+        buffer.putInt(READ_POSITION_OFFSET, readPosition);
+    }
+
+    /**
+     * Closes the segment and removes its file.
+     */
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,116 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.SchedulerCapacity;
+import com.sports.tracker.model.enums.PollingTier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admits new live events only while the node has capacity to poll them, shedding lower tiers first.
+ * <p>
+ * Capacity has two limits: {@code scheduler.admission.max-live-events} events per node, and
+ * {@code scheduler.admission.max-polls-per-second}, the provider quota. Utilization is the higher of the two
+ * ratios. A new event is admitted if utilization including it stays within the threshold of its tier:
+ * {@code minor-threshold} and {@code standard-threshold} of capacity, and all of it for premium events. Under
+ * overload minor events are refused first and premium ones last, while already live events keep being polled
+ * at their cadence. Refused events are retried by the caller after {@code retry-after-seconds}.
+ * Metrics:
+ * <ul>
+ *     <li>{@code scheduler.admission.utilization} - tagged with {@code limit=live-events|polls-per-second}</li>
+ *     <li>{@code scheduler.admission.rejected} - refused events, tagged with their {@code tier}</li>
+ * </ul>
+ */
+@Component
+public class AdmissionControl implements EventRegistry.Admission {
+
+    private final EventRegistry eventRegistry;
+    private final PollingTiers pollingTiers;
+    private final int maxLiveEvents;
+    private final double maxPollsPerSecond;
+    private final double[] thresholds = new double[PollingTier.values().length];
+    private final long retryAfterSeconds;
+    private final Counter[] rejected = new Counter[PollingTier.values().length];
+
+    public AdmissionControl(EventRegistry eventRegistry,
+                            PollingTiers pollingTiers,
+                            MeterRegistry meterRegistry,
+                            @Value("${scheduler.admission.max-live-events:100000}") int maxLiveEvents,
+                            @Value("${scheduler.admission.max-polls-per-second:10000}") double maxPollsPerSecond,
+                            @Value("${scheduler.admission.standard-threshold:0.95}") double standardThreshold,
+                            @Value("${scheduler.admission.minor-threshold:0.8}") double minorThreshold,
+                            @Value("${scheduler.admission.retry-after-seconds:30}") long retryAfterSeconds) {
+        if (maxLiveEvents <= 0 || maxPollsPerSecond <= 0 || minorThreshold <= 0
+                || minorThreshold > standardThreshold || standardThreshold > 1) {
+            throw new IllegalArgumentException("scheduler.admission limits must be positive and "
+                    + "0 < minor-threshold <= standard-threshold <= 1");
+        }
+        this.eventRegistry = eventRegistry;
+        this.pollingTiers = pollingTiers;
+        this.maxLiveEvents = maxLiveEvents;
+        this.maxPollsPerSecond = maxPollsPerSecond;
+        this.retryAfterSeconds = retryAfterSeconds;
+        thresholds[PollingTier.PREMIUM.ordinal()] = 1.0;
+        thresholds[PollingTier.STANDARD.ordinal()] = standardThreshold;
+        thresholds[PollingTier.MINOR.ordinal()] = minorThreshold;
+        for (PollingTier tier : PollingTier.values()) {
+            rejected[tier.ordinal()] = Counter.builder("scheduler.admission.rejected")
+                                              .tag("tier", tier.name())
+                                              .register(meterRegistry);
+        }
+        Gauge.builder("scheduler.admission.utilization", this, AdmissionControl::liveEventsUtilization)
+             .tag("limit", "live-events")
+             .register(meterRegistry);
+        Gauge.builder("scheduler.admission.utilization", this, AdmissionControl::pollRateUtilization)
+             .tag("limit", "polls-per-second")
+             .register(meterRegistry);
+    }
+
+    @Override
+    public boolean admit(PollingTier tier, int pollIntervalMillis) {
+        long interval = pollIntervalMillis > 0 ? pollIntervalMillis : pollingTiers.pollIntervalMillis(tier);
+        double threshold = thresholds[tier.ordinal()];
+        boolean admitted = eventRegistry.size() + 1 <= maxLiveEvents * threshold
+                && eventRegistry.pollsPerSecond(pollingTiers) + 1_000.0 / interval <= maxPollsPerSecond * threshold;
+        if (!admitted) {
+            rejected[tier.ordinal()].increment();
+        }
+        return admitted;
+    }
+
+    /**
+     * @return the share of capacity in use, by the more utilized limit
+     */
+    public double utilization() {
+        return Math.max(liveEventsUtilization(), pollRateUtilization());
+    }
+
+    public double liveEventsUtilization() {
+        return (double) eventRegistry.size() / maxLiveEvents;
+    }
+
+    public double pollRateUtilization() {
+        return eventRegistry.pollsPerSecond(pollingTiers) / maxPollsPerSecond;
+    }
+
+    /**
+     * @return the current load and limits
+     */
+    public SchedulerCapacity capacity() {
+        Map<PollingTier, Double> admissionThresholds = new EnumMap<>(PollingTier.class);
+        for (PollingTier tier : PollingTier.values()) {
+            admissionThresholds.put(tier, thresholds[tier.ordinal()]);
+        }
+        return new SchedulerCapacity(eventRegistry.size(), maxLiveEvents, eventRegistry.pollsPerSecond(pollingTiers),
+                maxPollsPerSecond, utilization(), admissionThresholds);
+    }
+
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,160 @@
+package com.sports.tracker.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides how a live event's polling reacts to failures and when an event is expired without being cancelled.
+ * <p>
+ * <ul>
+ *     <li>After a failed poll the next one backs off exponentially: the poll interval doubles per consecutive
+ *     failure, up to {@code scheduler.lifecycle.backoff-max-ms}.</li>
+ *     <li>After {@code scheduler.lifecycle.quarantine-after} consecutive failures the event is quarantined and
+ *     only probed every {@code scheduler.lifecycle.quarantine-probe-interval-ms}. A successful poll or a new
+ *     LIVE status lifts the quarantine.</li>
+ *     <li>An event is expired, as if cancelled, once {@code scheduler.lifecycle.max-ttl-ms} passed since its
+ *     last LIVE status, or after {@code scheduler.lifecycle.not-found-expiry} consecutive "404 Not Found"
+ *     responses from the provider.</li>
+ * </ul>
+ * Metrics:
+ * <ul>
+ *     <li>{@code scheduler.lifecycle.transitions} - tagged with
+ *     {@code transition=quarantined|recovered|expired_ttl|expired_not_found}</li>
+ *     <li>{@code scheduler.events.quarantined} - events currently quarantined</li>
+ *     <li>{@code scheduler.events.failing} - events whose last poll failed, including quarantined ones</li>
+ * </ul>
+ */
+@Component
+public class EventLifecyclePolicy {
+
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private final EventRegistry eventRegistry;
+    private final long backoffMaxMillis;
+    private final int quarantineAfter;
+    private final long quarantineProbeIntervalMillis;
+    private final long maxTtlMillis;
+    private final int notFoundExpiry;
+
+    private final Counter quarantined;
+    private final Counter recovered;
+    private final Counter expiredTtl;
+    private final Counter expiredNotFound;
+
+    public EventLifecyclePolicy(EventRegistry eventRegistry,
+                                MeterRegistry meterRegistry,
+                                @Value("${scheduler.lifecycle.backoff-max-ms:300000}") long backoffMaxMillis,
+                                @Value("${scheduler.lifecycle.quarantine-after:10}") int quarantineAfter,
+                                @Value("${scheduler.lifecycle.quarantine-probe-interval-ms:300000}")
+                                long quarantineProbeIntervalMillis,
+                                @Value("${scheduler.lifecycle.max-ttl-ms:21600000}") long maxTtlMillis,
+                                @Value("${scheduler.lifecycle.not-found-expiry:5}") int notFoundExpiry) {
+        if (backoffMaxMillis <= 0 || quarantineAfter <= 0 || quarantineProbeIntervalMillis <= 0
+                || maxTtlMillis <= 0 || notFoundExpiry <= 0) {
+            throw new IllegalArgumentException("scheduler.lifecycle.* settings must be positive");
+        }
+        this.eventRegistry = eventRegistry;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.quarantineAfter = quarantineAfter;
+        this.quarantineProbeIntervalMillis = quarantineProbeIntervalMillis;
+        this.maxTtlMillis = maxTtlMillis;
+        this.notFoundExpiry = notFoundExpiry;
+        this.quarantined = transitions(meterRegistry, "quarantined");
+        this.recovered = transitions(meterRegistry, "recovered");
+        this.expiredTtl = transitions(meterRegistry, "expired_ttl");
+        this.expiredNotFound = transitions(meterRegistry, "expired_not_found");
+        Gauge.builder("scheduler.events.quarantined", this, policy -> policy.countFailing(quarantineAfter))
+             .register(meterRegistry);
+        Gauge.builder("scheduler.events.failing", this, policy -> policy.countFailing(1))
+             .register(meterRegistry);
+    }
+
+    /**
+     * @param pollIntervalMillis  the regular poll interval of the event
+     * @param consecutiveFailures the failed polls since the last successful one
+     * @return the delay until the next poll
+     */
+    public long nextPollDelayMillis(long pollIntervalMillis, int consecutiveFailures) {
+        if (consecutiveFailures <= 0) {
+            return pollIntervalMillis;
+        }
+        if (isQuarantined(consecutiveFailures)) {
+            return Math.max(pollIntervalMillis, quarantineProbeIntervalMillis);
+        }
+        long backoff = pollIntervalMillis << Math.min(consecutiveFailures, MAX_BACKOFF_SHIFT);
+        return Math.max(pollIntervalMillis, Math.min(backoff, backoffMaxMillis));
+    }
+
+    public boolean isQuarantined(int consecutiveFailures) {
+        return consecutiveFailures >= quarantineAfter;
+    }
+
+    /**
+     * Counts a failed poll.
+     *
+     * @return {@code true} if this failure put the event into quarantine
+     */
+    public boolean onFailure(int consecutiveFailures) {
+        if (consecutiveFailures == quarantineAfter) {
+            quarantined.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Counts a successful poll.
+     *
+     * @param previousFailures the failed polls before this one
+     * @return {@code true} if this success lifted a quarantine
+     */
+    public boolean onSuccess(int previousFailures) {
+        if (isQuarantined(previousFailures)) {
+            recovered.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if the event outlived its TTL; counted as an expiry
+     */
+    public boolean expireIfStale(long liveSinceMillis, long nowMillis) {
+        if (nowMillis - liveSinceMillis > maxTtlMillis) {
+            expiredTtl.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if the provider answered "not found" often enough in a row; counted as an expiry
+     */
+    public boolean expireIfNotFound(int consecutiveNotFound) {
+        if (consecutiveNotFound >= notFoundExpiry) {
+            expiredNotFound.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private int countFailing(int minFailures) {
+        int count = 0;
+        int highWater = eventRegistry.highWater();
+        for (int slot = 0; slot < highWater; slot++) {
+            if (eventRegistry.failureCount(slot) >= minFailures && eventRegistry.eventId(slot) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Counter transitions(MeterRegistry meterRegistry, String transition) {
+        return Counter.builder("scheduler.lifecycle.transitions")
+                      .tag("transition", transition)
+                      .register(meterRegistry);
+    }
+}
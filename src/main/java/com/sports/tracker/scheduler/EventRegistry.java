@@ -0,0 +1,816 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.enums.PollingTier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Compact registry of live events.
+ * <p>
+ * Every eventId is interned to a dense {@code int} slot, and all per-event state is kept in primitive
+ * arrays grouped into fixed-size pages. Pages are allocated lazily and never move, so a slot index stays
+ * valid for the lifetime of the event and hot-path reads and writes need no locking.
+ * <p>
+ * Only interning and releasing of eventIds is synchronized; those happen on status changes, not per poll.
+ * <p>
+ * Polling is driven by a per-slot state word that packs the slot's generation with its due time, so every
+ * transition is a single compare-and-set that fails if the slot was released in between:
+ * <pre>
+ *   FREE --register--> UNARMED --arm--> WAITING(due) --claim--> CLAIMED --rearm--> WAITING(due)
+ *     ^                                                                              |
+ *     +------------------------ release (generation + 1) from any state -------------+
+ * </pre>
+ * Only one caller can arm a freshly registered slot and only the poll holding the claim can re-arm it, so an
+ * event never has more than one polling loop no matter how status changes interleave.
+ */
+@Component
+public class EventRegistry {
+
+    /**
+     * Marker returned by {@link #slotOf(String)} when an eventId is not registered.
+     */
+    public static final int NO_SLOT = -1;
+
+    /**
+     * Marker returned by {@link #claimProviderVersion} for a stale result.
+     */
+    public static final long STALE_VERSION = -1;
+
+    /**
+     * Marker returned by the register methods taking an {@link Admission} when it refused a new event.
+     */
+    public static final int REJECTED = -2;
+
+    /**
+     * Value of {@code nextDue} for slots that are free, not armed yet or already have as many polls in flight
+     * as allowed.
+     */
+    public static final long NOT_DUE = Long.MAX_VALUE;
+
+    // State word: generation in the high bits, due time (epoch millis, good until year 2527) in the low bits
+    static final int DUE_BITS = 44;
+    static final long DUE_MASK = (1L << DUE_BITS) - 1;
+    static final int GENERATION_MASK = (1 << (Long.SIZE - DUE_BITS)) - 1;
+    private static final long CLAIMED = DUE_MASK;
+    private static final long UNARMED = DUE_MASK - 1;
+    private static final long FREE = DUE_MASK - 2;
+
+    static final int PAGE_SHIFT = 10;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final PollingTier[] TIERS = PollingTier.values();
+
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+
+    private final int capacity;
+    private final AtomicReferenceArray<Page> pages;
+
+    // Open-addressing index: eventId hash -> slot + 1 (0 = empty, -1 = deleted)
+    private int[] index;
+    private int tombstones;
+
+    // Stack of released slots, reused before the high-water mark grows
+    private final int[] freeSlots;
+    private int freeCount;
+    private volatile int highWater;
+    private volatile int size;
+
+    // Polling load: events per tier polled at their tier's interval, and polls per second of the others
+    private final int[] tierIntervalEvents = new int[TIERS.length];
+    private double explicitIntervalPollsPerSecond;
+
+    public EventRegistry(@Value("${scheduler.registry.capacity:262144}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Registry capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.pages = new AtomicReferenceArray<>((capacity + PAGE_SIZE - 1) >>> PAGE_SHIFT);
+        this.index = new int[tableSizeFor(capacity)];
+        this.freeSlots = new int[capacity];
+    }
+
+    /**
+     * Interns the given eventId, allocating a slot for it if it is not registered yet.
+     *
+     * @param eventId the event to register
+     * @return the slot of the event, or {@link #NO_SLOT} if the registry is full
+     */
+    public int register(String eventId) {
+        return register(eventId, PollingTier.STANDARD, 0);
+    }
+
+    /**
+     * Interns the given eventId with the given cadence, allocating a slot for it if it is not registered yet.
+     * A new slot is {@code UNARMED} until {@link #arm} schedules its first poll; the cadence of an already
+     * registered event is left unchanged.
+     *
+     * @param eventId            the event to register
+     * @param tier               the polling tier of a new event
+     * @param pollIntervalMillis the poll interval of a new event, or 0 for the interval of its tier
+     * @return the slot of the event, or {@link #NO_SLOT} if the registry is full
+     */
+    public synchronized int register(String eventId, PollingTier tier, int pollIntervalMillis) {
+        return registerLocked(eventId, tier, pollIntervalMillis, null);
+    }
+
+    /**
+     * Like {@link #register(String, PollingTier, int)}, but a new event is only registered if the admission
+     * accepts it. The admission is asked under the registry lock, so concurrent callers cannot overshoot it.
+     *
+     * @return the slot of the event, {@link #REJECTED} if the admission refused it, or {@link #NO_SLOT} if the
+     * registry is full
+     */
+    public synchronized int register(String eventId, PollingTier tier, int pollIntervalMillis, Admission admission) {
+        return registerLocked(eventId, tier, pollIntervalMillis, admission);
+    }
+
+    /**
+     * Registers several events under a single lock acquisition, see {@link #register(String, PollingTier, int)}.
+     *
+     * @return the slot of every event in iteration order, {@link #NO_SLOT} for those that did not fit
+     */
+    public synchronized int[] registerAll(Collection<String> eventIds, PollingTier tier, int pollIntervalMillis) {
+        return registerAll(eventIds, tier, pollIntervalMillis, null);
+    }
+
+    /**
+     * Registers several events under a single lock acquisition, see
+     * {@link #register(String, PollingTier, int, Admission)}.
+     *
+     * @return the slot of every event in iteration order, {@link #REJECTED} or {@link #NO_SLOT} for those that
+     * were refused or did not fit
+     */
+    public synchronized int[] registerAll(Collection<String> eventIds, PollingTier tier, int pollIntervalMillis,
+                                          Admission admission) {
+        int[] slots = new int[eventIds.size()];
+        int i = 0;
+        for (String eventId : eventIds) {
+            slots[i++] = registerLocked(eventId, tier, pollIntervalMillis, admission);
+        }
+        return slots;
+    }
+
+    private int registerLocked(String eventId, PollingTier tier, int pollIntervalMillis, Admission admission) {
+        int existing = lookup(eventId);
+        if (existing != NO_SLOT) {
+            return existing;
+        }
+        if (admission != null && !admission.admit(tier, pollIntervalMillis)) {
+            return REJECTED;
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else if (highWater < capacity) {
+            slot = highWater;
+            ensurePage(slot);
+            highWater = slot + 1;
+        } else {
+            return NO_SLOT;
+        }
+
+        Page page = page(slot);
+        int i = slot & PAGE_MASK;
+        page.eventIds[i] = eventId;
+        page.homeScore[i] = -1;
+        page.awayScore[i] = -1;
+        page.lastFetchMillis[i] = 0L;
+        page.lastFetchLatencyMillis[i] = -1;
+        page.lastOffset[i] = -1L;
+        page.pollIntervalMillis[i] = pollIntervalMillis;
+        page.tier[i] = (byte) tier.ordinal();
+        page.failureCount[i] = 0;
+        page.notFoundCount[i] = 0;
+        page.liveSinceMillis[i] = System.currentTimeMillis();
+        page.pushCoveredUntilMillis[i] = 0L;
+        page.sequence.set(i, System.currentTimeMillis());
+        page.issuedVersion.set(i, 0L);
+        page.publishedVersion.set(i, 0L);
+        page.providerVersion.set(i, Long.MIN_VALUE);
+        page.state.set(i, withDue(page.state.get(i), UNARMED));
+        insert(eventId, slot);
+        size++;
+        account(tier.ordinal(), pollIntervalMillis, 1);
+        return slot;
+    }
+
+    /**
+     * Releases the slot of the given eventId so it can be reused by another event.
+     *
+     * @param eventId the event to remove
+     * @return the released slot, or {@link #NO_SLOT} if the event was not registered
+     */
+    public synchronized int release(String eventId) {
+        int pos = find(eventId);
+        if (pos < 0) {
+            return NO_SLOT;
+        }
+        int slot = index[pos] - 1;
+        index[pos] = DELETED;
+        tombstones++;
+
+        Page page = page(slot);
+        int i = slot & PAGE_MASK;
+        int generation = generationOf(page.state.get(i));
+        page.state.set(i, pack((generation + 1) & GENERATION_MASK, FREE));
+        page.eventIds[i] = null;
+        freeSlots[freeCount++] = slot;
+        size--;
+        account(page.tier[i], page.pollIntervalMillis[i], -1);
+        return slot;
+    }
+
+    /**
+     * Releases the slot of the given eventId only if it is still in the given generation, i.e. the event was not
+     * cancelled and scheduled again meanwhile.
+     *
+     * @return {@code true} if the event was released
+     */
+    public synchronized boolean release(String eventId, int generation) {
+        int slot = lookup(eventId);
+        return slot != NO_SLOT && generation(slot) == generation && release(eventId) != NO_SLOT;
+    }
+
+    /**
+     * Releases several events under a single lock acquisition.
+     *
+     * @return the events that were registered and are now released, each once
+     */
+    public synchronized List<String> releaseAll(Collection<String> eventIds) {
+        List<String> released = new ArrayList<>(eventIds.size());
+        for (String eventId : eventIds) {
+            if (release(eventId) != NO_SLOT) {
+                released.add(eventId);
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Updates the cadence of a registered event.
+     *
+     * @return {@code false} if the event is no longer registered in the slot or its cadence is unchanged
+     */
+    public synchronized boolean updateCadence(int slot, String eventId, PollingTier tier, int pollIntervalMillis) {
+        Page page = page(slot);
+        int i = slot & PAGE_MASK;
+        if (!eventId.equals(page.eventIds[i])
+                || (page.tier[i] == tier.ordinal() && page.pollIntervalMillis[i] == pollIntervalMillis)) {
+            return false;
+        }
+        account(page.tier[i], page.pollIntervalMillis[i], -1);
+        page.tier[i] = (byte) tier.ordinal();
+        page.pollIntervalMillis[i] = pollIntervalMillis;
+        account(tier.ordinal(), pollIntervalMillis, 1);
+        return true;
+    }
+
+    /**
+     * @return the polls per second all registered events ask for
+     */
+    public synchronized double pollsPerSecond(PollingTiers pollingTiers) {
+        double pollsPerSecond = explicitIntervalPollsPerSecond;
+        for (PollingTier tier : TIERS) {
+            pollsPerSecond += tierIntervalEvents[tier.ordinal()] * 1_000.0 / pollingTiers.pollIntervalMillis(tier);
+        }
+        return Math.max(0, pollsPerSecond);
+    }
+
+    private void account(int tier, int pollIntervalMillis, int sign) {
+        if (pollIntervalMillis == 0) {
+            tierIntervalEvents[tier] += sign;
+        } else {
+            explicitIntervalPollsPerSecond += sign * 1_000.0 / pollIntervalMillis;
+        }
+    }
+
+    /**
+     * Marks a registered event live again as of now: restarts its time to live and forgets its failures.
+     *
+     * @return the consecutive failures the event had, or -1 if it is no longer registered in the slot
+     */
+    public synchronized int renew(int slot, String eventId, long nowMillis) {
+        Page page = page(slot);
+        int i = slot & PAGE_MASK;
+        if (!eventId.equals(page.eventIds[i])) {
+            return -1;
+        }
+        int failures = page.failureCount[i];
+        page.liveSinceMillis[i] = nowMillis;
+        page.failureCount[i] = 0;
+        page.notFoundCount[i] = 0;
+        return failures;
+    }
+
+    /**
+     * Releases every registered event.
+     */
+    public synchronized void clear() {
+        for (int slot = 0; slot < highWater; slot++) {
+            String eventId = eventId(slot);
+            if (eventId != null) {
+                release(eventId);
+            }
+        }
+    }
+
+    /**
+     * @return the slot of the given eventId, or {@link #NO_SLOT} if it is not registered
+     */
+    public synchronized int slotOf(String eventId) {
+        return lookup(eventId);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return one past the highest slot ever allocated; iteration over live slots can stop here
+     */
+    public int highWater() {
+        return highWater;
+    }
+
+    /**
+     * @return the eventId held in the slot, or {@code null} if the slot is free
+     */
+    public String eventId(int slot) {
+        return page(slot).eventIds[slot & PAGE_MASK];
+    }
+
+    /**
+     * Generation of a slot, incremented (modulo 2^20) every time the slot is released. A poll that captured an
+     * older generation must not write its results back, because the slot may already belong to another event.
+     */
+    public int generation(int slot) {
+        return generationOf(state(slot));
+    }
+
+    /**
+     * @return the state word of the slot, to be decoded with {@link #dueOf} and {@link #generationOf}
+     */
+    public long state(int slot) {
+        return page(slot).state.get(slot & PAGE_MASK);
+    }
+
+    /**
+     * @return the due time held in a state word, or {@link #NOT_DUE} if the slot is not waiting for a poll
+     */
+    public static long dueOf(long state) {
+        long due = state & DUE_MASK;
+        return due >= FREE ? NOT_DUE : due;
+    }
+
+    public static int generationOf(long state) {
+        return (int) (state >>> DUE_BITS);
+    }
+
+    /**
+     * @return when the next poll of the slot is due, or {@link #NOT_DUE} if it is not waiting for one
+     */
+    public long nextDueMillis(int slot) {
+        return dueOf(state(slot));
+    }
+
+    /**
+     * Overwrites the due time of the slot within its current generation, {@link #NOT_DUE} marking it claimed.
+     */
+    public void setNextDueMillis(int slot, long nextDueMillis) {
+        AtomicLongArray state = page(slot).state;
+        int i = slot & PAGE_MASK;
+        state.getAndUpdate(i, current -> withDue(current, nextDueMillis == NOT_DUE ? CLAIMED : nextDueMillis));
+    }
+
+    /**
+     * Atomically claims a due slot for polling, moving it from {@code WAITING} to {@code CLAIMED}.
+     *
+     * @param expectedState the state word the caller found the slot in
+     * @return {@code true} if the caller won the claim; {@code false} if the slot changed meanwhile, including
+     * being released and registered again
+     */
+    public boolean claim(int slot, long expectedState) {
+        long due = expectedState & DUE_MASK;
+        return due < FREE
+                && page(slot).state.compareAndSet(slot & PAGE_MASK, expectedState, withDue(expectedState, CLAIMED));
+    }
+
+    /**
+     * Schedules the first poll of a freshly registered slot.
+     *
+     * @return {@code true} for exactly one caller per registration; {@code false} if the slot was armed already
+     * or is no longer in the given generation
+     */
+    public boolean arm(int slot, int generation, long nextDueMillis) {
+        return page(slot).state.compareAndSet(slot & PAGE_MASK,
+                pack(generation, UNARMED), pack(generation, nextDueMillis));
+    }
+
+    public int homeScore(int slot) {
+        return page(slot).homeScore[slot & PAGE_MASK];
+    }
+
+    public int awayScore(int slot) {
+        return page(slot).awayScore[slot & PAGE_MASK];
+    }
+
+    public long lastFetchMillis(int slot) {
+        return page(slot).lastFetchMillis[slot & PAGE_MASK];
+    }
+
+    public int failureCount(int slot) {
+        return page(slot).failureCount[slot & PAGE_MASK];
+    }
+
+    /**
+     * @return when the event was registered or last renewed, in epoch milliseconds
+     */
+    public long liveSinceMillis(int slot) {
+        return page(slot).liveSinceMillis[slot & PAGE_MASK];
+    }
+
+    /**
+     * Starts the time to live of a freshly armed event at the scheduler's time, which may differ from the wall
+     * clock time of its registration.
+     */
+    public void setLiveSinceMillis(int slot, long liveSinceMillis) {
+        page(slot).liveSinceMillis[slot & PAGE_MASK] = liveSinceMillis;
+    }
+
+    /**
+     * @return the duration of the last completed fetch, or -1 if none completed yet
+     */
+    public int lastFetchLatencyMillis(int slot) {
+        return page(slot).lastFetchLatencyMillis[slot & PAGE_MASK];
+    }
+
+    /**
+     * @return the Kafka offset of the last published score, or -1 if unknown
+     */
+    public long lastOffset(int slot) {
+        return page(slot).lastOffset[slot & PAGE_MASK];
+    }
+
+    /**
+     * @return the poll interval of the slot, or 0 if the interval of its tier applies
+     */
+    public int pollIntervalMillis(int slot) {
+        return page(slot).pollIntervalMillis[slot & PAGE_MASK];
+    }
+
+    public PollingTier tier(int slot) {
+        return TIERS[page(slot).tier[slot & PAGE_MASK]];
+    }
+
+    /**
+     * Records a completed fetch for the slot.
+     */
+    public void recordFetch(int slot, int homeScore, int awayScore, long fetchedAtMillis, int latencyMillis) {
+        Page page = page(slot);
+        int i = slot & PAGE_MASK;
+        page.homeScore[i] = homeScore;
+        page.awayScore[i] = awayScore;
+        page.lastFetchMillis[i] = fetchedAtMillis;
+        page.lastFetchLatencyMillis[i] = latencyMillis;
+    }
+
+    /**
+     * Marks the slot as covered by a push feed until the given time, so polling waits until then.
+     */
+    public void coverByPush(int slot, long untilMillis) {
+        page(slot).pushCoveredUntilMillis[slot & PAGE_MASK] = untilMillis;
+    }
+
+    /**
+     * @return until when a push feed covers the slot, in epoch milliseconds, or 0 if it never pushed
+     */
+    public long pushCoveredUntilMillis(int slot) {
+        return page(slot).pushCoveredUntilMillis[slot & PAGE_MASK];
+    }
+
+    /**
+     * Records a successful publish for the slot and resets its failure count.
+     */
+    public void recordPublished(int slot, long offset) {
+        Page page = page(slot);
+        int i = slot & PAGE_MASK;
+        page.lastOffset[i] = offset;
+        page.failureCount[i] = 0;
+    }
+
+    /**
+     * Records a failed fetch or publish for the slot.
+     *
+     * @return the number of consecutive failures including this one
+     */
+    public int recordFailure(int slot) {
+        return ++page(slot).failureCount[slot & PAGE_MASK];
+    }
+
+    /**
+     * Resets the failure and not-found counts of the slot after a successful fetch, without waiting for its
+     * score to be published.
+     *
+     * @return the consecutive failures before the reset
+     */
+    public int clearFailures(int slot) {
+        Page page = page(slot);
+        int i = slot & PAGE_MASK;
+        int failures = page.failureCount[i];
+        page.failureCount[i] = 0;
+        page.notFoundCount[i] = 0;
+        return failures;
+    }
+
+    /**
+     * Records that the provider does not know the event of the slot.
+     *
+     * @return the number of consecutive "not found" responses since the last completed fetch
+     */
+    public int recordNotFound(int slot) {
+        return ++page(slot).notFoundCount[slot & PAGE_MASK];
+    }
+
+    /**
+     * Returns the next per-event sequence number of the slot.
+     * <p>
+     * Sequences start at the registration time in milliseconds, so an event that is cancelled and scheduled
+     * again continues above its previous numbers as long as it publishes less than once per millisecond.
+     */
+    public long nextSequence(int slot) {
+        return page(slot).sequence.incrementAndGet(slot & PAGE_MASK);
+    }
+
+    /**
+     * Issues the version of a fetch that starts now: the start time, bumped past the last issued version if
+     * needed, so versions of one event are strictly increasing even for fetches started in the same millisecond.
+     */
+    public long nextVersion(int slot, long fetchStartMillis) {
+        AtomicLongArray issued = page(slot).issuedVersion;
+        int i = slot & PAGE_MASK;
+        while (true) {
+            long last = issued.get(i);
+            long version = Math.max(fetchStartMillis, last + 1);
+            if (issued.compareAndSet(i, last, version)) {
+                return version;
+            }
+        }
+    }
+
+    /**
+     * Atomically accepts a result for publishing if its version is newer than every result accepted before.
+     *
+     * @return {@code false} if the result is stale and must be discarded
+     */
+    public boolean claimVersion(int slot, long version) {
+        AtomicLongArray published = page(slot).publishedVersion;
+        int i = slot & PAGE_MASK;
+        while (true) {
+            long current = published.get(i);
+            if (version <= current) {
+                return false;
+            }
+            if (published.compareAndSet(i, current, version)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Accepts a result that carries a provider version if that version is newer than every provider version
+     * accepted before, and issues its version as {@link #nextVersion} does, so it also supersedes every result
+     * accepted or fetched before. Provider versions are the provider's own counters, so they are only compared
+     * with each other, never with the fetch times that version the other results.
+     *
+     * @return the version to publish the result with, or {@link #STALE_VERSION} if it must be discarded
+     */
+    public long claimProviderVersion(int slot, long providerVersion, long nowMillis) {
+        Page page = page(slot);
+        int i = slot & PAGE_MASK;
+        // Provider order and version order must agree, so both are decided under one lock
+        synchronized (page) {
+            if (providerVersion <= page.providerVersion.get(i)) {
+                return STALE_VERSION;
+            }
+            page.providerVersion.set(i, providerVersion);
+            long version = nextVersion(slot, nowMillis);
+            page.publishedVersion.accumulateAndGet(i, version, Math::max);
+            return version;
+        }
+    }
+
+    /**
+     * @return the version of the last result accepted for publishing, or 0 if none was accepted yet
+     */
+    public long publishedVersion(int slot) {
+        return page(slot).publishedVersion.get(slot & PAGE_MASK);
+    }
+
+    /**
+     * Counts a poll of the slot as started. The count is not reset when the slot is reused, so a poll that
+     * outlives its event still counts until it ends.
+     *
+     * @return the number of polls in flight for the slot including this one
+     */
+    public int beginPoll(int slot) {
+        return page(slot).pollsInFlight.incrementAndGet(slot & PAGE_MASK);
+    }
+
+    /**
+     * Counts a poll of the slot as completed.
+     */
+    public void endPoll(int slot) {
+        page(slot).pollsInFlight.decrementAndGet(slot & PAGE_MASK);
+    }
+
+    public int pollsInFlight(int slot) {
+        return page(slot).pollsInFlight.get(slot & PAGE_MASK);
+    }
+
+    /**
+     * Moves the due time of a waiting slot earlier; slots that are due sooner, not waiting or in another
+     * generation are left alone.
+     *
+     * @return {@code true} if the due time was moved
+     */
+    public boolean advanceDue(int slot, int generation, long nextDueMillis) {
+        AtomicLongArray state = page(slot).state;
+        int i = slot & PAGE_MASK;
+        while (true) {
+            long current = state.get(i);
+            long due = current & DUE_MASK;
+            if (generationOf(current) != generation || due >= FREE || due <= nextDueMillis) {
+                return false;
+            }
+            if (state.compareAndSet(i, current, pack(generation, nextDueMillis))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves the due time of a waiting slot later; slots that are due later, not waiting or in another
+     * generation are left alone.
+     *
+     * @return {@code true} if the due time was moved
+     */
+    public boolean deferDue(int slot, int generation, long nextDueMillis) {
+        AtomicLongArray state = page(slot).state;
+        int i = slot & PAGE_MASK;
+        while (true) {
+            long current = state.get(i);
+            long due = current & DUE_MASK;
+            if (generationOf(current) != generation || due >= FREE || due >= nextDueMillis) {
+                return false;
+            }
+            if (state.compareAndSet(i, current, pack(generation, nextDueMillis))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Re-arms a claimed slot, unless it was re-armed already or released since the claim.
+     *
+     * @return {@code true} if the slot was re-armed by this call
+     */
+    public boolean rearm(int slot, int generation, long nextDueMillis) {
+        return page(slot).state.compareAndSet(slot & PAGE_MASK,
+                pack(generation, CLAIMED), pack(generation, nextDueMillis));
+    }
+
+    private static long pack(int generation, long due) {
+        return ((long) generation << DUE_BITS) | (due & DUE_MASK);
+    }
+
+    private static long withDue(long state, long due) {
+        return pack(generationOf(state), due);
+    }
+
+    private Page page(int slot) {
+        return pages.get(slot >>> PAGE_SHIFT);
+    }
+
+    private void ensurePage(int slot) {
+        int pageIndex = slot >>> PAGE_SHIFT;
+        if (pages.get(pageIndex) == null) {
+            pages.set(pageIndex, new Page());
+        }
+    }
+
+    private int lookup(String eventId) {
+        int pos = find(eventId);
+        return pos < 0 ? NO_SLOT : index[pos] - 1;
+    }
+
+    private int find(String eventId) {
+        int mask = index.length - 1;
+        for (int pos = spread(eventId.hashCode()) & mask; ; pos = (pos + 1) & mask) {
+            int entry = index[pos];
+            if (entry == EMPTY) {
+                return -1;
+            }
+            if (entry != DELETED && eventId.equals(eventId(entry - 1))) {
+                return pos;
+            }
+        }
+    }
+
+    private void insert(String eventId, int slot) {
+        if ((size + tombstones + 1) * 4L > index.length * 3L) {
+            rebuildIndex();
+        }
+        int mask = index.length - 1;
+        int pos = spread(eventId.hashCode()) & mask;
+        while (index[pos] != EMPTY && index[pos] != DELETED) {
+            pos = (pos + 1) & mask;
+        }
+        if (index[pos] == DELETED) {
+            tombstones--;
+        }
+        index[pos] = slot + 1;
+    }
+
+    private void rebuildIndex() {
+        int[] rebuilt = new int[index.length];
+        int mask = rebuilt.length - 1;
+        for (int entry : index) {
+            if (entry != EMPTY && entry != DELETED) {
+                int pos = spread(eventId(entry - 1).hashCode()) & mask;
+                while (rebuilt[pos] != EMPTY) {
+                    pos = (pos + 1) & mask;
+                }
+                rebuilt[pos] = entry;
+            }
+        }
+        index = rebuilt;
+        tombstones = 0;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B1;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        // Keep the load factor at or below 0.5 when the registry is full
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        return Math.max(size, 16);
+    }
+
+    /**
+     * Decides whether a new event may be registered.
+     */
+    @FunctionalInterface
+    public interface Admission {
+
+        /**
+         * Called under the registry lock, with the registry's state before the event is added.
+         *
+         * @param pollIntervalMillis the poll interval of the event, or 0 for the interval of its tier
+         */
+        boolean admit(PollingTier tier, int pollIntervalMillis);
+    }
+
+    /**
+     * Per-event state for {@link #PAGE_SIZE} consecutive slots.
+     */
+    private static final class Page {
+        final String[] eventIds = new String[PAGE_SIZE];
+        final int[] homeScore = new int[PAGE_SIZE];
+        final int[] awayScore = new int[PAGE_SIZE];
+        final long[] lastFetchMillis = new long[PAGE_SIZE];
+        final int[] lastFetchLatencyMillis = new int[PAGE_SIZE];
+        final long[] lastOffset = new long[PAGE_SIZE];
+        final int[] pollIntervalMillis = new int[PAGE_SIZE];
+        final byte[] tier = new byte[PAGE_SIZE];
+        final AtomicLongArray state = new AtomicLongArray(PAGE_SIZE);
+        final int[] failureCount = new int[PAGE_SIZE];
+        final int[] notFoundCount = new int[PAGE_SIZE];
+        final long[] liveSinceMillis = new long[PAGE_SIZE];
+        final long[] pushCoveredUntilMillis = new long[PAGE_SIZE];
+        final AtomicLongArray sequence = new AtomicLongArray(PAGE_SIZE);
+        final AtomicLongArray issuedVersion = new AtomicLongArray(PAGE_SIZE);
+        final AtomicLongArray publishedVersion = new AtomicLongArray(PAGE_SIZE);
+        final AtomicLongArray providerVersion = new AtomicLongArray(PAGE_SIZE);
+        final AtomicIntegerArray pollsInFlight = new AtomicIntegerArray(PAGE_SIZE);
+
+        Page() {
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                state.set(i, FREE);
+            }
+        }
+    }
+}
@@ -1,22 +1,67 @@
 package com.sports.tracker.scheduler;
 
+import com.sports.tracker.exception.AdmissionRejectedException;
+import com.sports.tracker.exception.ExternalApiUnexpectedStatusException;
+import com.sports.tracker.exception.FailureCategory;
+import com.sports.tracker.exception.FailureCounter;
+import com.sports.tracker.jfr.JfrOutcomes;
+import com.sports.tracker.jfr.SchedulerDispatchEvent;
 import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.enums.PollingTier;
 import com.sports.tracker.service.HttpClientService;
 import com.sports.tracker.service.KafkaProducerService;
+import com.sports.tracker.service.ScoreBatcher;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Scheduler responsible for periodically fetching event scores and publishing them to Kafka.
- * Uses virtual threads for lightweight concurrent task management.
+ * <p>
+ * Live events are held in an {@link EventRegistry}. A single dispatcher thread scans the registry for
+ * events that are due and starts each poll on a short-lived virtual thread, so an idle event costs a few
+ * array entries instead of a parked thread. Fetch and publish are asynchronous, so a poll waiting on I/O or
+ * on a retry backoff holds no thread at all.
+ * <p>
+ * Every fetch gets a per-event monotonic version, the fetch start time. A result is published only if its version
+ * is newer than every result published before, so polls of one event may overlap
+ * ({@code scheduler.max-polls-in-flight-per-event}) without an older score overtaking a newer one. A result that
+ * carries a provider {@link EventScore#version()} is checked against the provider versions published before
+ * instead, and gets the next version when accepted, see {@link EventRegistry#claimProviderVersion}. The version
+ * travels in the {@value KafkaProducerService#VERSION_HEADER} header, so consumers can drop records that were
+ * reordered after the producer. Scores are handed to the {@link ScoreBatcher}, which publishes everything fetched
+ * within a tick together.
+ * <p>
+ * Each event polls at the interval of its {@link PollingTier}, or at an explicit per-event interval. Because
+ * due times are kept per slot, any mix of cadences costs the same single scan, and the dispatcher sleeps until
+ * the earliest due time. Freshness per tier is reported by the {@link PollingSlaMonitor}.
+ * <p>
+ * Failed polls back off, repeatedly failing events are quarantined, and events that nobody cancels expire,
+ * as decided by the {@link EventLifecyclePolicy}.
+ * <p>
+ * Providers that push scores hand them to {@link #acceptPushedScore}, which publishes them like polled ones.
+ * Each push suspends polling of the event for {@code scheduler.push.quiet-ms}, so an event is polled again only
+ * once its feed goes quiet.
+ * <p>
+ * Scheduling never checks and then acts: every transition of an event's polling state is a compare-and-set on
+ * a state word carrying the slot's generation (see {@link EventRegistry}). Concurrent LIVE updates for one event
+ * arm it exactly once, and a poll outliving a cancel cannot re-arm the slot for its successor, so an event has
+ * at most one polling loop.
+ * <p>
+ * Time comes from a {@link SchedulerClock}. With a {@link SimulatedSchedulerClock} the dispatcher runs on the
+ * caller's thread instead, see {@link #runSimulation(long)}.
  */
 @Slf4j
 @Component
@@ -26,68 +71,546 @@ public class EventScheduler {
     private final ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
     private final HttpClientService httpClientService;
     private final KafkaProducerService kafkaProducerService;
+    private final ScoreBatcher scoreBatcher;
+    private final EventRegistry eventRegistry;
+    private final PollingTiers pollingTiers;
+    private final PollingSlaMonitor pollingSlaMonitor;
+    private final EventLifecyclePolicy lifecyclePolicy;
+    private final AdmissionControl admissionControl;
+    private final ScoreTimeline scoreTimeline;
+    private final SchedulerClock clock;
+    private final FailureCounter failureCounter;
 
-    // Map of eventId to their running scheduled Future task
-    private final Map<String, Future<?>> scheduledTasks = new ConcurrentHashMap<>();
+    @Value("${scheduler.dispatch-tick-ms:100}")
+    private long dispatchTickMillis = 100;
+
+    @Value("${scheduler.max-polls-in-flight-per-event:1}")
+    private int maxPollsInFlightPerEvent = 1;
+
+    @Value("${scheduler.push.quiet-ms:30000}")
+    private long pushQuietMillis = 30_000;
+
+    /**
+     * What became of a pushed score.
+     */
+    public enum PushOutcome {
+        /** Handed off for publishing. */
+        ACCEPTED,
+        /** Not newer than a score published before; still counts as a sign of life of the feed. */
+        STALE,
+        /** The event is not live, so the score was dropped. */
+        NOT_LIVE
+    }
+
+    private volatile Thread dispatcher;
+    private volatile boolean running = true;
 
     /**
-     * Schedule periodic fetch and publish task for a given eventId.
-     * If a task is already running for the eventId, it won't be scheduled again.
+     * Schedule periodic fetch and publish task for a given eventId at the standard cadence.
+     * If the event is already scheduled, it won't be scheduled again.
      *
      * @param eventId the ID of the event to schedule
      */
     public void scheduleEvent(String eventId) {
-        if (scheduledTasks.containsKey(eventId)) {
-            log.info("Task already scheduled for eventId: {}", eventId);
+        scheduleEvent(eventId, PollingTier.STANDARD, null);
+    }
+
+    /**
+     * Schedule periodic fetch and publish task for a given eventId in the given tier.
+     * If the event is already scheduled, its tier and interval are updated instead; a shorter interval takes
+     * effect immediately, a longer one after the pending poll.
+     *
+     * @param eventId        the ID of the event to schedule
+     * @param tier           the polling tier of the event
+     * @param pollIntervalMs an interval overriding the tier's interval, or {@code null}
+     * @throws IllegalArgumentException if the interval is shorter than the allowed minimum
+     * @throws AdmissionRejectedException if the event is new and the node is at capacity for its tier
+     */
+    public void scheduleEvent(String eventId, PollingTier tier, Long pollIntervalMs) {
+        validatePollInterval(pollIntervalMs);
+        int interval = pollIntervalMs == null ? 0 : pollIntervalMs.intValue();
+        int slot = eventRegistry.register(eventId, tier, interval, admissionControl);
+        if (slot == EventRegistry.REJECTED) {
+            log.warn("Rejected {} eventId: {} at {} capacity utilization", tier, eventId,
+                    String.format("%.2f", admissionControl.utilization()));
+            throw new AdmissionRejectedException("At capacity, " + tier + " event " + eventId + " was not admitted",
+                    1, admissionControl.retryAfterSeconds());
+        }
+        if (slot == EventRegistry.NO_SLOT) {
+            log.error("Event registry is full ({} events), cannot schedule eventId: {}",
+                    eventRegistry.capacity(), eventId);
             return;
         }
+        if (activate(slot, eventId, tier, interval, clock.currentTimeMillis())) {
+            ensureDispatcherStarted();
+            LockSupport.unpark(dispatcher);
+        }
+    }
 
-        Future<?> future = virtualThreadExecutor.submit(() -> {
-            log.info("Started virtual thread for eventId: {}", eventId);
-            try {
-                while (!Thread.currentThread().isInterrupted()) {
-                    fetchAndPublish(eventId);
-                    Thread.sleep(10_000); // Sleep for 10 seconds
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt(); // Restore interrupted status
-                log.info("Virtual thread interrupted for eventId: {}", eventId);
-            } catch (Exception e) {
-                log.error("Error while fetching/publishing for eventId: {}", eventId, e);
-            } finally {
-                // Ensure task is removed from scheduledTasks map when done
-                scheduledTasks.remove(eventId);
-                log.info("Task completed or stopped for eventId: {}", eventId);
+    /**
+     * Schedules several events in the same tier, interning them under a single registry lock acquisition.
+     * Events that are already live get the tier and interval like in {@link #scheduleEvent(String, PollingTier, Long)}.
+     *
+     * @param eventIds       the IDs of the events to schedule
+     * @param tier           the polling tier of the events
+     * @param pollIntervalMs an interval overriding the tier's interval, or {@code null}
+     * @return the number of events that were not live before
+     * @throws IllegalArgumentException if the interval is shorter than the allowed minimum
+     * @throws AdmissionRejectedException if some new events were not admitted; the others are scheduled
+     */
+    public int scheduleAll(Collection<String> eventIds, PollingTier tier, Long pollIntervalMs) {
+        validatePollInterval(pollIntervalMs);
+        int interval = pollIntervalMs == null ? 0 : pollIntervalMs.intValue();
+        int[] slots = eventRegistry.registerAll(eventIds, tier, interval, admissionControl);
+        long now = clock.currentTimeMillis();
+        int scheduled = 0;
+        int rejected = 0;
+        int i = 0;
+        for (String eventId : eventIds) {
+            int slot = slots[i++];
+            if (slot == EventRegistry.REJECTED) {
+                rejected++;
+            } else if (slot == EventRegistry.NO_SLOT) {
+                log.error("Event registry is full ({} events), cannot schedule eventId: {}",
+                        eventRegistry.capacity(), eventId);
+            } else if (activate(slot, eventId, tier, interval, now)) {
+                scheduled++;
             }
-        });
+        }
+        if (scheduled > 0) {
+            ensureDispatcherStarted();
+            LockSupport.unpark(dispatcher);
+        }
+        if (rejected > 0) {
+            log.warn("Rejected {} of {} {} events at {} capacity utilization", rejected, eventIds.size(), tier,
+                    String.format("%.2f", admissionControl.utilization()));
+            throw new AdmissionRejectedException("At capacity, " + rejected + " of " + eventIds.size() + " "
+                    + tier + " events were not admitted", rejected, admissionControl.retryAfterSeconds());
+        }
+        return scheduled;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the interval is set and out of the allowed range
+     */
+    public void validatePollInterval(Long pollIntervalMs) {
+        if (pollIntervalMs != null && (pollIntervalMs < pollingTiers.minPollIntervalMillis()
+                || pollIntervalMs > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("pollIntervalMs must be between "
+                    + pollingTiers.minPollIntervalMillis() + " and " + Integer.MAX_VALUE);
+        }
+    }
 
-        scheduledTasks.put(eventId, future);
-        log.info("Scheduled virtual thread for eventId: {}", eventId);
+    /**
+     * Arms the first poll of a freshly registered slot, or updates the cadence if the event was live already.
+     *
+     * @return {@code true} if this call started polling the event
+     */
+    private boolean activate(int slot, String eventId, PollingTier tier, int interval, long now) {
+        int generation = eventRegistry.generation(slot);
+        if (!eventId.equals(eventRegistry.eventId(slot))) {
+            log.info("EventId: {} was cancelled while being scheduled", eventId);
+            return false;
+        }
+        if (eventRegistry.arm(slot, generation, now)) {
+            eventRegistry.setLiveSinceMillis(slot, now);
+            log.info("Scheduled {} polling for eventId: {} in slot {}", tier, eventId, slot);
+            return true;
+        }
+        // A repeated LIVE status restarts the time to live and gives a quarantined event a fresh start
+        if (lifecyclePolicy.isQuarantined(eventRegistry.renew(slot, eventId, now))
+                && eventRegistry.advanceDue(slot, generation, now)) {
+            log.info("Lifted quarantine of eventId: {}", eventId);
+            LockSupport.unpark(dispatcher);
+        }
+        if (!eventRegistry.updateCadence(slot, eventId, tier, interval)) {
+            log.info("Task already scheduled for eventId: {}", eventId);
+            return false;
+        }
+        long lastFetch = eventRegistry.lastFetchMillis(slot);
+        long base = lastFetch > 0 ? lastFetch : now;
+        if (eventRegistry.advanceDue(slot, generation, base + pollIntervalMillis(slot))) {
+            LockSupport.unpark(dispatcher);
+        }
+        log.info("Changed polling of eventId: {} to {} every {} ms", eventId, tier, pollIntervalMillis(slot));
+        return false;
     }
 
     /**
-     * Cancels the scheduled task for the given eventId if it exists.
+     * Publishes a score pushed by the provider like a polled one, and suspends polling of the event until
+     * {@code scheduler.push.quiet-ms} after this push. A push that is not newer than the last published score is
+     * dropped but still suspends polling, so a feed may repeat the current score as a heartbeat.
+     *
+     * @param eventScore the pushed score
+     * @return what became of the score
+     */
+    public PushOutcome acceptPushedScore(EventScore eventScore) {
+        String eventId = eventScore.eventId();
+        int slot = eventRegistry.slotOf(eventId);
+        if (slot == EventRegistry.NO_SLOT) {
+            return PushOutcome.NOT_LIVE;
+        }
+        int generation = eventRegistry.generation(slot);
+        if (!eventId.equals(eventRegistry.eventId(slot))) {
+            return PushOutcome.NOT_LIVE;
+        }
+        long now = clock.currentTimeMillis();
+        long quietAt = now + pushQuietMillis;
+        eventRegistry.coverByPush(slot, quietAt);
+        eventRegistry.deferDue(slot, generation, quietAt);
+        long version = claimVersion(slot, eventScore, eventRegistry.nextVersion(slot, now));
+        if (version == EventRegistry.STALE_VERSION) {
+            log.debug("Discarding stale pushed score for eventId: {}", eventId);
+            return PushOutcome.STALE;
+        }
+        recordFetch(slot, generation, eventId, eventScore, now);
+        scoreBatcher.submit(eventScore, eventRegistry.nextSequence(slot), version)
+                    .whenComplete((offset, error) -> published(slot, generation, eventId, offset, error));
+        return PushOutcome.ACCEPTED;
+    }
+
+    /**
+     * Cancels the scheduled task for the given eventId if it exists and removes the event from the snapshot
+     * topic with a tombstone.
+     * <p>
+     * A poll that is still fetching drops its score. One that is already publishing may land its score after the
+     * tombstone and then publishes another one, so the tombstone is always the last snapshot record.
      *
      * @param eventId the ID of the event whose task should be cancelled
      */
     public void cancelEvent(String eventId) {
-        Future<?> future = scheduledTasks.remove(eventId);
-        if (future != null) {
-            future.cancel(true);
-            log.info("Cancelled virtual thread for eventId: {}", eventId);
+        if (eventRegistry.release(eventId) != EventRegistry.NO_SLOT) {
+            log.info("Cancelled polling for eventId: {}", eventId);
+            publishTombstone(eventId);
         } else {
             log.warn("No task found to cancel for eventId: {}", eventId);
         }
     }
 
     /**
-     * Fetches the latest EventScore for the given eventId and publishes it via Kafka.
+     * Cancels several events under a single registry lock acquisition and tombstones each of them, see
+     * {@link #cancelEvent(String)}.
+     *
+     * @param eventIds the IDs of the events to cancel
+     * @return the number of events that were live
+     */
+    public int cancelAll(Collection<String> eventIds) {
+        List<String> cancelled = eventRegistry.releaseAll(eventIds);
+        log.info("Cancelled polling for {} of {} events", cancelled.size(), eventIds.size());
+        cancelled.forEach(this::publishTombstone);
+        return cancelled.size();
+    }
+
+    /**
+     * @return the number of events currently being polled
+     */
+    public int getScheduledEventCount() {
+        return eventRegistry.size();
+    }
+
+    /**
+     * Runs the dispatcher on the calling thread until the clock reaches the given time. Polls start on the
+     * calling thread too, so with a {@link SimulatedSchedulerClock} whose actions complete the fetches, a whole
+     * scenario replays deterministically, and only as slowly as the scheduler's own work.
+     *
+     * @param untilMillis the time to stop at, in epoch milliseconds
+     * @throws IllegalStateException if the clock is not simulated
+     */
+    public void runSimulation(long untilMillis) {
+        if (!clock.isSimulated()) {
+            throw new IllegalStateException("The dispatcher runs on its own thread unless the clock is simulated");
+        }
+        while (running) {
+            long now = clock.currentTimeMillis();
+            long nextWakeUp = dispatchDue(now, Runnable::run);
+            if (now >= untilMillis) {
+                return;
+            }
+            clock.parkUntil(Math.min(nextWakeUp, untilMillis));
+        }
+    }
+
+    private void ensureDispatcherStarted() {
+        if (dispatcher == null && !clock.isSimulated()) {
+            synchronized (this) {
+                if (dispatcher == null && running) {
+                    dispatcher = Thread.ofPlatform()
+                                       .name("event-dispatcher")
+                                       .daemon()
+                                       .start(this::dispatchLoop);
+                }
+            }
+        }
+    }
+
+    private void dispatchLoop() {
+        log.info("Event dispatcher started");
+        while (running && !Thread.currentThread().isInterrupted()) {
+            clock.parkUntil(dispatchDue(clock.currentTimeMillis(), virtualThreadExecutor));
+        }
+        log.info("Event dispatcher stopped");
+    }
+
+    /**
+     * Scans the registry once and dispatches every event that is due.
+     *
+     * @return when the next event is due, but at most one dispatch tick from now
+     */
+    private long dispatchDue(long now, Executor pollExecutor) {
+        long nextWakeUp = now + dispatchTickMillis;
+        int highWater = eventRegistry.highWater();
+        for (int slot = 0; slot < highWater; slot++) {
+            long state = eventRegistry.state(slot);
+            long due = EventRegistry.dueOf(state);
+            if (due <= now) {
+                if (eventRegistry.claim(slot, state)) {
+                    dispatch(slot, EventRegistry.generationOf(state), due, now, pollExecutor);
+                }
+            } else if (due < nextWakeUp) {
+                nextWakeUp = due;
+            }
+        }
+        return nextWakeUp;
+    }
+
+    private void dispatch(int slot, int generation, long dueMillis, long now, Executor pollExecutor) {
+        String eventId = eventRegistry.eventId(slot);
+        int inFlight = eventRegistry.beginPoll(slot);
+        if (eventId == null || eventRegistry.generation(slot) != generation) {
+            // Released after the claim; the slot's next registration arms itself
+            eventRegistry.endPoll(slot);
+            return;
+        }
+        if (lifecyclePolicy.expireIfStale(eventRegistry.liveSinceMillis(slot), now)) {
+            eventRegistry.endPoll(slot);
+            expire(eventId, generation, "no LIVE status within its time to live");
+            return;
+        }
+        if (inFlight < maxPollsInFlightPerEvent) {
+            // Pipelined: the next poll is due after one interval even if this one is still running
+            eventRegistry.rearm(slot, generation, notWhilePushed(slot, now + pollIntervalMillis(slot)));
+        }
+        SchedulerDispatchEvent event = new SchedulerDispatchEvent();
+        event.begin();
+        event.eventId = eventId;
+        event.attempt = eventRegistry.failureCount(slot) + 1;
+        event.dispatchDelay = now - dueMillis;
+        pollExecutor.execute(() -> poll(slot, generation, eventId, event));
+    }
+
+    private void poll(int slot, int generation, String eventId, SchedulerDispatchEvent event) {
+        CompletableFuture<Boolean> pipeline;
+        try {
+            pipeline = fetchAndHandOff(slot, generation, eventId);
+        } catch (Exception e) {
+            pipeline = CompletableFuture.failedFuture(e);
+        }
+        pipeline.whenComplete((handedOff, error) -> {
+            event.end();
+            if (event.shouldCommit()) {
+                if (error != null) {
+                    event.outcome = JfrOutcomes.failure(error);
+                } else {
+                    event.outcome = handedOff ? JfrOutcomes.SUCCESS : JfrOutcomes.DISCARDED;
+                }
+                event.commit();
+            }
+            complete(slot, generation, eventId, error);
+        });
+    }
+
+    /**
+     * Fetches the latest EventScore for the given eventId and hands it to the {@link ScoreBatcher} unless a
+     * newer score was published meanwhile. The poll ends with the hand-off; the publish outcome is recorded
+     * by {@link #published} whenever Kafka acknowledges it, so a slow broker does not delay the next poll.
+     *
+     * @return a future completed with {@code true} if the score was handed off for publishing, or with
+     * {@code false} if it was discarded
+     */
+    private CompletableFuture<Boolean> fetchAndHandOff(int slot, int generation, String eventId) {
+        long startedAt = clock.currentTimeMillis();
+        long fetchVersion = eventRegistry.nextVersion(slot, startedAt);
+        return httpClientService.callExternalApiAsync(eventId)
+                                .thenApply(eventScore -> {
+                                    if (eventRegistry.generation(slot) != generation) {
+                                        // The event ended while fetching; do not publish a score after its tombstone
+                                        return false;
+                                    }
+                                    long version = claimVersion(slot, eventScore, fetchVersion);
+                                    if (version == EventRegistry.STALE_VERSION) {
+                                        log.debug("Discarding stale score for eventId: {}", eventId);
+                                        return false;
+                                    }
+                                    recordFetch(slot, generation, eventId, eventScore, startedAt);
+                                    scoreBatcher.submit(eventScore, eventRegistry.nextSequence(slot), version)
+                                                .whenComplete((offset, error) ->
+                                                        published(slot, generation, eventId, offset, error));
+                                    return true;
+                                });
+    }
+
+    /**
+     * Accepts a result for publishing unless a newer one was accepted before: by its provider version if it has
+     * one, otherwise by the version issued when it was fetched.
      *
-     * @param eventId the event ID to fetch and publish
+     * @return the version to publish the result with, or {@link EventRegistry#STALE_VERSION} if it is stale
+     */
+    private long claimVersion(int slot, EventScore eventScore, long fetchVersion) {
+        if (eventScore.version() != null) {
+            return eventRegistry.claimProviderVersion(slot, eventScore.version(), clock.currentTimeMillis());
+        }
+        return eventRegistry.claimVersion(slot, fetchVersion) ? fetchVersion : EventRegistry.STALE_VERSION;
+    }
+
+    /**
+     * Records the outcome of publishing a handed-off score. The offset is {@code null} if the score was
+     * conflated with a newer one before it was published.
+     */
+    private void published(int slot, int generation, String eventId, Long offset, Throwable error) {
+        if (eventRegistry.generation(slot) == generation) {
+            if (error != null) {
+                int failures = eventRegistry.recordFailure(slot);
+                logFailure("publishing", eventId, failures, unwrap(error));
+            } else if (offset != null) {
+                eventRegistry.recordPublished(slot, offset);
+            }
+        }
+        repeatTombstoneIfEnded(slot, generation, eventId);
+    }
+
+    /**
+     * The score may have reached the snapshot topic after the tombstone of {@link #cancelEvent}, so an event
+     * that ended while its score was being published gets another tombstone.
      */
-    private void fetchAndPublish(String eventId) {
-        EventScore eventScore = httpClientService.callExternalApi(eventId);
-        kafkaProducerService.sendMessage(eventScore);
+    private void repeatTombstoneIfEnded(int slot, int generation, String eventId) {
+        if (running && eventRegistry.generation(slot) != generation
+                && eventRegistry.slotOf(eventId) == EventRegistry.NO_SLOT) {
+            publishTombstone(eventId);
+        }
+    }
+
+    /**
+     * Tombstones the event on the snapshot topic, unless the {@link ScoreBatcher} does not publish snapshots.
+     */
+    private void publishTombstone(String eventId) {
+        if (!scoreBatcher.publishesSnapshots()) {
+            return;
+        }
+        kafkaProducerService.publishTombstoneAsync(eventId)
+                            .whenComplete((offset, error) -> {
+                                if (error != null) {
+                                    log.error("Failed to publish snapshot tombstone for eventId: {}", eventId, error);
+                                }
+                            });
+    }
+
+    private void recordFetch(int slot, int generation, String eventId, EventScore eventScore, long startedAt) {
+        long now = clock.currentTimeMillis();
+        if (eventRegistry.generation(slot) == generation) {
+            long previousFetch = eventRegistry.lastFetchMillis(slot);
+            if (previousFetch > 0) {
+                pollingSlaMonitor.recordFetchGap(eventRegistry.tier(slot), now - previousFetch);
+            }
+            int home = parseGoals(eventScore, 0);
+            int away = parseGoals(eventScore, 1);
+            eventRegistry.recordFetch(slot, home, away, now, (int) Math.min(Integer.MAX_VALUE, now - startedAt));
+            scoreTimeline.record(slot, generation, now, home, away);
+            int previousFailures = eventRegistry.clearFailures(slot);
+            if (lifecyclePolicy.onSuccess(previousFailures)) {
+                log.info("EventId: {} recovered after {} failed polls, leaving quarantine", eventId, previousFailures);
+            }
+        }
+    }
+
+    /**
+     * Cancels an event on behalf of the lifecycle policy, unless it was cancelled or scheduled again meanwhile.
+     */
+    private void expire(String eventId, int generation, String reason) {
+        if (eventRegistry.release(eventId, generation)) {
+            log.warn("Expired eventId: {}: {}", eventId, reason);
+            publishTombstone(eventId);
+        }
+    }
+
+    private void complete(int slot, int generation, String eventId, Throwable error) {
+        eventRegistry.endPoll(slot);
+        // Results of a poll that outlived its event must not touch a slot that may have been reused
+        if (eventRegistry.generation(slot) != generation) {
+            return;
+        }
+        if (error != null) {
+            Throwable cause = unwrap(error);
+            int failures = eventRegistry.recordFailure(slot);
+            if (cause instanceof ExternalApiUnexpectedStatusException status
+                    && status.getStatusCode() == HttpStatus.NOT_FOUND.value()
+                    && lifecyclePolicy.expireIfNotFound(eventRegistry.recordNotFound(slot))) {
+                expire(eventId, generation, "the provider keeps answering 404 Not Found");
+                return;
+            }
+            logFailure("fetching", eventId, failures, cause);
+            if (lifecyclePolicy.onFailure(failures)) {
+                log.warn("Quarantined eventId: {} after {} consecutive failures", eventId, failures);
+            }
+        }
+        if (running) {
+            // No-op if the slot was re-armed at dispatch because it had room for another poll in flight
+            long delay = lifecyclePolicy.nextPollDelayMillis(pollIntervalMillis(slot),
+                    eventRegistry.failureCount(slot));
+            eventRegistry.rearm(slot, generation, notWhilePushed(slot, clock.currentTimeMillis() + delay));
+        }
+    }
+
+    /**
+     * @return the given due time, or the time the event's push feed goes quiet if that is later
+     */
+    private long notWhilePushed(int slot, long dueMillis) {
+        return Math.max(dueMillis, eventRegistry.pushCoveredUntilMillis(slot));
+    }
+
+    /**
+     * Counts a failed poll or publish, logging expected failures in one line and unexpected ones with their
+     * stack trace.
+     */
+    private void logFailure(String action, String eventId, int failures, Throwable cause) {
+        if (failureCounter.count(cause).isExpected()) {
+            log.warn("Error while {} for eventId: {} ({} consecutive failures): {}", action, eventId, failures,
+                    FailureCategory.summarize(cause));
+        } else {
+            log.error("Error while {} for eventId: {} ({} consecutive failures)", action, eventId, failures, cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * @return the poll interval configured for the slot, or the interval of its tier
+     */
+    long pollIntervalMillis(int slot) {
+        int interval = eventRegistry.pollIntervalMillis(slot);
+        return interval > 0 ? interval : pollingTiers.pollIntervalMillis(eventRegistry.tier(slot));
+    }
+
+    /**
+     * Extracts one side of a "home:away" score, or -1 if the score is missing or malformed.
+     */
+    static int parseGoals(EventScore eventScore, int side) {
+        if (eventScore == null || eventScore.currentScore() == null) {
+            return -1;
+        }
+        String score = eventScore.currentScore();
+        int separator = score.indexOf(':');
+        if (separator < 0) {
+            return -1;
+        }
+        try {
+            return side == 0
+                    ? Integer.parseInt(score, 0, separator, 10)
+                    : Integer.parseInt(score, separator + 1, score.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 
     /**
@@ -96,7 +619,12 @@ public class EventScheduler {
     @PreDestroy
     public void shutdown() {
         log.info("Shutting down EventScheduler. Cancelling all scheduled tasks.");
-        scheduledTasks.values().forEach(future -> future.cancel(true));
+        running = false;
+        Thread current = dispatcher;
+        if (current != null) {
+            current.interrupt();
+        }
+        eventRegistry.clear();
         virtualThreadExecutor.shutdownNow();
     }
 }
@@ -0,0 +1,68 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.enums.PollingTier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tracks how well each {@link PollingTier} meets its freshness SLA.
+ * <p>
+ * Every successful fetch is compared with the previous one of the same event: if the gap is within the tier's
+ * SLA the fetch counts as met, otherwise as missed. Metrics, all tagged with the tier:
+ * <ul>
+ *     <li>{@code scheduler.sla.fetches} - fetches, also tagged with {@code outcome=met|missed}</li>
+ *     <li>{@code scheduler.sla.attainment} - share of fetches that met the SLA since startup</li>
+ *     <li>{@code scheduler.fetch.gap} - distribution of gaps between successful fetches</li>
+ * </ul>
+ */
+@Component
+public class PollingSlaMonitor {
+
+    private final PollingTiers pollingTiers;
+    private final Counter[] met = new Counter[PollingTier.values().length];
+    private final Counter[] missed = new Counter[PollingTier.values().length];
+    private final Timer[] gaps = new Timer[PollingTier.values().length];
+
+    public PollingSlaMonitor(PollingTiers pollingTiers, MeterRegistry meterRegistry) {
+        this.pollingTiers = pollingTiers;
+        for (PollingTier tier : PollingTier.values()) {
+            String tag = tier.name().toLowerCase();
+            int i = tier.ordinal();
+            met[i] = Counter.builder("scheduler.sla.fetches").tag("tier", tag).tag("outcome", "met")
+                            .register(meterRegistry);
+            missed[i] = Counter.builder("scheduler.sla.fetches").tag("tier", tag).tag("outcome", "missed")
+                               .register(meterRegistry);
+            gaps[i] = Timer.builder("scheduler.fetch.gap").tag("tier", tag)
+                           .description("Time between two successful fetches of an event")
+                           .register(meterRegistry);
+            Gauge.builder("scheduler.sla.attainment", this, monitor -> monitor.attainment(tier))
+                 .tag("tier", tag)
+                 .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Records a successful fetch of an event in the tier.
+     *
+     * @param gapMillis time since the previous successful fetch of the same event
+     */
+    public void recordFetchGap(PollingTier tier, long gapMillis) {
+        int i = tier.ordinal();
+        gaps[i].record(Duration.ofMillis(gapMillis));
+        (gapMillis <= pollingTiers.slaMillis(tier) ? met[i] : missed[i]).increment();
+    }
+
+    /**
+     * @return the share of fetches in the tier that met the SLA, or 1.0 if none was recorded yet
+     */
+    public double attainment(PollingTier tier) {
+        double metCount = met[tier.ordinal()].count();
+        double total = metCount + missed[tier.ordinal()].count();
+        return total == 0 ? 1.0 : metCount / total;
+    }
+}
@@ -0,0 +1,52 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.enums.PollingTier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Poll interval and freshness SLA of each {@link PollingTier}.
+ * <p>
+ * The SLA of a tier is the longest acceptable gap between two successful fetches of one of its events.
+ */
+@Component
+public class PollingTiers {
+
+    private final long[] pollIntervalMillis = new long[PollingTier.values().length];
+    private final long[] slaMillis = new long[PollingTier.values().length];
+    private final long minPollIntervalMillis;
+
+    public PollingTiers(@Value("${scheduler.tiers.premium.poll-interval-ms:1000}") long premiumInterval,
+                        @Value("${scheduler.tiers.premium.sla-ms:2000}") long premiumSla,
+                        @Value("${scheduler.tiers.standard.poll-interval-ms:${scheduler.poll-interval-ms:10000}}")
+                        long standardInterval,
+                        @Value("${scheduler.tiers.standard.sla-ms:15000}") long standardSla,
+                        @Value("${scheduler.tiers.minor.poll-interval-ms:30000}") long minorInterval,
+                        @Value("${scheduler.tiers.minor.sla-ms:45000}") long minorSla,
+                        @Value("${scheduler.tiers.min-poll-interval-ms:250}") long minPollIntervalMillis) {
+        set(PollingTier.PREMIUM, premiumInterval, premiumSla);
+        set(PollingTier.STANDARD, standardInterval, standardSla);
+        set(PollingTier.MINOR, minorInterval, minorSla);
+        this.minPollIntervalMillis = minPollIntervalMillis;
+    }
+
+    public long pollIntervalMillis(PollingTier tier) {
+        return pollIntervalMillis[tier.ordinal()];
+    }
+
+    public long slaMillis(PollingTier tier) {
+        return slaMillis[tier.ordinal()];
+    }
+
+    /**
+     * @return the shortest poll interval a caller may request for a single event
+     */
+    public long minPollIntervalMillis() {
+        return minPollIntervalMillis;
+    }
+
+    private void set(PollingTier tier, long interval, long sla) {
+        pollIntervalMillis[tier.ordinal()] = interval;
+        slaMillis[tier.ordinal()] = sla;
+    }
+}
@@ -0,0 +1,31 @@
+package com.sports.tracker.scheduler;
+
+/**
+ * Time source and waiting strategy of the {@link EventScheduler}.
+ * <p>
+ * Production runs on the {@link SystemSchedulerClock}. A {@link SimulatedSchedulerClock} lets the scheduler
+ * replay hours of polling in seconds, see {@link EventScheduler#runSimulation(long)}.
+ */
+public interface SchedulerClock {
+
+    /**
+     * @return the current time in epoch milliseconds
+     */
+    long currentTimeMillis();
+
+    /**
+     * Waits until the given time. May return earlier, e.g. when the dispatcher is unparked because an event
+     * became due sooner.
+     *
+     * @param wakeUpMillis the time to wait for, in epoch milliseconds
+     */
+    void parkUntil(long wakeUpMillis);
+
+    /**
+     * @return {@code true} if time only passes when the scheduler waits, so the dispatcher must run on the
+     * caller's thread instead of its own
+     */
+    default boolean isSimulated() {
+        return false;
+    }
+}
@@ -0,0 +1,115 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.ScheduledEventPage;
+import com.sports.tracker.model.ScheduledEventState;
+import com.sports.tracker.model.enums.PollingTier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of the scheduler state for diagnostics.
+ * <p>
+ * Walks the {@link EventRegistry} without taking its lock, so inspection never contends with status changes
+ * or polls. Values of a single event may be torn across a concurrent poll, which is acceptable for
+ * diagnostics. Only the events on the requested page are materialized.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchedulerInspector {
+
+    private final EventRegistry eventRegistry;
+    private final EventScheduler eventScheduler;
+    private final SchedulerClock clock;
+
+    /**
+     * Criteria for selecting events; {@code null} fields do not filter.
+     *
+     * @param eventIdPrefix          only events whose id starts with this prefix
+     * @param minConsecutiveFailures only events with at least this many consecutive failures
+     * @param minFetchLatencyMs      only events whose last fetch took at least this long
+     * @param minOverdueMs           only events whose next poll is overdue by at least this long
+     * @param inFlight               only events with (or without) a poll in flight
+     * @param tier                   only events in this polling tier
+     */
+    public record Filter(
+            String eventIdPrefix,
+            Integer minConsecutiveFailures,
+            Long minFetchLatencyMs,
+            Long minOverdueMs,
+            Boolean inFlight,
+            PollingTier tier) {
+    }
+
+    /**
+     * Returns a page of live events matching the filter, in registry slot order.
+     *
+     * @param filter the selection criteria
+     * @param page   zero-based page number
+     * @param size   maximum number of events on the page
+     */
+    public ScheduledEventPage inspect(Filter filter, int page, int size) {
+        long now = clock.currentTimeMillis();
+        long skip = (long) page * size;
+        List<ScheduledEventState> events = new ArrayList<>(Math.min(size, 256));
+        int matching = 0;
+
+        int highWater = eventRegistry.highWater();
+        for (int slot = 0; slot < highWater; slot++) {
+            String eventId = eventRegistry.eventId(slot);
+            if (eventId == null || !matches(filter, slot, eventId, now)) {
+                continue;
+            }
+            if (matching >= skip && events.size() < size) {
+                events.add(toState(slot, eventId));
+            }
+            matching++;
+        }
+        return new ScheduledEventPage(page, size, matching, eventRegistry.size(), events);
+    }
+
+    private boolean matches(Filter filter, int slot, String eventId, long now) {
+        if (filter.eventIdPrefix() != null && !eventId.startsWith(filter.eventIdPrefix())) {
+            return false;
+        }
+        if (filter.tier() != null && eventRegistry.tier(slot) != filter.tier()) {
+            return false;
+        }
+        if (filter.minConsecutiveFailures() != null
+                && eventRegistry.failureCount(slot) < filter.minConsecutiveFailures()) {
+            return false;
+        }
+        if (filter.minFetchLatencyMs() != null
+                && eventRegistry.lastFetchLatencyMillis(slot) < filter.minFetchLatencyMs()) {
+            return false;
+        }
+        boolean inFlight = eventRegistry.pollsInFlight(slot) > 0;
+        if (filter.inFlight() != null && filter.inFlight() != inFlight) {
+            return false;
+        }
+        long nextDue = eventRegistry.nextDueMillis(slot);
+        return filter.minOverdueMs() == null
+                || (nextDue != EventRegistry.NOT_DUE && now - nextDue >= filter.minOverdueMs());
+    }
+
+    private ScheduledEventState toState(int slot, String eventId) {
+        int home = eventRegistry.homeScore(slot);
+        int away = eventRegistry.awayScore(slot);
+        long lastFetch = eventRegistry.lastFetchMillis(slot);
+        long nextDue = eventRegistry.nextDueMillis(slot);
+        return new ScheduledEventState(
+                eventId,
+                home >= 0 && away >= 0 ? home + ":" + away : null,
+                lastFetch > 0 ? Instant.ofEpochMilli(lastFetch) : null,
+                eventRegistry.lastFetchLatencyMillis(slot),
+                eventRegistry.lastOffset(slot),
+                nextDue == EventRegistry.NOT_DUE ? null : Instant.ofEpochMilli(nextDue),
+                eventRegistry.pollsInFlight(slot) > 0,
+                eventRegistry.failureCount(slot),
+                eventScheduler.pollIntervalMillis(slot),
+                eventRegistry.tier(slot));
+    }
+}
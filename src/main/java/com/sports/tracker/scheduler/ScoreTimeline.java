@@ -0,0 +1,184 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.ScoreHistory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Recent score changes of every live event, kept in fixed-size rings of primitive arrays indexed by
+ * {@link EventRegistry} slot.
+ * <p>
+ * Each event keeps its last {@code history.entries-per-event} score changes as (fetch time, home, away); a
+ * fetch that did not change the score is not recorded, so a ring covers far more than its size in polls.
+ * Entries older than {@code history.retention-ms} are not returned. Rings are allocated a registry page at a
+ * time, when the first event of the page records a score, and the ring size is lowered so that rings for the
+ * whole registry fit into {@code history.max-memory-bytes}. A ring belongs to a slot generation: the history
+ * of an event ends when it is cancelled, and the next event in the slot starts an empty one.
+ * <p>
+ * Writers and readers of one page synchronize on it; both touch a few dozen array elements at most.
+ */
+@Slf4j
+@Component
+public class ScoreTimeline {
+
+    // Entry: epoch millis, and home goals in the high half and away goals in the low half of an int
+    private static final int BYTES_PER_ENTRY = Long.BYTES + Integer.BYTES;
+    private static final int BYTES_PER_SLOT = 2 * Integer.BYTES;
+
+    private final EventRegistry eventRegistry;
+    private final int entriesPerEvent;
+    private final long retentionMillis;
+    private final AtomicReferenceArray<Page> pages;
+    private final AtomicInteger allocatedPages = new AtomicInteger();
+
+    public ScoreTimeline(EventRegistry eventRegistry,
+                         MeterRegistry meterRegistry,
+                         @Value("${history.entries-per-event:32}") int entriesPerEvent,
+                         @Value("${history.retention-ms:14400000}") long retentionMillis,
+                         @Value("${history.max-memory-bytes:134217728}") long maxMemoryBytes) {
+        if (entriesPerEvent < 0 || retentionMillis <= 0 || maxMemoryBytes < 0) {
+            throw new IllegalArgumentException("history.* settings must not be negative");
+        }
+        long slots = (long) pageCount(eventRegistry.capacity()) * EventRegistry.PAGE_SIZE;
+        long affordable = (maxMemoryBytes / slots - BYTES_PER_SLOT) / BYTES_PER_ENTRY;
+        this.eventRegistry = eventRegistry;
+        this.entriesPerEvent = (int) Math.max(0, Math.min(entriesPerEvent, affordable));
+        this.retentionMillis = retentionMillis;
+        this.pages = new AtomicReferenceArray<>(pageCount(eventRegistry.capacity()));
+        if (this.entriesPerEvent < entriesPerEvent) {
+            log.warn("Keeping {} instead of {} score changes per event to stay within {} bytes",
+                    this.entriesPerEvent, entriesPerEvent, maxMemoryBytes);
+        }
+        Gauge.builder("score.history.memory", this, ScoreTimeline::allocatedBytes)
+             .baseUnit("bytes")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Records a fetched score of the event in the slot if it differs from the last recorded one.
+     *
+     * @param generation the slot generation the score was fetched for
+     */
+    public void record(int slot, int generation, long fetchedAtMillis, int home, int away) {
+        if (entriesPerEvent == 0 || home < 0 || away < 0) {
+            return;
+        }
+        Page page = page(slot);
+        int i = slot & EventRegistry.PAGE_MASK;
+        int score = pack(home, away);
+        synchronized (page) {
+            if (page.generation[i] != generation) {
+                page.generation[i] = generation;
+                page.written[i] = 0;
+            }
+            int written = page.written[i];
+            int base = i * entriesPerEvent;
+            if (written > 0 && page.scores[base + (written - 1) % entriesPerEvent] == score) {
+                return;
+            }
+            int pos = base + written % entriesPerEvent;
+            page.timestamps[pos] = fetchedAtMillis;
+            page.scores[pos] = score;
+            page.written[i] = written + 1;
+        }
+    }
+
+    /**
+     * @param eventId     the event
+     * @param sinceMillis only changes fetched at or after this time, in epoch milliseconds
+     * @param nowMillis   the current time, to apply the retention
+     * @return the recorded score changes, oldest first, or {@code null} if the event is not live
+     */
+    public ScoreHistory history(String eventId, long sinceMillis, long nowMillis) {
+        int slot = eventRegistry.slotOf(eventId);
+        if (slot == EventRegistry.NO_SLOT) {
+            return null;
+        }
+        int generation = eventRegistry.generation(slot);
+        Page page = entriesPerEvent == 0 ? null : pages.get(slot >>> EventRegistry.PAGE_SHIFT);
+        if (page == null) {
+            return ScoreHistory.empty(eventId);
+        }
+        long from = Math.max(sinceMillis, nowMillis - retentionMillis);
+        int i = slot & EventRegistry.PAGE_MASK;
+        int base = i * entriesPerEvent;
+        synchronized (page) {
+            if (page.generation[i] != generation || !eventId.equals(eventRegistry.eventId(slot))) {
+                return ScoreHistory.empty(eventId);
+            }
+            int written = page.written[i];
+            int available = Math.min(written, entriesPerEvent);
+            // Timestamps only grow, so skip the entries before the window from the oldest one on
+            int first = written - available;
+            while (first < written && page.timestamps[base + first % entriesPerEvent] < from) {
+                first++;
+            }
+            int count = written - first;
+            long[] timestamps = new long[count];
+            int[] home = new int[count];
+            int[] away = new int[count];
+            for (int n = 0; n < count; n++) {
+                int pos = base + (first + n) % entriesPerEvent;
+                timestamps[n] = page.timestamps[pos];
+                home[n] = page.scores[pos] >>> 16;
+                away[n] = page.scores[pos] & 0xFFFF;
+            }
+            return new ScoreHistory(eventId, timestamps, home, away);
+        }
+    }
+
+    /**
+     * @return the number of score changes kept per event, after applying the memory cap
+     */
+    public int entriesPerEvent() {
+        return entriesPerEvent;
+    }
+
+    private Page page(int slot) {
+        int pageIndex = slot >>> EventRegistry.PAGE_SHIFT;
+        Page page = pages.get(pageIndex);
+        if (page == null) {
+            Page allocated = new Page(entriesPerEvent);
+            if (pages.compareAndSet(pageIndex, null, allocated)) {
+                allocatedPages.incrementAndGet();
+                return allocated;
+            }
+            page = pages.get(pageIndex);
+        }
+        return page;
+    }
+
+    private double allocatedBytes() {
+        return (double) allocatedPages.get() * EventRegistry.PAGE_SIZE
+                * (BYTES_PER_SLOT + (long) entriesPerEvent * BYTES_PER_ENTRY);
+    }
+
+    private static int pack(int home, int away) {
+        return Math.min(home, 0xFFFF) << 16 | Math.min(away, 0xFFFF);
+    }
+
+    private static int pageCount(int capacity) {
+        return (capacity + EventRegistry.PAGE_SIZE - 1) >>> EventRegistry.PAGE_SHIFT;
+    }
+
+    private static final class Page {
+        final int[] generation = new int[EventRegistry.PAGE_SIZE];
+        final int[] written = new int[EventRegistry.PAGE_SIZE];
+        final long[] timestamps;
+        final int[] scores;
+
+        Page(int entriesPerEvent) {
+            timestamps = new long[EventRegistry.PAGE_SIZE * entriesPerEvent];
+            scores = new int[EventRegistry.PAGE_SIZE * entriesPerEvent];
+            // Generation 0 is a valid slot generation; -1 marks rings that never recorded
+            Arrays.fill(generation, -1);
+        }
+    }
+}
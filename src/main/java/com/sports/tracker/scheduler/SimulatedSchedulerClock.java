@@ -0,0 +1,93 @@
+package com.sports.tracker.scheduler;
+
+import java.util.PriorityQueue;
+
+/**
+ * Simulated time for replaying scheduling scenarios deterministically.
+ * <p>
+ * Time stands still until the scheduler waits: {@link #parkUntil(long)} jumps straight to the wake-up time and
+ * runs, on the waiting thread and in time order, every action {@link #schedule scheduled} up to then, such as
+ * the completion of a simulated fetch or the next status change of a scenario. Actions due at the same time
+ * run in the order they were scheduled. Not thread-safe: drive it from a single thread.
+ * <p>
+ * Every wake-up of the dispatcher scans the whole registry, and with thousands of live events some event is
+ * due nearly every millisecond. A coarser resolution rounds wake-ups up to its multiples, so a day replays with
+ * fewer scans at the price of polls starting up to one resolution late.
+ */
+public class SimulatedSchedulerClock implements SchedulerClock {
+
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+    private final long resolutionMillis;
+    private long nowMillis;
+    private long scheduled;
+
+    /**
+     * @param startMillis the simulated time to start at, in epoch milliseconds
+     */
+    public SimulatedSchedulerClock(long startMillis) {
+        this(startMillis, 1);
+    }
+
+    /**
+     * @param startMillis      the simulated time to start at, in epoch milliseconds
+     * @param resolutionMillis the granularity of the dispatcher's wake-ups
+     */
+    public SimulatedSchedulerClock(long startMillis, long resolutionMillis) {
+        if (resolutionMillis <= 0) {
+            throw new IllegalArgumentException("resolutionMillis must be positive");
+        }
+        this.nowMillis = startMillis;
+        this.resolutionMillis = resolutionMillis;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return nowMillis;
+    }
+
+    @Override
+    public void parkUntil(long wakeUpMillis) {
+        advanceTo(Math.max(nowMillis + 1, Math.ceilDiv(wakeUpMillis, resolutionMillis) * resolutionMillis));
+    }
+
+    @Override
+    public boolean isSimulated() {
+        return true;
+    }
+
+    /**
+     * Runs the action once the simulated time advanced by the given delay.
+     */
+    public void schedule(long delayMillis, Runnable action) {
+        timers.add(new Timer(nowMillis + Math.max(0, delayMillis), scheduled++, action));
+    }
+
+    /**
+     * Advances the simulated time to the given time, running the actions due up to then.
+     */
+    public void advanceTo(long targetMillis) {
+        Timer next;
+        while ((next = timers.peek()) != null && next.dueMillis <= targetMillis) {
+            timers.poll();
+            nowMillis = Math.max(nowMillis, next.dueMillis);
+            next.action.run();
+        }
+        nowMillis = Math.max(nowMillis, targetMillis);
+    }
+
+    /**
+     * @return the number of actions not run yet
+     */
+    public int pendingActions() {
+        return timers.size();
+    }
+
+    private record Timer(long dueMillis, long order, Runnable action) implements Comparable<Timer> {
+
+        @Override
+        public int compareTo(Timer other) {
+            int byDue = Long.compare(dueMillis, other.dueMillis);
+            return byDue != 0 ? byDue : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.sports.tracker.scheduler;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wall-clock time; waiting parks the calling thread, so {@link LockSupport#unpark} wakes it early.
+ */
+@Component
+public class SystemSchedulerClock implements SchedulerClock {
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public void parkUntil(long wakeUpMillis) {
+        long waitMillis = Math.max(1, wakeUpMillis - System.currentTimeMillis());
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+    }
+}
@@ -1,12 +1,20 @@
 package com.sports.tracker.service;
 
+import com.sports.tracker.exception.AdmissionRejectedException;
 import com.sports.tracker.model.EventStatus;
+import com.sports.tracker.model.enums.PollingTier;
 import com.sports.tracker.model.enums.Status;
 import com.sports.tracker.scheduler.EventScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Service to handle event status updates and manage scheduling of event processing tasks.
  */
@@ -19,18 +27,75 @@ public class EventService {
 
     /**
      * Updates the scheduling of event processing based on the event status.
-     * If the status is LIVE, schedules the event; otherwise cancels the scheduled event.
+     * If the status is LIVE, schedules the event in its tier (or updates the tier of an already live event);
+     * otherwise cancels the scheduled event.
      *
      * @param eventStatus the updated status of the event
+     * @throws IllegalArgumentException if the requested poll interval is out of range
      */
     public void updateEventStatus(EventStatus eventStatus) {
         String eventId = eventStatus.eventId();
         if (Status.LIVE.equals(eventStatus.status())) {
-            log.info("Scheduling event with ID: {}", eventId);
-            eventScheduler.scheduleEvent(eventId);
+            PollingTier tier = eventStatus.tier() != null ? eventStatus.tier() : PollingTier.STANDARD;
+            log.info("Scheduling event with ID: {} in tier {}", eventId, tier);
+            eventScheduler.scheduleEvent(eventId, tier, eventStatus.pollIntervalMs());
         } else {
             log.info("Cancelling event with ID: {}", eventId);
             eventScheduler.cancelEvent(eventId);
         }
     }
+
+    /**
+     * Applies a batch of status updates with bulk scheduler operations. If an event is listed more than once,
+     * its last status wins. Intervals are validated before any event is touched. Ended events are released
+     * first and live ones are admitted from the highest tier down, so a batch near capacity sheds its minor
+     * events rather than its premium ones.
+     *
+     * @param eventStatuses the updated statuses of the events
+     * @throws IllegalArgumentException if a requested poll interval is out of range
+     * @throws AdmissionRejectedException if some new live events were not admitted; all others are applied
+     */
+    public void updateEventStatuses(List<EventStatus> eventStatuses) {
+        Map<String, EventStatus> latest = new LinkedHashMap<>();
+        for (EventStatus eventStatus : eventStatuses) {
+            latest.put(eventStatus.eventId(), eventStatus);
+        }
+        List<String> ended = new ArrayList<>();
+        Map<Cadence, List<String>> live = new LinkedHashMap<>();
+        for (EventStatus eventStatus : latest.values()) {
+            if (Status.LIVE.equals(eventStatus.status())) {
+                eventScheduler.validatePollInterval(eventStatus.pollIntervalMs());
+                PollingTier tier = eventStatus.tier() != null ? eventStatus.tier() : PollingTier.STANDARD;
+                live.computeIfAbsent(new Cadence(tier, eventStatus.pollIntervalMs()), c -> new ArrayList<>())
+                    .add(eventStatus.eventId());
+            } else {
+                ended.add(eventStatus.eventId());
+            }
+        }
+        log.info("Applying {} status updates: {} live, {} ended", eventStatuses.size(),
+                latest.size() - ended.size(), ended.size());
+        if (!ended.isEmpty()) {
+            eventScheduler.cancelAll(ended);
+        }
+        int rejected = 0;
+        AdmissionRejectedException rejection = null;
+        List<Map.Entry<Cadence, List<String>>> byPriority = new ArrayList<>(live.entrySet());
+        byPriority.sort(Comparator.comparing(entry -> entry.getKey().tier()));
+        for (Map.Entry<Cadence, List<String>> entry : byPriority) {
+            Cadence cadence = entry.getKey();
+            try {
+                eventScheduler.scheduleAll(entry.getValue(), cadence.tier(), cadence.pollIntervalMs());
+            } catch (AdmissionRejectedException e) {
+                rejected += e.getRejectedEvents();
+                rejection = e;
+            }
+        }
+        if (rejection != null) {
+            throw new AdmissionRejectedException("At capacity, " + rejected + " of " + latest.size()
+                    + " events were not admitted", rejected, rejection.getRetryAfterSeconds());
+        }
+    }
+
+    private record Cadence(PollingTier tier, Long pollIntervalMs) {
+    }
 }
@@ -1,8 +1,19 @@
 package com.sports.tracker.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.config.RetryConfigFactory;
 import com.sports.tracker.exception.ExternalApiCallFailedException;
+import com.sports.tracker.exception.ExternalApiException;
 import com.sports.tracker.exception.ExternalApiUnexpectedStatusException;
+import com.sports.tracker.exception.FailureCategory;
+import com.sports.tracker.http.BufferPool;
+import com.sports.tracker.http.HedgedRequests;
+import com.sports.tracker.http.PooledBody;
+import com.sports.tracker.http.PooledBodyHandler;
+import com.sports.tracker.jfr.ExternalApiCallEvent;
+import com.sports.tracker.jfr.JfrOutcomes;
+import com.sports.tracker.jfr.JsonDecodeEvent;
+import com.sports.tracker.logging.LogSampler;
 import com.sports.tracker.model.EventScore;
 import io.github.resilience4j.retry.Retry;
 import lombok.RequiredArgsConstructor;
@@ -16,13 +27,34 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
-import java.util.function.Supplier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service responsible for making HTTP calls to an external API
  * to retrieve {@link EventScore} data.
  * <p>
- * Implements automatic retries using Resilience4j {@link Retry}.
+ * Implements automatic retries using Resilience4j {@link Retry}. The backoff is timed by the retry scheduler
+ * and retries run on virtual threads, so no thread sleeps between attempts.
+ * <p>
+ * Responses are negotiated with {@code Accept-Encoding} ({@code external.api.accept-encoding}) and read by a
+ * {@link PooledBodyHandler}: bodies are decompressed into pooled buffers and decoded straight from the bytes,
+ * without building an intermediate String per poll.
+ * <p>
+ * With {@code external.api.hedge-urls} configured, each attempt is {@link HedgedRequests hedged}: a slow
+ * request to {@code external.api.url} is raced by one to the next hedge URL, taken round-robin, and the
+ * first score wins.
+ * <p>
+ * Successful calls are only logged for events the {@link LogSampler} samples, with structured key/value
+ * fields; failures are always logged, with the length and the first {@value #LOGGED_BODY_BYTES} bytes of the
+ * response body when one arrived.
  */
 @Slf4j
 @Service
@@ -31,61 +63,257 @@ public class HttpClientService {
 
     private final Retry httpClientRetry;
     private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService retryScheduler;
+    private final HedgedRequests hedgedRequests;
+    private final LogSampler logSampler;
+
+    private static final int BODY_BUFFERS_POOLED = 256;
+    private static final int BODY_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_POOLED_BODY_BUFFER_SIZE = 1024 * 1024;
+    private static final int MAX_BODY_SIZE = 16 * 1024 * 1024;
+    // Copied before the body is released: an async appender formats the message later
+    private static final int LOGGED_BODY_BYTES = 256;
 
     @Value("${external.api.url}")
     private String externalApiUrl;
 
+    /**
+     * Further providers serving the same scores, with the same {@code {eventId}} placeholder; empty to
+     * disable hedging.
+     */
+    @Value("${external.api.hedge-urls:}")
+    private String[] hedgeUrls = new String[0];
+
+    private final AtomicInteger nextHedgeUrl = new AtomicInteger();
+
+    private final ExecutorService retryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Encodings offered to the provider; blank to request uncompressed responses.
+     */
+    @Value("${external.api.accept-encoding:" + PooledBodyHandler.ACCEPT_ENCODING + "}")
+    private String acceptEncoding = PooledBodyHandler.ACCEPT_ENCODING;
+
+    private final PooledBodyHandler bodyHandler = new PooledBodyHandler(
+            new BufferPool(BODY_BUFFERS_POOLED, BODY_BUFFER_SIZE, MAX_POOLED_BODY_BUFFER_SIZE), MAX_BODY_SIZE);
+
     private final HttpClient httpClient = HttpClient.newBuilder()
                                                     .connectTimeout(Duration.ofSeconds(5))
+                                                    .executor(Executors.newVirtualThreadPerTaskExecutor())
                                                     .build();
 
     /**
-     * Calls the external API to retrieve the score of the given event.
-     * This method wraps the call in a retry strategy.
+     * Calls the external API to retrieve the score of the given event without blocking the caller.
+     * Failed attempts are retried after a backoff scheduled on the retry scheduler; each attempt may be hedged.
+     *
+     * @param eventId the ID of the event to fetch the score for
+     * @return a future completed with the {@link EventScore}, or exceptionally with an
+     * {@link ExternalApiCallFailedException} or {@link ExternalApiUnexpectedStatusException}
+     */
+    public CompletableFuture<EventScore> callExternalApiAsync(String eventId) {
+        String url = externalApiUrl.replace("{eventId}", eventId);
+        return Retry.decorateCompletionStage(httpClientRetry, retryScheduler, RetryConfigFactory.attempts(
+                            retryExecutor, attempt -> performHedgedCallAsync(eventId, url, attempt)))
+                    .get()
+                    .toCompletableFuture();
+    }
+
+    private CompletableFuture<EventScore> performHedgedCallAsync(String eventId, String url, int attempt) {
+        if (hedgeUrls.length == 0) {
+            return hedgedRequests.send(() -> performHttpCallAsync(eventId, url, attempt), null);
+        }
+        String hedgeUrl = hedgeUrls[Math.floorMod(nextHedgeUrl.getAndIncrement(), hedgeUrls.length)]
+                .replace("{eventId}", eventId);
+        return hedgedRequests.send(() -> performHttpCallAsync(eventId, url, attempt),
+                () -> performHttpCallAsync(eventId, hedgeUrl, attempt));
+    }
+
+    /**
+     * Calls the external API to retrieve the score of the given event, blocking until
+     * {@link #callExternalApiAsync} completes.
      *
      * @param eventId the ID of the event to fetch the score for
      * @return {@link EventScore} retrieved from the external API
-     * @throws ExternalApiCallFailedException if the HTTP call fails or an unexpected error occurs
-     * @throws ExternalApiUnexpectedStatusException if the API returns a non-200 HTTP status
+     * @throws ExternalApiCallFailedException if the HTTP call fails, the API returns a non-200 HTTP status (as
+     *                                        the cause) or the caller is interrupted
      */
     public EventScore callExternalApi(String eventId) {
-        String url = externalApiUrl.replace("{eventId}", eventId);
-        Supplier<EventScore> supplier = Retry.decorateSupplier(httpClientRetry, () -> performHttpCall(url));
-        return supplier.get();
+        try {
+            if (Thread.interrupted()) {
+                // Not started at all: the caller could not wait for it
+                throw new InterruptedException();
+            }
+            return callExternalApiAsync(eventId).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiCallFailedException("External API call was interrupted", e);
+        } catch (ExecutionException e) {
+            ExternalApiException failure = toExternalApiException(e.getCause());
+            if (failure instanceof ExternalApiUnexpectedStatusException) {
+                throw new ExternalApiCallFailedException("Unexpected error during external API call", failure);
+            }
+            throw failure;
+        }
+    }
+
+    /**
+     * Opens provider connections ahead of the first poll by fetching a placeholder event with
+     * {@code connections} concurrent calls per provider, hedge providers included, without retries. Any
+     * response counts, whatever its status; successful ones also run the decoding path.
+     *
+     * @param eventId     the placeholder event to fetch
+     * @param connections the number of concurrent calls, and so of pooled connections
+     * @return a future completed with the number of calls that got a response
+     */
+    public CompletableFuture<Integer> warmUpAsync(String eventId, int connections) {
+        List<String> urls = new ArrayList<>();
+        urls.add(externalApiUrl.replace("{eventId}", eventId));
+        for (String hedgeUrl : hedgeUrls) {
+            urls.add(hedgeUrl.replace("{eventId}", eventId));
+        }
+        AtomicInteger responded = new AtomicInteger();
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[connections * urls.size()];
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = performHttpCallAsync(eventId, urls.get(i % urls.size()), 1).handle((eventScore, error) -> {
+                boolean gotResponse = error == null
+                        || toExternalApiException(error) instanceof ExternalApiUnexpectedStatusException;
+                if (gotResponse) {
+                    responded.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(calls).thenApply(ignored -> responded.get());
     }
 
     /**
      * Visible for testing only.
      */
-    EventScore performHttpCall(String url) {
-        try {
-            log.info("Calling external API: {}", url);
+    CompletableFuture<EventScore> performHttpCallAsync(String eventId, String url, int attempt) {
+        ExternalApiCallEvent event = startCallEvent(eventId, attempt);
+        logCall(eventId, url, attempt);
+        CompletableFuture<HttpResponse<PooledBody>> sent = httpClient.sendAsync(buildRequest(url), bodyHandler);
+        CompletableFuture<EventScore> call = sent.thenApply(response -> {
+                                                      event.statusCode = response.statusCode();
+                                                      try {
+                                                          return readEventScore(response, eventId, attempt);
+                                                      } catch (IOException e) {
+                                                          throw new ExternalApiCallFailedException(
+                                                                  "I/O error during external API call", e);
+                                                      }
+                                                  })
+                                                  .whenComplete((eventScore, error) -> commit(event, error))
+                                                  .exceptionally(error -> {
+                                                      throw toExternalApiException(error);
+                                                  });
+        // Cancelling the call, e.g. a hedged request that lost the race, aborts the exchange
+        call.whenComplete((eventScore, error) -> {
+            if (call.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+        return call;
+    }
 
-            HttpRequest request = HttpRequest.newBuilder()
-                                             .uri(URI.create(url))
-                                             .GET()
-                                             .build();
+    private static ExternalApiCallEvent startCallEvent(String eventId, int attempt) {
+        ExternalApiCallEvent event = new ExternalApiCallEvent();
+        event.begin();
+        event.eventId = eventId;
+        event.attempt = attempt;
+        return event;
+    }
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    private static void commit(ExternalApiCallEvent event, Throwable error) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = error == null ? JfrOutcomes.SUCCESS : JfrOutcomes.failure(error);
+            event.commit();
+        }
+    }
 
+    private static ExternalApiException toExternalApiException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ExternalApiException apiException) {
+            return apiException;
+        }
+        ExternalApiException failure = new ExternalApiCallFailedException("External API call failed", cause);
+        if (!FailureCategory.of(failure).isExpected()) {
+            log.error("Error during asynchronous external API call", cause);
+        }
+        return failure;
+    }
+
+    private void logCall(String eventId, String url, int attempt) {
+        if (logSampler.isSampled(eventId)) {
+            log.atInfo()
+               .addKeyValue("eventId", eventId)
+               .addKeyValue("url", url)
+               .addKeyValue("attempt", attempt)
+               .log("Calling external API");
+        }
+    }
+
+    private HttpRequest buildRequest(String url) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                                                 .uri(URI.create(url))
+                                                 .GET();
+        if (acceptEncoding != null && !acceptEncoding.isBlank()) {
+            builder.header("Accept-Encoding", acceptEncoding);
+        }
+        return builder.build();
+    }
+
+    private EventScore readEventScore(HttpResponse<PooledBody> response, String eventId, int attempt)
+            throws IOException {
+        try (PooledBody body = response.body()) {
             int statusCode = response.statusCode();
             if (statusCode != 200) {
-                log.warn("Unexpected response status: {}", statusCode);
+                log.atWarn()
+                   .addKeyValue("eventId", eventId)
+                   .addKeyValue("attempt", attempt)
+                   .addKeyValue("status", statusCode)
+                   .addKeyValue("bytes", body.length())
+                   .addKeyValue("body", body.preview(LOGGED_BODY_BYTES))
+                   .log("Unexpected response status from external API");
                 throw new ExternalApiUnexpectedStatusException(statusCode);
             }
 
-            log.info("Received successful response from external API: {}", response.body());
-            return objectMapper.readValue(response.body(), EventScore.class);
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ExternalApiCallFailedException("External API call was interrupted", e);
-        } catch (IOException e) {
-            log.error("I/O error during external API call", e);
-            throw new ExternalApiCallFailedException("I/O error during external API call", e);
-        } catch (Exception e) {
-            log.error("Unexpected error during external API call", e);
-            throw new ExternalApiCallFailedException("Unexpected error during external API call", e);
+            JsonDecodeEvent event = new JsonDecodeEvent();
+            event.begin();
+            String outcome = JfrOutcomes.SUCCESS;
+            try {
+                EventScore eventScore = objectMapper.readValue(body.bytes(), 0, body.length(), EventScore.class);
+                if (logSampler.isSampled(eventId)) {
+                    log.atInfo()
+                       .addKeyValue("eventId", eventId)
+                       .addKeyValue("attempt", attempt)
+                       .addKeyValue("score", eventScore.currentScore())
+                       .addKeyValue("version", eventScore.version())
+                       .addKeyValue("bytes", body.length())
+                       .log("Received score from external API");
+                }
+                return eventScore;
+            } catch (IOException e) {
+                outcome = JfrOutcomes.failure(e);
+                log.atWarn()
+                   .addKeyValue("eventId", eventId)
+                   .addKeyValue("attempt", attempt)
+                   .addKeyValue("bytes", body.length())
+                   .addKeyValue("body", body.preview(LOGGED_BODY_BYTES))
+                   .log("Undecodable response from external API");
+                throw e;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.eventId = eventId;
+                    event.attempt = attempt;
+                    event.bodySize = body.length();
+                    event.wireSize = body.wireLength();
+                    event.contentEncoding = body.contentEncoding();
+                    event.outcome = outcome;
+                    event.commit();
+                }
+            }
         }
     }
 }
@@ -0,0 +1,108 @@
+package com.sports.tracker.service;
+
+import com.sports.tracker.outbox.KafkaOutbox;
+import com.sports.tracker.outbox.OutboxRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Background task that publishes records parked in the {@link KafkaOutbox} once the broker recovers.
+ * <p>
+ * Records are sent in outbox order, in pipelined batches of up to {@code kafka.outbox.drain-batch-size}: the
+ * whole batch is handed to the producer before the drainer waits for the acknowledgements. Records are removed
+ * only once the broker has acknowledged them and every record before them, so a record that failed is sent
+ * again with the ones after it, which may then arrive twice. Failed attempts back off exponentially up to a
+ * configured maximum.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KafkaOutboxDrainer {
+
+    private final KafkaOutbox outbox;
+    private final KafkaProducerService kafkaProducerService;
+
+    @Value("${kafka.outbox.drain-interval-ms:200}")
+    private long drainIntervalMillis = 200;
+
+    @Value("${kafka.outbox.drain-backoff-max-ms:30000}")
+    private long maxBackoffMillis = 30_000;
+
+    @Value("${kafka.outbox.drain-batch-size:500}")
+    private int batchSize = 500;
+
+    private volatile Thread worker;
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofVirtual().name("kafka-outbox-drainer").start(this::drainLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        long backoffMillis = drainIntervalMillis;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (drainOnce()) {
+                    backoffMillis = drainIntervalMillis;
+                    continue;
+                }
+                Thread.sleep(outbox.isEmpty() ? drainIntervalMillis : backoffMillis);
+                if (!outbox.isEmpty()) {
+                    backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Kafka outbox drainer stopped with {} records pending", outbox.pendingRecords());
+    }
+
+    /**
+     * Publishes a batch of the oldest pending records.
+     *
+     * @return {@code true} if at least one record was published and removed from the outbox
+     */
+    boolean drainOnce() throws InterruptedException {
+        List<OutboxRecord> batch = outbox.peek(batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        List<CompletableFuture<Boolean>> sends = new ArrayList<>(batch.size());
+        for (OutboxRecord outboxRecord : batch) {
+            sends.add(kafkaProducerService.publishFromOutboxAsync(outboxRecord));
+        }
+        int acknowledged = 0;
+        try {
+            // Waits for the whole batch, so the next one is not sent while records of this one are in flight
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get();
+            while (acknowledged < sends.size() && sends.get(acknowledged).get()) {
+                acknowledged++;
+            }
+        } catch (ExecutionException e) {
+            // Not thrown: the sends complete with false instead
+            log.error("Unexpected failure draining the Kafka outbox", e);
+        }
+        outbox.remove(acknowledged);
+        if (acknowledged > 0 && outbox.isEmpty()) {
+            log.info("Kafka outbox drained");
+        }
+        return acknowledged > 0;
+    }
+}
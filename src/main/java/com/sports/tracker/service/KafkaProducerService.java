@@ -1,71 +1,498 @@
 package com.sports.tracker.service;
 
+import com.sports.tracker.config.RetryConfigFactory;
+import com.sports.tracker.exception.FailureCategory;
 import com.sports.tracker.exception.KafkaMessageSendException;
 import com.sports.tracker.exception.KafkaSendInterruptedException;
+import com.sports.tracker.jfr.JfrOutcomes;
+import com.sports.tracker.jfr.KafkaSendEvent;
+import com.sports.tracker.logging.LogSampler;
 import com.sports.tracker.model.EventScore;
+import com.sports.tracker.outbox.KafkaOutbox;
+import com.sports.tracker.outbox.OutboxRecord;
 import io.github.resilience4j.retry.Retry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.slf4j.spi.LoggingEventBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.function.Supplier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Service responsible for publishing messages to a Kafka topic
- * with retry support using Resilience4j.
+ * Service responsible for publishing messages to Kafka with retry support using Resilience4j.
+ * <p>
+ * Every score is published twice: to the change-stream topic ({@code kafka.topic}), which keeps the full
+ * history, and to the log-compacted snapshot topic ({@code kafka.snapshot-topic}), which keeps only the
+ * latest score per eventId so that a consumer starting mid-match can catch up without replaying the
+ * history. Ended events are removed from the snapshot topic with a tombstone.
+ * <p>
+ * Records that still fail after retries are spilled to the {@link KafkaOutbox} and published later by the
+ * {@link KafkaOutboxDrainer}. While the outbox holds records of a key, new records of that key are appended
+ * behind them so that per-event ordering is preserved; other keys keep going to the broker.
+ * <p>
+ * A record is handed to the producer only once the previous record of its topic and key was acknowledged,
+ * spilled or given up on, so a newer score never overtakes an older one that is waiting for its retry. Each
+ * key has at most one record in flight per topic. The snapshot topic, where the last record of a key wins,
+ * does not wait: there a retry or spill is dropped once a newer record of the same key was handed to the
+ * producer or spilled, so the snapshot never goes back to an older score.
+ * <p>
+ * Records published with a sequence number carry it in the {@value #SEQUENCE_HEADER} header as an 8-byte
+ * big-endian long, so consumers can detect reordering, e.g. of hot events spread over several partitions by
+ * the {@link com.sports.tracker.kafka.HotEventPartitioner}. The per-event version of the score travels the
+ * same way in the {@value #VERSION_HEADER} header; a consumer keeps the record with the highest version.
+ * <p>
+ * Sends are only logged for keys the {@link LogSampler} samples; failed sends are always logged, with the
+ * record value.
  */
 @Slf4j
 @Service
 public class KafkaProducerService {
 
+    /**
+     * Offset reported for records that were spilled to the outbox instead of being acknowledged.
+     */
+    public static final long OFFSET_UNKNOWN = -1L;
+
+    /**
+     * Header holding the per-event sequence number of a record.
+     */
+    public static final String SEQUENCE_HEADER = "sequence";
+
+    /**
+     * Sequence number passed for records that carry no {@value #SEQUENCE_HEADER} header.
+     */
+    public static final long NO_SEQUENCE = -1L;
+
+    /**
+     * Header holding the per-event version of the score in a record.
+     */
+    public static final String VERSION_HEADER = "version";
+
+    /**
+     * Version passed for records that carry no {@value #VERSION_HEADER} header.
+     */
+    public static final long NO_VERSION = -1L;
+
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final Retry retry;
+    private final ScheduledExecutorService retryScheduler;
     private final String topic;
+    private final String snapshotTopic;
+    private final KafkaOutbox outbox;
+    private final LogSampler logSampler;
+    private final ConcurrentHashMap<String, SnapshotKey> snapshotKeys = new ConcurrentHashMap<>();
+    private final AtomicLong snapshotTickets = new AtomicLong();
+    private final ExecutorService retryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // Future of the newest record of each topic and key that is not completed yet
+    private final ConcurrentHashMap<TopicKey, CompletableFuture<Long>> inFlight = new ConcurrentHashMap<>();
 
     @Autowired
-    public KafkaProducerService(KafkaTemplate<String, String> kafkaTemplate, Retry retry, @Value("${kafka.topic}") String topic) {
+    public KafkaProducerService(KafkaTemplate<String, String> kafkaTemplate, Retry kafkaRetry,
+                                ScheduledExecutorService retryScheduler,
+                                @Value("${kafka.topic}") String topic,
+                                @Value("${kafka.snapshot-topic}") String snapshotTopic,
+                                KafkaOutbox outbox,
+                                LogSampler logSampler) {
         this.kafkaTemplate = kafkaTemplate;
-        this.retry = retry;
+        this.retry = kafkaRetry;
+        this.retryScheduler = retryScheduler;
         this.topic = topic;
+        this.snapshotTopic = snapshotTopic;
+        this.outbox = outbox;
+        this.logSampler = logSampler;
     }
 
     /**
-     * Publishes the given {@link EventScore} to the configured Kafka topic.
-     * Automatically retries the operation using Resilience4j.
+     * Publishes the given {@link EventScore} without blocking the caller.
+     * Retries are timed by the retry scheduler and run on virtual threads, and the record is spilled to the
+     * outbox if the broker is still unavailable afterwards.
      *
      * @param eventScore the event data to be sent
+     * @return a future completed with the change-stream offset once both records were acknowledged, or with
+     * {@link #OFFSET_UNKNOWN} if the change-stream record was spilled; completed exceptionally with a
+     * {@link KafkaMessageSendException} if a record could be neither sent nor spilled
      */
-    public void sendMessage(EventScore eventScore) {
-        Supplier<SendResult<String, String>> retriableSend = Retry.decorateSupplier(retry,
-                () -> sendKafkaMessage(eventScore));
-        retriableSend.get(); // Trigger the supplier with retry
+    public CompletableFuture<Long> sendMessageAsync(EventScore eventScore) {
+        return sendMessageAsync(eventScore, NO_SEQUENCE, NO_VERSION);
     }
 
-    private SendResult<String, String> sendKafkaMessage(EventScore eventScore) {
+    /**
+     * Publishes the given {@link EventScore} without blocking the caller, tagged with a per-event sequence
+     * number and version.
+     *
+     * @param eventScore the event data to be sent
+     * @param sequence   the per-event sequence number, or {@link #NO_SEQUENCE}
+     * @param version    the per-event version of the score, or {@link #NO_VERSION}
+     * @see #sendMessageAsync(EventScore)
+     */
+    public CompletableFuture<Long> sendMessageAsync(EventScore eventScore, long sequence, long version) {
+        List<Header> headers = headers(sequence, version);
         String key = eventScore.eventId();
-        String message = eventScore.currentScore();
+        String score = eventScore.currentScore();
+        CompletableFuture<Long> change = publishAsync(topic, key, score, headers);
+        CompletableFuture<Long> snapshot = publishAsync(snapshotTopic, key, score, headers);
+        return change.thenCombine(snapshot, (offset, snapshotOffset) -> offset);
+    }
 
-        try {
-            log.info("Sending Kafka message: topic={}, key={}, message={}", topic, key, message);
-            SendResult<String, String> result = kafkaTemplate
-                    .send(new ProducerRecord<>(topic, key, message))
-                    .get();
+    /**
+     * Publishes an arbitrary record without blocking the caller, with the same retry and outbox handling as
+     * scores.
+     *
+     * @param recordTopic the topic to publish to
+     * @param key         the record key
+     * @param value       the record value
+     * @return a future completed with the offset, or {@link #OFFSET_UNKNOWN} once it was spilled
+     */
+    public CompletableFuture<Long> sendRecordAsync(String recordTopic, String key, String value) {
+        return publishAsync(recordTopic, key, value, List.of());
+    }
+
+    /**
+     * Creates the producer and fetches the partition metadata of the score topics, which the first send
+     * would otherwise wait for. Blocks for up to the producer's {@code max.block.ms}.
+     *
+     * @return the number of partitions of both topics
+     */
+    public int warmUp() {
+        return kafkaTemplate.partitionsFor(topic).size() + kafkaTemplate.partitionsFor(snapshotTopic).size();
+    }
+
+    /**
+     * Blocks until every record handed to the producer so far was sent, instead of waiting for the producer's
+     * linger time to fill a batch.
+     */
+    public void flush() {
+        kafkaTemplate.flush();
+    }
 
-            log.info("Kafka message sent: key={}, offset={}", key, result.getRecordMetadata().offset());
-            return result;
+    /**
+     * Removes the event from the snapshot topic by publishing a tombstone (a {@code null} value) for it,
+     * without blocking the caller. The change-stream topic is left untouched.
+     *
+     * @param eventId the event that ended
+     * @return a future completed with the tombstone offset, or {@link #OFFSET_UNKNOWN} once it was spilled
+     */
+    public CompletableFuture<Long> publishTombstoneAsync(String eventId) {
+        return publishAsync(snapshotTopic, eventId, null, List.of());
+    }
+
+    /**
+     * Publishes the given {@link EventScore} to the change-stream and snapshot topics, blocking until
+     * {@link #sendMessageAsync(EventScore)} completes.
+     *
+     * @param eventScore the event data to be sent
+     * @throws KafkaMessageSendException if a record could neither be sent nor spilled to the outbox
+     * @throws KafkaSendInterruptedException if the caller is interrupted while waiting
+     */
+    public void sendMessage(EventScore eventScore) {
+        try {
+            sendMessageAsync(eventScore).get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            log.error("Kafka send interrupted for eventId={}", key, e);
             throw new KafkaSendInterruptedException("Kafka send was interrupted", e);
         } catch (ExecutionException e) {
-            log.warn("Temporary failure publishing eventId={}", key, e);
-            throw new KafkaMessageSendException("Kafka send failed", e);
+            throw toSendException(e.getCause());
+        }
+    }
+
+    /**
+     * Publishes a record drained from the outbox with a single attempt, keeping its original topic,
+     * timestamp and headers, without blocking the caller.
+     *
+     * @param outboxRecord the record to publish
+     * @return a future completed with {@code true} if the broker acknowledged the record, never exceptionally
+     */
+    public CompletableFuture<Boolean> publishFromOutboxAsync(OutboxRecord outboxRecord) {
+        CompletableFuture<SendResult<String, String>> sent;
+        try {
+            sent = kafkaTemplate.send(new ProducerRecord<>(outboxRecord.topic(), null, outboxRecord.timestampMillis(),
+                    outboxRecord.key(), outboxRecord.value(), outboxRecord.headers()));
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
         }
+        return sent.handle((result, error) -> {
+            if (error != null) {
+                log.debug("Outbox record not accepted yet: topic={}, key={}", outboxRecord.topic(),
+                        outboxRecord.key(), error);
+                return false;
+            }
+            log.debug("Outbox record sent: topic={}, key={}, offset={}", outboxRecord.topic(), outboxRecord.key(),
+                    result.getRecordMetadata().offset());
+            return true;
+        });
     }
 
+    private CompletableFuture<Long> publishAsync(String recordTopic, String key, String value, List<Header> headers) {
+        ProducerRecord<String, String> producerRecord = new ProducerRecord<>(recordTopic, null, null, key, value,
+                headers);
+        if (recordTopic.equals(snapshotTopic)) {
+            return publishSnapshotAsync(producerRecord);
+        }
+        TopicKey topicKey = new TopicKey(recordTopic, key);
+        CompletableFuture<Long> published = new CompletableFuture<>();
+        CompletableFuture<Long> previous = inFlight.put(topicKey, published);
+        if (previous == null || previous.isDone()) {
+            publishInOrder(producerRecord, published);
+        } else {
+            // Not on the thread completing the previous record, which may be the producer's I/O thread
+            previous.whenCompleteAsync((offset, error) -> publishInOrder(producerRecord, published), retryExecutor);
+        }
+        published.whenComplete((offset, error) -> inFlight.remove(topicKey, published));
+        return published;
+    }
+
+    /**
+     * Sends the record with retries and spills it if they fail, or spills it right away behind the pending
+     * records of its key.
+     */
+    private void publishInOrder(ProducerRecord<String, String> producerRecord, CompletableFuture<Long> published) {
+        if (outbox.hasPending(producerRecord.key())) {
+            try {
+                spill(producerRecord, null);
+                published.complete(OFFSET_UNKNOWN);
+            } catch (KafkaMessageSendException e) {
+                published.completeExceptionally(e);
+            }
+            return;
+        }
+        CompletionStage<SendResult<String, String>> sent;
+        try {
+            sent = Retry.decorateCompletionStage(retry, retryScheduler, RetryConfigFactory.attempts(retryExecutor,
+                                attempt -> sendKafkaMessageAsync(producerRecord, attempt)))
+                        .get();
+        } catch (RuntimeException e) {
+            // Completed anyway, or the records of the key behind this one would wait for good
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((result, error) -> {
+            if (error == null) {
+                published.complete(result.getRecordMetadata().offset());
+                return;
+            }
+            try {
+                spill(producerRecord, toSendException(error));
+                published.complete(OFFSET_UNKNOWN);
+            } catch (KafkaMessageSendException e) {
+                published.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Publishes a snapshot record like {@link #publishAsync}, but drops its attempts and its spill once a newer
+     * record of the same key was sent or spilled. The future then completes with {@link #OFFSET_UNKNOWN}.
+     */
+    private CompletableFuture<Long> publishSnapshotAsync(ProducerRecord<String, String> producerRecord) {
+        String key = producerRecord.key();
+        long[] tickets = new long[1];
+        snapshotKeys.compute(key, (k, state) -> {
+            SnapshotKey snapshotKey = state != null ? state : new SnapshotKey();
+            snapshotKey.pending++;
+            // Taken within the entry, so the tickets of a key grow in the order its records arrive
+            tickets[0] = snapshotTickets.incrementAndGet();
+            return snapshotKey;
+        });
+        long ticket = tickets[0];
+        CompletableFuture<Long> published;
+        if (outbox.hasPending(key)) {
+            try {
+                spillSnapshot(producerRecord, ticket, null);
+                published = CompletableFuture.completedFuture(OFFSET_UNKNOWN);
+            } catch (KafkaMessageSendException e) {
+                published = CompletableFuture.failedFuture(e);
+            }
+        } else {
+            published = Retry.decorateCompletionStage(retry, retryScheduler, RetryConfigFactory.attempts(
+                                     retryExecutor, attempt -> sendSnapshotAsync(producerRecord, ticket, attempt)))
+                             .get()
+                             .toCompletableFuture()
+                             .handle((result, error) -> {
+                                 if (error != null) {
+                                     spillSnapshot(producerRecord, ticket, toSendException(error));
+                                     return OFFSET_UNKNOWN;
+                                 }
+                                 return result != null ? result.getRecordMetadata().offset() : OFFSET_UNKNOWN;
+                             });
+        }
+        return published.whenComplete((offset, error) ->
+                snapshotKeys.computeIfPresent(key, (k, state) -> --state.pending == 0 ? null : state));
+    }
+
+    /**
+     * @return the send of the attempt, or a future completed with {@code null} if a newer record of the key
+     * was sent or spilled
+     */
+    private CompletableFuture<SendResult<String, String>> sendSnapshotAsync(
+            ProducerRecord<String, String> producerRecord, long ticket, int attempt) {
+        List<CompletableFuture<SendResult<String, String>>> sent = new ArrayList<>(1);
+        // Sending while holding the key's entry keeps a newer record from being sent in between
+        snapshotKeys.computeIfPresent(producerRecord.key(), (k, state) -> {
+            if (state.claim(ticket)) {
+                sent.add(sendKafkaMessageAsync(producerRecord, attempt));
+            }
+            return state;
+        });
+        if (sent.isEmpty()) {
+            log.debug("Dropped snapshot record for eventId={}, a newer one was published", producerRecord.key());
+            return CompletableFuture.completedFuture(null);
+        }
+        return sent.get(0);
+    }
+
+    private void spillSnapshot(ProducerRecord<String, String> producerRecord, long ticket,
+                               KafkaMessageSendException cause) {
+        snapshotKeys.computeIfPresent(producerRecord.key(), (k, state) -> {
+            if (state.claim(ticket)) {
+                spill(producerRecord, cause);
+            } else {
+                log.debug("Dropped snapshot record for eventId={}, a newer one was published", producerRecord.key());
+            }
+            return state;
+        });
+    }
+
+    private CompletableFuture<SendResult<String, String>> sendKafkaMessageAsync(
+            ProducerRecord<String, String> producerRecord, int attempt) {
+        String key = producerRecord.key();
+        KafkaSendEvent event = startSendEvent(producerRecord, attempt);
+
+        boolean sampled = logSampler.isSampled(key);
+        if (sampled) {
+            logSending(producerRecord, attempt);
+        }
+        return kafkaTemplate.send(producerRecord)
+                            .handle((result, error) -> {
+                                commit(event, result, error);
+                                if (error != null) {
+                                    logSendFailure(producerRecord, attempt, error);
+                                    throw toSendException(error);
+                                }
+                                if (sampled) {
+                                    logSent(result);
+                                }
+                                return result;
+                            });
+    }
+
+    private static KafkaMessageSendException toSendException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof KafkaMessageSendException sendException) {
+            return sendException;
+        }
+        return new KafkaMessageSendException("Kafka send failed", cause);
+    }
+
+    private static List<Header> headers(long sequence, long version) {
+        List<Header> headers = new ArrayList<>(2);
+        if (sequence != NO_SEQUENCE) {
+            headers.add(longHeader(SEQUENCE_HEADER, sequence));
+        }
+        if (version != NO_VERSION) {
+            headers.add(longHeader(VERSION_HEADER, version));
+        }
+        return headers;
+    }
+
+    private static Header longHeader(String name, long value) {
+        return new RecordHeader(name, ByteBuffer.allocate(Long.BYTES).putLong(value).array());
+    }
+
+    private void spill(ProducerRecord<String, String> producerRecord, KafkaMessageSendException cause) {
+        String key = producerRecord.key();
+        OutboxRecord outboxRecord = new OutboxRecord(producerRecord.topic(), key, producerRecord.value(),
+                System.currentTimeMillis(), List.of(producerRecord.headers().toArray()));
+        if (!outbox.append(outboxRecord)) {
+            throw new KafkaMessageSendException("Kafka send failed and outbox is full", cause);
+        }
+        log.warn("Kafka unavailable, spilled eventId={} for {} to outbox ({} pending)", key, producerRecord.topic(),
+                outbox.pendingRecords());
+    }
+
+    private static void logSending(ProducerRecord<String, String> producerRecord, int attempt) {
+        log.atInfo()
+           .addKeyValue("topic", producerRecord.topic())
+           .addKeyValue("key", producerRecord.key())
+           .addKeyValue("attempt", attempt)
+           .log("Sending Kafka message");
+    }
+
+    private static void logSent(SendResult<String, String> result) {
+        log.atInfo()
+           .addKeyValue("topic", result.getProducerRecord().topic())
+           .addKeyValue("key", result.getProducerRecord().key())
+           .addKeyValue("offset", result.getRecordMetadata().offset())
+           .log("Kafka message sent");
+    }
+
+    private static void logSendFailure(ProducerRecord<String, String> producerRecord, int attempt, Throwable error) {
+        LoggingEventBuilder warning = log.atWarn()
+                                         .addKeyValue("topic", producerRecord.topic())
+                                         .addKeyValue("key", producerRecord.key())
+                                         .addKeyValue("attempt", attempt)
+                                         .addKeyValue("message", producerRecord.value());
+        // Broker outages fail every send; only unexpected failures are worth a stack trace
+        if (FailureCategory.of(toSendException(error)).isExpected()) {
+            warning.addKeyValue("error", FailureCategory.summarize(error));
+        } else {
+            warning.setCause(error);
+        }
+        warning.log("Temporary failure publishing Kafka message");
+    }
+
+    private static KafkaSendEvent startSendEvent(ProducerRecord<String, String> producerRecord, int attempt) {
+        KafkaSendEvent event = new KafkaSendEvent();
+        event.begin();
+        event.topic = producerRecord.topic();
+        event.eventId = producerRecord.key();
+        event.attempt = attempt;
+        return event;
+    }
+
+    private static void commit(KafkaSendEvent event, SendResult<String, String> result, Throwable error) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.offset = result != null ? result.getRecordMetadata().offset() : OFFSET_UNKNOWN;
+            event.outcome = error == null ? JfrOutcomes.SUCCESS : JfrOutcomes.failure(error);
+            event.commit();
+        }
+    }
+
+    private record TopicKey(String topic, String key) {
+    }
+
+    /**
+     * Publishing state of a snapshot key; only accessed within {@link ConcurrentHashMap#compute} of its entry.
+     */
+    private static final class SnapshotKey {
+        private long newestClaimed;
+        private int pending;
+
+        /**
+         * @return {@code false} if a newer record of the key was sent or spilled
+         */
+        boolean claim(long ticket) {
+            if (ticket < newestClaimed) {
+                return false;
+            }
+            newestClaimed = ticket;
+            return true;
+        }
+    }
 }
@@ -0,0 +1,348 @@
+package com.sports.tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.exception.KafkaMessageSendException;
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.ScoreTick;
+import com.sports.tracker.scheduler.SchedulerClock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands fetched scores over from the polling stage to a publisher thread, which publishes them together at
+ * the end of each tick.
+ * <p>
+ * The hand-off conflates per event: a score that is still waiting when a newer score of the same event
+ * arrives is replaced by it, and its future completes with {@code null} like any discarded score. So the
+ * queue holds at most one score per live event, never publishes a superseded score, and polling never
+ * waits for Kafka. While {@code kafka.batch.max-in-flight} batches are unacknowledged the publisher skips
+ * ticks, so a slow broker makes scores conflate instead of piling up in the producer. Beyond
+ * {@code kafka.batch.max-pending} waiting events new scores are rejected.
+ * <p>
+ * Ticks are aligned to multiples of {@code kafka.batch.tick-ms} on the {@link SchedulerClock}, so every instance of the
+ * service publishes at the same instants. The {@link Mode} decides what a tick produces:
+ * <ul>
+ *     <li>{@link Mode#PER_EVENT} - the usual per-event change-stream and snapshot records, handed to the
+ *     producer back to back and flushed once, so they share producer batches and requests. The flush runs on
+ *     its own thread, since it blocks until the broker acknowledged every record; a flush requested while one
+ *     is running is coalesced into a single follow-up flush</li>
+ *     <li>{@link Mode#AGGREGATED} - a single {@link ScoreTick} record with every score of the tick on
+ *     {@code kafka.batch.aggregate-topic}, for consumers that want a snapshot per tick. Nothing goes to the
+ *     snapshot topic in this mode, so ended events get no tombstones either, see {@link #publishesSnapshots()}</li>
+ *     <li>{@link Mode#NONE} - no batching; each score is published as soon as it is fetched</li>
+ * </ul>
+ * Metrics:
+ * <ul>
+ *     <li>{@code kafka.batch.size} - scores per published batch</li>
+ *     <li>{@code kafka.batch.flush.latency} - from the start of a flush until the broker acknowledged the batch</li>
+ *     <li>{@code kafka.batch.pending} - scores waiting for the next tick, at most one per event</li>
+ *     <li>{@code kafka.batch.in-flight} - published batches not yet acknowledged</li>
+ *     <li>{@code kafka.batch.conflated} - scores replaced by a newer score of their event before publishing</li>
+ *     <li>{@code kafka.batch.rejected} - scores rejected because the hand-off was full</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ScoreBatcher {
+
+    /**
+     * Key of the aggregated records, so that all ticks land on one partition in order.
+     */
+    public static final String AGGREGATE_KEY = "tick";
+
+    public enum Mode {
+        NONE,
+        PER_EVENT,
+        AGGREGATED;
+
+        /**
+         * Parses a mode leniently, e.g. {@code per-event} or {@code PER_EVENT}.
+         */
+        public static Mode parse(String value) {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final KafkaProducerService kafkaProducerService;
+    private final ObjectMapper objectMapper;
+    private final SchedulerClock clock;
+    private final Mode mode;
+    private final long tickMillis;
+    private final int maxBatchSize;
+    private final String aggregateTopic;
+    private final int maxPending;
+    private final int maxInFlight;
+
+    /**
+     * Waiting scores by eventId, in the order their events first got a waiting score. Guarded by itself.
+     */
+    private final Map<String, PendingScore> pending = new LinkedHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Counter conflated;
+    private final Counter rejected;
+
+    private ScheduledExecutorService ticker;
+    private final ExecutorService flusher;
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    public ScoreBatcher(KafkaProducerService kafkaProducerService,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        SchedulerClock clock,
+                        @Value("${kafka.batch.mode:per-event}") String mode,
+                        @Value("${kafka.batch.tick-ms:50}") long tickMillis,
+                        @Value("${kafka.batch.max-batch-size:2000}") int maxBatchSize,
+                        @Value("${kafka.batch.aggregate-topic:live-sports-ticks}") String aggregateTopic,
+                        @Value("${kafka.batch.max-pending:100000}") int maxPending,
+                        @Value("${kafka.batch.max-in-flight:4}") int maxInFlight) {
+        if (tickMillis <= 0 || maxBatchSize <= 0 || maxPending <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException(
+                    "kafka.batch.tick-ms, max-batch-size, max-pending and max-in-flight must be positive");
+        }
+        this.kafkaProducerService = kafkaProducerService;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.mode = Mode.parse(mode);
+        this.tickMillis = tickMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.aggregateTopic = aggregateTopic;
+        this.maxPending = maxPending;
+        this.maxInFlight = maxInFlight;
+        this.batchSize = DistributionSummary.builder("kafka.batch.size")
+                                            .tag("mode", this.mode.name().toLowerCase(Locale.ROOT))
+                                            .register(meterRegistry);
+        this.flushLatency = Timer.builder("kafka.batch.flush.latency")
+                                 .tag("mode", this.mode.name().toLowerCase(Locale.ROOT))
+                                 .register(meterRegistry);
+        this.conflated = Counter.builder("kafka.batch.conflated").register(meterRegistry);
+        this.rejected = Counter.builder("kafka.batch.rejected").register(meterRegistry);
+        // The thread is only started with the first flush
+        this.flusher = this.mode == Mode.PER_EVENT
+                ? Executors.newSingleThreadExecutor(Thread.ofPlatform().name("score-batcher-flush").daemon().factory())
+                : null;
+        Gauge.builder("kafka.batch.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("kafka.batch.in-flight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (mode == Mode.NONE) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("score-batcher").daemon().factory());
+        long untilNextTick = tickMillis - clock.currentTimeMillis() % tickMillis;
+        ticker.scheduleAtFixedRate(this::flushSafely, untilNextTick, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Publishing scores in {} batches every {} ms", mode, tickMillis);
+    }
+
+    /**
+     * Stops ticking and publishes whatever is still pending.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (ticker != null) {
+            ticker.shutdown();
+            ticker.awaitTermination(tickMillis * 2, TimeUnit.MILLISECONDS);
+            flushSafely();
+        }
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+    }
+
+    /**
+     * @return {@code false} in {@link Mode#AGGREGATED}, where scores only go to the aggregate topic and the
+     * snapshot topic is unused
+     */
+    public boolean publishesSnapshots() {
+        return mode != Mode.AGGREGATED;
+    }
+
+    /**
+     * Queues a score for the next tick, replacing an older waiting score of the same event, or publishes it
+     * right away in {@link Mode#NONE}.
+     *
+     * @param eventScore the score to publish
+     * @param sequence   the per-event sequence number of the score
+     * @param version    the per-event version of the score
+     * @return a future completed like {@link KafkaProducerService#sendMessageAsync(EventScore, long, long)} once
+     * the batch holding the score was published; in {@link Mode#AGGREGATED} with the offset of the tick record.
+     * Completed with {@code null} if a newer score replaced it, and exceptionally if the hand-off was full.
+     */
+    public CompletableFuture<Long> submit(EventScore eventScore, long sequence, long version) {
+        if (mode == Mode.NONE) {
+            return kafkaProducerService.sendMessageAsync(eventScore, sequence, version);
+        }
+        PendingScore pendingScore = new PendingScore(eventScore, sequence, version, new CompletableFuture<>());
+        PendingScore superseded;
+        synchronized (pending) {
+            PendingScore waiting = pending.get(eventScore.eventId());
+            if (waiting != null && waiting.version() >= version) {
+                superseded = pendingScore;
+            } else if (waiting == null && pending.size() >= maxPending) {
+                rejected.increment();
+                return CompletableFuture.failedFuture(new KafkaMessageSendException(
+                        "Score hand-off is full (" + maxPending + " events waiting)", null));
+            } else {
+                // Replacing keeps the event's position, so a busy event cannot starve behind quieter ones
+                superseded = pending.put(eventScore.eventId(), pendingScore);
+                if (superseded == null) {
+                    pendingCount.incrementAndGet();
+                }
+            }
+        }
+        if (superseded != null) {
+            conflated.increment();
+            superseded.result().complete(null);
+        }
+        return pendingScore.result();
+    }
+
+    /**
+     * Publishes the scores waiting at the start of the tick, in batches of at most
+     * {@code kafka.batch.max-batch-size}, unless {@code kafka.batch.max-in-flight} batches are still
+     * unacknowledged. Runs on the ticker thread, or on the caller in tests.
+     */
+    void flush() {
+        long tickStartMillis = clock.currentTimeMillis();
+        int remaining = pendingCount.get();
+        while (remaining > 0 && inFlight.get() < maxInFlight) {
+            List<PendingScore> batch = drain(Math.min(remaining, maxBatchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            remaining -= batch.size();
+            long startedAt = System.nanoTime();
+            batchSize.record(batch.size());
+            inFlight.incrementAndGet();
+            CompletableFuture<Void> published = mode == Mode.AGGREGATED
+                    ? publishAggregated(tickStartMillis, batch)
+                    : publishPerEvent(batch);
+            published.whenComplete((ignored, error) -> {
+                inFlight.decrementAndGet();
+                flushLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            });
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush score batch", e);
+        }
+    }
+
+    private List<PendingScore> drain(int limit) {
+        List<PendingScore> batch = new ArrayList<>(limit);
+        synchronized (pending) {
+            Iterator<PendingScore> waiting = pending.values().iterator();
+            while (batch.size() < limit && waiting.hasNext()) {
+                batch.add(waiting.next());
+                waiting.remove();
+            }
+            pendingCount.addAndGet(-batch.size());
+        }
+        return batch;
+    }
+
+    private CompletableFuture<Void> publishPerEvent(List<PendingScore> batch) {
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            PendingScore pendingScore = batch.get(i);
+            CompletableFuture<Long> send;
+            try {
+                send = kafkaProducerService.sendMessageAsync(pendingScore.eventScore(), pendingScore.sequence(),
+                        pendingScore.version());
+            } catch (RuntimeException e) {
+                send = CompletableFuture.failedFuture(e);
+            }
+            sends[i] = send.whenComplete((offset, error) -> complete(pendingScore, offset, error));
+        }
+        flushProducer();
+        return CompletableFuture.allOf(sends).exceptionally(error -> null);
+    }
+
+    /**
+     * Sends the tick's records now instead of waiting for linger.ms to fill a producer batch, without blocking
+     * the ticker while the broker acknowledges them.
+     */
+    private void flushProducer() {
+        if (!flushQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            flusher.execute(() -> {
+                // Cleared first, so records handed over during this flush queue the next one
+                flushQueued.set(false);
+                try {
+                    kafkaProducerService.flush();
+                } catch (RuntimeException e) {
+                    log.error("Failed to flush Kafka producer", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Stopping: the producer flushes what it holds when it is closed
+            flushQueued.set(false);
+        }
+    }
+
+    private CompletableFuture<Void> publishAggregated(long tickStartMillis, List<PendingScore> batch) {
+        List<ScoreTick.Entry> entries = new ArrayList<>(batch.size());
+        for (PendingScore pendingScore : batch) {
+            entries.add(new ScoreTick.Entry(pendingScore.eventScore().eventId(),
+                    pendingScore.eventScore().currentScore(), pendingScore.version(), pendingScore.sequence()));
+        }
+        CompletableFuture<Long> send;
+        try {
+            String value = objectMapper.writeValueAsString(new ScoreTick(tickStartMillis, entries));
+            send = kafkaProducerService.sendRecordAsync(aggregateTopic, AGGREGATE_KEY, value);
+        } catch (JsonProcessingException e) {
+            send = CompletableFuture.failedFuture(new KafkaMessageSendException("Failed to serialize score tick", e));
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send.handle((offset, error) -> {
+            batch.forEach(pendingScore -> complete(pendingScore, offset, error));
+            return null;
+        });
+    }
+
+    private static void complete(PendingScore pendingScore, Long offset, Throwable error) {
+        if (error != null) {
+            pendingScore.result().completeExceptionally(error);
+        } else {
+            pendingScore.result().complete(offset);
+        }
+    }
+
+    private record PendingScore(EventScore eventScore, long sequence, long version, CompletableFuture<Long> result) {
+    }
+}
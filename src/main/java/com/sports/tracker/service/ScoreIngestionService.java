@@ -0,0 +1,146 @@
+package com.sports.tracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.PushSummary;
+import com.sports.tracker.scheduler.EventScheduler;
+import com.sports.tracker.scheduler.EventScheduler.PushOutcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feeds scores pushed by providers into the {@link EventScheduler}, as single scores, batches or a stream of
+ * newline-delimited JSON (NDJSON) scores per provider connection. Metrics:
+ * <ul>
+ *     <li>{@code scores.pushed} - tagged with {@code result=accepted|stale|not_live|invalid}</li>
+ *     <li>{@code scores.push.streams} - open NDJSON streams</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ScoreIngestionService {
+
+    private final EventScheduler eventScheduler;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final Counter[] outcomes = new Counter[PushOutcome.values().length];
+    private final Counter invalid;
+
+    public ScoreIngestionService(EventScheduler eventScheduler, ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.eventScheduler = eventScheduler;
+        this.objectMapper = objectMapper;
+        for (PushOutcome outcome : PushOutcome.values()) {
+            outcomes[outcome.ordinal()] = pushed(meterRegistry, outcome.name().toLowerCase());
+        }
+        this.invalid = pushed(meterRegistry, "invalid");
+        Gauge.builder("scores.push.streams", openStreams, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Publishes pushed scores. Every score is validated before any is published.
+     *
+     * @param eventScores the pushed scores, in the order the provider produced them
+     * @throws IllegalArgumentException if a score has no eventId or currentScore
+     */
+    public PushSummary push(List<EventScore> eventScores) {
+        for (EventScore eventScore : eventScores) {
+            if (!isValid(eventScore)) {
+                invalid.increment();
+                throw new IllegalArgumentException("Pushed scores need an eventId and a currentScore");
+            }
+        }
+        Tally tally = new Tally();
+        eventScores.forEach(eventScore -> tally.add(accept(eventScore)));
+        return tally.summary();
+    }
+
+    /**
+     * Publishes the scores of an NDJSON stream, one score per line, until the provider closes it or the
+     * connection times out. Blank lines are skipped, and lines that are not a valid score are counted as
+     * invalid without ending the stream.
+     *
+     * @param provider the name of the pushing provider, for logging
+     * @param ndjson   the stream
+     * @return what became of the scores of the whole stream
+     */
+    public PushSummary stream(String provider, InputStream ndjson) {
+        openStreams.incrementAndGet();
+        log.info("Push stream from provider {} opened", provider);
+        Tally tally = new Tally();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    EventScore eventScore = parse(line);
+                    if (isValid(eventScore)) {
+                        tally.add(accept(eventScore));
+                    } else {
+                        invalid.increment();
+                        tally.invalid++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Polling resumes for the stream's events once their quiet period is over
+            log.warn("Push stream from provider {} broke off: {}", provider, e.toString());
+        } finally {
+            openStreams.decrementAndGet();
+        }
+        PushSummary summary = tally.summary();
+        log.info("Push stream from provider {} closed: {}", provider, summary);
+        return summary;
+    }
+
+    private PushOutcome accept(EventScore eventScore) {
+        PushOutcome outcome = eventScheduler.acceptPushedScore(eventScore);
+        outcomes[outcome.ordinal()].increment();
+        return outcome;
+    }
+
+    private EventScore parse(String line) {
+        try {
+            return objectMapper.readValue(line, EventScore.class);
+        } catch (JsonProcessingException e) {
+            log.debug("Skipping malformed push line: {}", e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static boolean isValid(EventScore eventScore) {
+        return eventScore != null && eventScore.eventId() != null && !eventScore.eventId().isBlank()
+                && eventScore.currentScore() != null;
+    }
+
+    private static Counter pushed(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("scores.pushed")
+                      .tag("result", result)
+                      .register(meterRegistry);
+    }
+
+    private static final class Tally {
+        private final int[] outcomes = new int[PushOutcome.values().length];
+        private int invalid;
+
+        void add(PushOutcome outcome) {
+            outcomes[outcome.ordinal()]++;
+        }
+
+        PushSummary summary() {
+            return new PushSummary(outcomes[PushOutcome.ACCEPTED.ordinal()], outcomes[PushOutcome.STALE.ordinal()],
+                    outcomes[PushOutcome.NOT_LIVE.ordinal()], invalid);
+        }
+    }
+}
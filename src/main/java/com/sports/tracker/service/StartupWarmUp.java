@@ -0,0 +1,165 @@
+package com.sports.tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.ScoreTick;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Warms up the polling path before the service reports ready, so the first polls after a deploy do not pay
+ * for connection setup, producer metadata and cold code.
+ * <p>
+ * Runs as an {@link ApplicationRunner}: Spring Boot switches the readiness state to
+ * {@code ACCEPTING_TRAFFIC} only after all runners returned, so {@code /actuator/health/readiness} stays
+ * {@code OUT_OF_SERVICE} while warming up. The steps run concurrently:
+ * <ul>
+ *     <li>{@code provider} - opens {@code warmup.provider-connections} pooled connections to the provider</li>
+ *     <li>{@code kafka} - creates the producer and fetches the partition metadata of the score topics</li>
+ *     <li>{@code codec} - decodes provider responses and encodes score ticks {@code warmup.codec-iterations}
+ *     times, so they are compiled before the first poll</li>
+ * </ul>
+ * A failing step is logged and does not fail startup; after {@code warmup.timeout-ms} the service reports
+ * ready regardless. Durations are exported as {@code startup.warmup{step}}, the whole warm-up as
+ * {@code step=total}.
+ */
+@Slf4j
+@Component
+public class StartupWarmUp implements ApplicationRunner {
+
+    private static final byte[] SAMPLE_RESPONSE =
+            "{\"eventId\":\"warm-up\",\"currentScore\":\"2:1\",\"version\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpClientService httpClientService;
+    private final KafkaProducerService kafkaProducerService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final int providerConnections;
+    private final String providerEventId;
+    private final int codecIterations;
+
+    public StartupWarmUp(HttpClientService httpClientService,
+                         KafkaProducerService kafkaProducerService,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.timeout-ms:30000}") long timeoutMillis,
+                         @Value("${warmup.provider-connections:4}") int providerConnections,
+                         @Value("${warmup.provider-event-id:warm-up}") String providerEventId,
+                         @Value("${warmup.codec-iterations:10000}") int codecIterations) {
+        this.httpClientService = httpClientService;
+        this.kafkaProducerService = kafkaProducerService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeoutMillis = timeoutMillis;
+        this.providerConnections = providerConnections;
+        this.providerEventId = providerEventId;
+        this.codecIterations = codecIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        warmUp();
+    }
+
+    /**
+     * Runs all steps and waits for them, or until the timeout elapsed.
+     *
+     * @return {@code true} if every step finished in time
+     */
+    boolean warmUp() {
+        long startedAt = System.nanoTime();
+        log.info("Warming up before reporting ready (timeout {} ms)", timeoutMillis);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletableFuture.allOf(
+                    step("provider", () -> httpClientService.warmUpAsync(providerEventId, providerConnections)),
+                    step("kafka", () -> CompletableFuture.supplyAsync(kafkaProducerService::warmUp, executor)),
+                    step("codec", () -> CompletableFuture.supplyAsync(this::exerciseCodec, executor)))
+                             .get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("Warm-up did not finish within {} ms; reporting ready anyway", timeoutMillis);
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            // Do not wait for a step that timed out, e.g. a producer still looking for its broker
+            executor.shutdownNow();
+            long elapsed = System.nanoTime() - startedAt;
+            record("total", elapsed);
+            log.info("Warm-up finished after {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    /**
+     * Decodes a provider response and encodes a score tick as often as configured.
+     *
+     * @return the number of iterations
+     */
+    int exerciseCodec() {
+        try {
+            for (int i = 0; i < codecIterations; i++) {
+                EventScore eventScore = objectMapper.readValue(SAMPLE_RESPONSE, 0, SAMPLE_RESPONSE.length,
+                        EventScore.class);
+                objectMapper.writeValueAsString(new ScoreTick(i, List.of(new ScoreTick.Entry(eventScore.eventId(),
+                        eventScore.currentScore(), eventScore.version(), i))));
+            }
+            return codecIterations;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> step(String name, Supplier<CompletableFuture<T>> step) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<T> started;
+        try {
+            started = step.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        return started.whenComplete((result, error) -> {
+            record(name, System.nanoTime() - startedAt);
+            if (error != null) {
+                log.warn("Warm-up step {} failed", name, error);
+            } else {
+                log.info("Warm-up step {} done after {} ms: {}", name,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), result);
+            }
+        });
+    }
+
+    private void record(String step, long nanos) {
+        Timer.builder("startup.warmup")
+             .tag("step", step)
+             .register(meterRegistry)
+             .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
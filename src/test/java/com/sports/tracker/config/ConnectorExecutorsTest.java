@@ -0,0 +1,103 @@
+package com.sports.tracker.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class ConnectorExecutorsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("custom.connectors.ingest.executor", "virtual")
+            .withProperty("custom.connectors.ingest.max-connections", "1000")
+            .withProperty("custom.connectors.mock.max-threads", "8")
+            .withProperty("custom.connectors.mock.min-spare-threads", "2")
+            .withProperty("custom.connectors.mock.accept-count", "7")
+            .withProperty("custom.connectors.mock.keep-alive-timeout-ms", "1500")
+            .withProperty("custom.connectors.mock.compression", "on")
+            .withProperty("custom.connectors.mock.compression-min-size", "0");
+    private final ConnectorExecutors connectorExecutors = new ConnectorExecutors(environment, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        connectorExecutors.shutdown();
+    }
+
+    @Test
+    void settings_shouldDefaultEverythingNotConfigured() {
+        ConnectorSettings settings = connectorExecutors.settings("unknown");
+
+        assertThat(settings).isEqualTo(
+                new ConnectorSettings(ConnectorSettings.ExecutorType.PLATFORM, 200, 10, 8192, 100, 20000, 100, null, 2048));
+    }
+
+    @Test
+    void configure_shouldInstallBoundedPoolAndConnectionLimits() {
+        Connector connector = connector(8081);
+
+        connectorExecutors.configure("mock", connector);
+
+        AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+        assertThat(protocol.getExecutor()).isInstanceOf(ThreadPoolExecutor.class);
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) protocol.getExecutor();
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(8);
+        assertThat(pool.getCorePoolSize()).isEqualTo(2);
+        assertThat(protocol.getAcceptCount()).isEqualTo(7);
+        assertThat(protocol.getKeepAliveTimeout()).isEqualTo(1500);
+        assertThat(protocol.getCompression()).isEqualTo("on");
+        assertThat(protocol.getCompressionMinSize()).isZero();
+        assertThat(meterRegistry.get("tomcat.connector.threads.max")
+                                .tag("connector", "mock").tag("port", "8081").gauge().value()).isEqualTo(8.0);
+    }
+
+    @Test
+    void configure_shouldRunRequestsOnVirtualThreadsAndCountThem() {
+        Connector connector = connector(8080);
+        connectorExecutors.configure("ingest", connector);
+        AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+        CountDownLatch release = new CountDownLatch(1);
+        boolean[] virtual = new boolean[1];
+
+        protocol.getExecutor().execute(() -> {
+            virtual[0] = Thread.currentThread().isVirtual();
+            awaitQuietly(release);
+        });
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(
+                meterRegistry.get("tomcat.connector.threads.busy").tag("connector", "ingest").gauge().value())
+                .isEqualTo(1.0));
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(
+                meterRegistry.get("tomcat.connector.threads.busy").tag("connector", "ingest").gauge().value())
+                .isZero());
+        assertThat(virtual[0]).isTrue();
+        assertThat(protocol.getMaxConnections()).isEqualTo(1000);
+        assertThat(protocol.getCompression()).isEqualTo("off");
+        assertThat(meterRegistry.find("tomcat.connector.threads.max").tag("connector", "ingest").gauge()).isNull();
+    }
+
+    private static Connector connector(int port) {
+        Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+        connector.setPort(port);
+        return connector;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
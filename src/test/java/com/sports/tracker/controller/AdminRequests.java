@@ -0,0 +1,24 @@
+package com.sports.tracker.controller;
+
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+/**
+ * Sends MockMvc requests to the admin connector, the only one serving the admin endpoints.
+ */
+final class AdminRequests {
+
+    /**
+     * {@code custom.admin-port} of the test configuration.
+     */
+    static final int ADMIN_PORT = 8082;
+
+    private AdminRequests() {
+    }
+
+    static RequestPostProcessor onAdminPort() {
+        return request -> {
+            request.setLocalPort(ADMIN_PORT);
+            return request;
+        };
+    }
+}
@@ -1,7 +1,12 @@
 package com.sports.tracker.controller;
 
+import com.sports.tracker.exception.AdmissionRejectedException;
 import com.sports.tracker.model.EventStatus;
+import com.sports.tracker.model.ScoreHistory;
+import com.sports.tracker.model.enums.PollingTier;
 import com.sports.tracker.model.enums.Status;
+import com.sports.tracker.scheduler.SchedulerClock;
+import com.sports.tracker.scheduler.ScoreTimeline;
 import com.sports.tracker.service.EventService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -11,10 +16,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(EventController.class)
@@ -26,6 +38,31 @@ class EventControllerTest {
     @MockBean
     private EventService eventService;
 
+    @MockBean
+    private ScoreTimeline scoreTimeline;
+
+    @MockBean
+    private SchedulerClock clock;
+
+    @Test
+    void shouldReturnScoreHistoryAsColumns() throws Exception {
+        when(clock.currentTimeMillis()).thenReturn(3_000L);
+        when(scoreTimeline.history(eq("event-1"), eq(1_000L), eq(3_000L)))
+                .thenReturn(new ScoreHistory("event-1", new long[]{1_500L, 2_500L}, new int[]{0, 1}, new int[]{0, 0}));
+
+        mockMvc.perform(get("/events/event-1/history").param("since", "1000"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.eventId").value("event-1"))
+               .andExpect(jsonPath("$.timestamps[1]").value(2_500))
+               .andExpect(jsonPath("$.home[1]").value(1));
+    }
+
+    @Test
+    void shouldAnswer404ForHistoryOfEventThatIsNotLive() throws Exception {
+        mockMvc.perform(get("/events/missing/history"))
+               .andExpect(status().isNotFound());
+    }
+
     @Test
     void testUpdateEventStatus() throws Exception {
         // Mock the service method to do nothing
@@ -69,4 +106,63 @@ class EventControllerTest {
                .andExpect(status().isInternalServerError())
                .andExpect(content().string("Unexpected failure"));
     }
+
+    @Test
+    void shouldAnswer429WithRetryAfter_whenAtCapacity() throws Exception {
+        doThrow(new AdmissionRejectedException("At capacity", 1, 30))
+                .when(eventService).updateEventStatus(any(EventStatus.class));
+
+        mockMvc.perform(post("/events/status")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"eventId\": \"event-1\", \"status\": \"LIVE\", \"tier\": \"MINOR\"}"))
+               .andExpect(status().isTooManyRequests())
+               .andExpect(header().string("Retry-After", "30"))
+               .andExpect(content().string("At capacity"));
+    }
+
+    @Test
+    void shouldPassTierAndRejectInvalidInterval() throws Exception {
+        // given
+        String jsonPayload = """
+                {
+                  "eventId": "event-123",
+                  "status": "LIVE",
+                  "tier": "PREMIUM",
+                  "pollIntervalMs": 1
+                }
+                """;
+        EventStatus status = new EventStatus("event-123", Status.LIVE, PollingTier.PREMIUM, 1L);
+
+        // when
+        doThrow(new IllegalArgumentException("pollIntervalMs must be between 250 and 2147483647"))
+                .when(eventService).updateEventStatus(status);
+
+        // then
+        mockMvc.perform(post("/events/status")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(jsonPayload))
+               .andExpect(status().isBadRequest())
+               .andExpect(content().string("pollIntervalMs must be between 250 and 2147483647"));
+    }
+
+    @Test
+    void shouldUpdateStatusesInBatch() throws Exception {
+        // given
+        String jsonPayload = """
+                [
+                  { "eventId": "event-1", "status": "LIVE", "tier": "PREMIUM" },
+                  { "eventId": "event-2", "status": "NOT_LIVE" }
+                ]
+                """;
+
+        // when / then
+        mockMvc.perform(post("/events/status/batch")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(jsonPayload))
+               .andExpect(status().isOk())
+               .andExpect(content().string("Event statuses updated successfully."));
+        Mockito.verify(eventService).updateEventStatuses(List.of(
+                new EventStatus("event-1", Status.LIVE, PollingTier.PREMIUM, null),
+                new EventStatus("event-2", Status.NOT_LIVE)));
+    }
 }
@@ -0,0 +1,61 @@
+package com.sports.tracker.controller;
+
+import com.sports.tracker.kafka.HotEventKeys;
+import com.sports.tracker.kafka.PartitionSkewMonitor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.sports.tracker.controller.AdminRequests.onAdminPort;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PartitionerAdminController.class)
+class PartitionerAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HotEventKeys hotEventKeys;
+
+    @MockBean
+    private PartitionSkewMonitor partitionSkewMonitor;
+
+    @Test
+    void getState_shouldReturnHotEventsAndSkew() throws Exception {
+        when(hotEventKeys.hotEvents()).thenReturn(Set.of("final"));
+        when(partitionSkewMonitor.skewPerTopic()).thenReturn(Map.of("live-sports-events", 1.25));
+        when(partitionSkewMonitor.recordsPerPartition("live-sports-events")).thenReturn(Map.of(0, 5L, 1, 3L));
+
+        mockMvc.perform(get("/admin/partitioner").with(onAdminPort()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.hotEvents[0]").value("final"))
+               .andExpect(jsonPath("$.skew.live-sports-events").value(1.25))
+               .andExpect(jsonPath("$.recordsPerPartition.live-sports-events.0").value(5));
+    }
+
+    @Test
+    void markAndUnmarkHot_shouldUpdateHotEvents() throws Exception {
+        when(hotEventKeys.unmarkHot("final")).thenReturn(true);
+
+        mockMvc.perform(put("/admin/partitioner/hot-events/final").with(onAdminPort()))
+               .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/admin/partitioner/hot-events/final").with(onAdminPort()))
+               .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/admin/partitioner/hot-events/other").with(onAdminPort()))
+               .andExpect(status().isNotFound());
+
+        verify(hotEventKeys).markHot("final");
+    }
+}
@@ -0,0 +1,92 @@
+package com.sports.tracker.controller;
+
+import com.sports.tracker.model.ScheduledEventPage;
+import com.sports.tracker.model.ScheduledEventState;
+import com.sports.tracker.model.SchedulerCapacity;
+import com.sports.tracker.model.enums.PollingTier;
+import com.sports.tracker.scheduler.AdmissionControl;
+import com.sports.tracker.scheduler.SchedulerInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.sports.tracker.controller.AdminRequests.onAdminPort;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SchedulerAdminController.class)
+class SchedulerAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SchedulerInspector schedulerInspector;
+
+    @MockBean
+    private AdmissionControl admissionControl;
+
+    @Test
+    void capacity_shouldReturnUtilizationAndThresholds() throws Exception {
+        when(admissionControl.capacity()).thenReturn(new SchedulerCapacity(800, 1000, 120.5, 10_000, 0.8,
+                Map.of(PollingTier.PREMIUM, 1.0, PollingTier.MINOR, 0.8)));
+
+        mockMvc.perform(get("/admin/scheduler/capacity").with(onAdminPort()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.liveEvents").value(800))
+               .andExpect(jsonPath("$.utilization").value(0.8))
+               .andExpect(jsonPath("$.admissionThresholds.MINOR").value(0.8));
+    }
+
+    @Test
+    void listEvents_shouldReturnFilteredPage() throws Exception {
+        ScheduledEventState state = new ScheduledEventState("event-1", "2:1", null, 42, 7, null, true, 3, 10_000,
+                PollingTier.PREMIUM);
+        when(schedulerInspector.inspect(any(), eq(1), eq(20)))
+                .thenReturn(new ScheduledEventPage(1, 20, 21, 50, List.of(state)));
+
+        mockMvc.perform(get("/admin/scheduler/events").with(onAdminPort())
+                       .param("page", "1")
+                       .param("size", "20")
+                       .param("eventIdPrefix", "event-")
+                       .param("minConsecutiveFailures", "2"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.totalMatching").value(21))
+               .andExpect(jsonPath("$.events[0].eventId").value("event-1"))
+               .andExpect(jsonPath("$.events[0].lastFetchLatencyMs").value(42))
+               .andExpect(jsonPath("$.events[0].consecutiveFailures").value(3))
+               .andExpect(jsonPath("$.events[0].tier").value("PREMIUM"));
+
+        verify(schedulerInspector).inspect(
+                eq(new SchedulerInspector.Filter("event-", 2, null, null, null, null)), eq(1), eq(20));
+    }
+
+    @Test
+    void adminEndpoints_shouldNotBeServedOnThePublicPort() throws Exception {
+        mockMvc.perform(get("/admin/scheduler/capacity"))
+               .andExpect(status().isNotFound());
+
+        verify(admissionControl, never()).capacity();
+    }
+
+    @Test
+    void listEvents_shouldCapPageSize() throws Exception {
+        when(schedulerInspector.inspect(any(), eq(0), eq(SchedulerAdminController.MAX_PAGE_SIZE)))
+                .thenReturn(new ScheduledEventPage(0, SchedulerAdminController.MAX_PAGE_SIZE, 0, 0, List.of()));
+
+        mockMvc.perform(get("/admin/scheduler/events").with(onAdminPort()).param("size", "100000"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.size").value(SchedulerAdminController.MAX_PAGE_SIZE));
+    }
+}
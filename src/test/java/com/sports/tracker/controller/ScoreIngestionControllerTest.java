@@ -0,0 +1,65 @@
+package com.sports.tracker.controller;
+
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.PushSummary;
+import com.sports.tracker.service.ScoreIngestionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ScoreIngestionController.class)
+class ScoreIngestionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ScoreIngestionService scoreIngestionService;
+
+    @Test
+    void shouldPushASingleScore() throws Exception {
+        when(scoreIngestionService.push(List.of(new EventScore("event-1", "1:0"))))
+                .thenReturn(new PushSummary(1, 0, 0, 0));
+
+        mockMvc.perform(post("/events/scores")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"eventId\":\"event-1\",\"currentScore\":\"1:0\"}"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.accepted").value(1));
+    }
+
+    @Test
+    void shouldAnswer400ForAnInvalidBatch() throws Exception {
+        when(scoreIngestionService.push(any())).thenThrow(new IllegalArgumentException("missing eventId"));
+
+        mockMvc.perform(post("/events/scores/batch")
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("[{\"currentScore\":\"1:0\"}]"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamNdjsonScores() throws Exception {
+        when(scoreIngestionService.stream(eq("provider-a"), any())).thenReturn(new PushSummary(2, 0, 1, 0));
+
+        mockMvc.perform(post("/events/scores/stream")
+                       .param("provider", "provider-a")
+                       .contentType(ScoreIngestionController.NDJSON)
+                       .content("{\"eventId\":\"event-1\",\"currentScore\":\"1:0\"}\n"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.accepted").value(2))
+               .andExpect(jsonPath("$.notLive").value(1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.sports.tracker.exception;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.KafkaException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailureCategoryTest {
+
+    @Test
+    void of_shouldClassifyByTheCauseChain() {
+        assertThat(FailureCategory.of(new CompletionException(new ExternalApiUnexpectedStatusException(503))))
+                .isEqualTo(FailureCategory.PROVIDER_STATUS);
+        assertThat(FailureCategory.of(new ExternalApiCallFailedException("I/O error", new ConnectException())))
+                .isEqualTo(FailureCategory.PROVIDER_IO);
+        assertThat(FailureCategory.of(new ExternalApiCallFailedException("I/O error",
+                new JsonParseException(null, "bad json")))).isEqualTo(FailureCategory.PROVIDER_DECODE);
+        assertThat(FailureCategory.of(new KafkaMessageSendException("Kafka send failed",
+                new KafkaException("Send failed", new TimeoutException("expired")))))
+                .isEqualTo(FailureCategory.KAFKA_SEND);
+        assertThat(FailureCategory.of(new KafkaMessageSendException("Score hand-off is full", null)))
+                .isEqualTo(FailureCategory.KAFKA_SEND);
+        assertThat(FailureCategory.of(new KafkaSendInterruptedException("interrupted", new InterruptedException())))
+                .isEqualTo(FailureCategory.INTERRUPTED);
+        assertThat(FailureCategory.of(new ExternalApiCallFailedException("Unexpected error",
+                new NullPointerException()))).isEqualTo(FailureCategory.UNEXPECTED);
+        assertThat(FailureCategory.UNEXPECTED.isExpected()).isFalse();
+    }
+
+    @Test
+    void of_shouldTreatOwnSerializationErrorsAsUnexpected() {
+        KafkaMessageSendException serialization = new KafkaMessageSendException("Failed to serialize score tick",
+                new JsonMappingException(null, "no serializer"));
+
+        assertThat(FailureCategory.of(new CompletionException(serialization))).isEqualTo(FailureCategory.UNEXPECTED);
+    }
+
+    @Test
+    void of_shouldTreatLocalIoErrorsAsUnexpected() {
+        UncheckedIOException outbox = new UncheckedIOException(new IOException("No space left on device"));
+
+        assertThat(FailureCategory.of(outbox)).isEqualTo(FailureCategory.UNEXPECTED);
+        assertThat(FailureCategory.of(new KafkaMessageSendException("Kafka send failed", outbox)))
+                .isEqualTo(FailureCategory.UNEXPECTED);
+        assertThat(FailureCategory.of(new IOException("connection reset"))).isEqualTo(FailureCategory.UNEXPECTED);
+    }
+
+    @Test
+    void expectedFailures_shouldBeThrownWithoutStackTrace() {
+        IOException cause = new IOException("connection reset");
+
+        assertThat(new ExternalApiUnexpectedStatusException(503).getStackTrace()).isEmpty();
+        assertThat(new ExternalApiCallFailedException("I/O error", cause).getStackTrace()).isEmpty();
+        assertThat(new KafkaMessageSendException("Send failed", null).getStackTrace()).isEmpty();
+        assertThat(cause.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void summarize_shouldListTheCausesInOneLine() {
+        String summary = FailureCategory.summarize(new ExternalApiCallFailedException("I/O error",
+                new IOException("connection reset")));
+
+        assertThat(summary).isEqualTo("com.sports.tracker.exception.ExternalApiCallFailedException: I/O error; "
+                + "caused by java.io.IOException: connection reset");
+    }
+
+    @Test
+    void failureCounter_shouldCountByCategory() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FailureCounter failureCounter = new FailureCounter(meterRegistry);
+
+        failureCounter.count(new ExternalApiUnexpectedStatusException(500));
+        failureCounter.count(new ExternalApiUnexpectedStatusException(502));
+        failureCounter.count(new IllegalStateException());
+
+        assertThat(meterRegistry.get("failures").tag("category", "provider_status").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("failures").tag("category", "unexpected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("failures").tag("category", "kafka_send").counter().count()).isZero();
+    }
+}
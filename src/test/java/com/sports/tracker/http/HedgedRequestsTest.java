@@ -0,0 +1,162 @@
+package com.sports.tracker.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
+
+class HedgedRequestsTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void fastPrimary_shouldNotBeHedged() {
+        HedgedRequests hedgedRequests = hedgedRequests(1.0);
+        AtomicInteger hedges = new AtomicInteger();
+
+        String result = hedgedRequests.send(() -> CompletableFuture.completedFuture("primary"), () -> {
+            hedges.incrementAndGet();
+            return CompletableFuture.completedFuture("hedge");
+        }).join();
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(hedges).hasValue(0);
+        assertThat(calls("primary")).isEqualTo(1);
+    }
+
+    @Test
+    void slowPrimary_shouldLoseToHedgeAndBeCancelled() {
+        HedgedRequests hedgedRequests = hedgedRequests(1.0);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+
+        String result = hedgedRequests.send(() -> primary, () -> CompletableFuture.completedFuture("hedge")).join();
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(primary).isCancelled();
+        assertThat(calls("hedged")).isEqualTo(1);
+        assertThat(meterRegistry.get("external.api.hedge.wins").tag("request", "hedge").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("external.api.hedge.win-rate").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void primaryAnsweringFirst_shouldCancelTheHedge() {
+        HedgedRequests hedgedRequests = hedgedRequests(1.0);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CompletableFuture<String> hedge = new CompletableFuture<>();
+        CompletableFuture<String> result = hedgedRequests.send(() -> primary, () -> hedge);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> hedgeSent(hedge, result));
+
+        primary.complete("primary");
+
+        assertThat(result.join()).isEqualTo("primary");
+        assertThat(hedge).isCancelled();
+        assertThat(meterRegistry.get("external.api.hedge.wins").tag("request", "primary").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailOnlyWhenEveryRequestFailed() {
+        HedgedRequests hedgedRequests = hedgedRequests(1.0);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CompletableFuture<String> hedge = new CompletableFuture<>();
+        CompletableFuture<String> result = hedgedRequests.send(() -> primary, () -> hedge);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> hedgeSent(hedge, result));
+
+        primary.completeExceptionally(new IllegalStateException("primary down"));
+        assertThat(result).isNotDone();
+        hedge.completeExceptionally(new IllegalStateException("hedge down"));
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("primary down");
+    }
+
+    @Test
+    void primaryFailingWhileTheHedgeIsBeingSent_shouldWaitForTheHedge() throws InterruptedException {
+        HedgedRequests hedgedRequests = hedgedRequests(1.0);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch failed = new CountDownLatch(1);
+        CompletableFuture<String> result = hedgedRequests.send(() -> primary, () -> {
+            sending.countDown();
+            try {
+                failed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture("hedge");
+        });
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        primary.completeExceptionally(new IllegalStateException("primary down"));
+        assertThat(result).isNotDone();
+        failed.countDown();
+
+        assertThat(result.join()).isEqualTo("hedge");
+        assertThat(calls("hedged")).isEqualTo(1);
+    }
+
+    @Test
+    void hedgeRate_shouldBeCappedByBudget() {
+        HedgedRequests hedgedRequests = hedgedRequests(0.0);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        AtomicInteger hedges = new AtomicInteger();
+        // The initial burst allows ten hedges
+        for (int i = 0; i < 12; i++) {
+            hedgedRequests.send(() -> primary, () -> {
+                hedges.incrementAndGet();
+                return new CompletableFuture<>();
+            });
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(hedges).hasValue(10));
+        primary.complete("primary");
+        assertThat(calls("hedged")).isEqualTo(10);
+        assertThat(calls("capped")).isEqualTo(2);
+    }
+
+    @Test
+    void hedgeDelay_shouldFollowThePrimaryLatencyPercentile() {
+        HedgedRequests hedgedRequests = new HedgedRequests(meterRegistry, scheduler, 0.5, 1, 500, 0.1);
+        assertThat(hedgedRequests.delayMillis()).isEqualTo(500);
+
+        for (int i = 0; i < 128; i++) {
+            hedgedRequests.send(() -> CompletableFuture.completedFuture("primary"), null).join();
+        }
+
+        assertThat(hedgedRequests.delayMillis()).isLessThan(500);
+    }
+
+    private HedgedRequests hedgedRequests(double maxRate) {
+        return new HedgedRequests(meterRegistry, scheduler, 0.95, 10, 10, maxRate);
+    }
+
+    /**
+     * The hedge was sent once the call subscribed to it.
+     */
+    private static boolean hedgeSent(CompletableFuture<String> hedge, CompletableFuture<String> result) {
+        return hedge.getNumberOfDependents() > 0 && !result.isDone();
+    }
+
+    private double calls(String result) {
+        return meterRegistry.get("external.api.hedge.calls").tag("result", result).counter().count();
+    }
+}
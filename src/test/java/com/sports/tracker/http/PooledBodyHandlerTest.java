@@ -0,0 +1,140 @@
+package com.sports.tracker.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PooledBodyHandlerTest {
+
+    private static final String BODY = "{\"eventId\":\"e1\",\"currentScore\":\"1:0\"}";
+
+    private final BufferPool pool = new BufferPool(4, 16, 1024);
+    private final PooledBodyHandler handler = new PooledBodyHandler(pool, 4096);
+
+    @Test
+    void shouldCollectPlainBodyAcrossChunks() throws Exception {
+        byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+
+        try (PooledBody body = receive(null, Arrays.copyOfRange(bytes, 0, 10),
+                Arrays.copyOfRange(bytes, 10, bytes.length)).get()) {
+            assertThat(body.toString()).isEqualTo(BODY);
+            assertThat(body.wireLength()).isEqualTo(bytes.length);
+            assertThat(body.contentEncoding()).isEqualTo(PooledBodyHandler.IDENTITY);
+        }
+        // The outgrown 16 byte buffer went back to the pool as well
+        assertThat(pool.available()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDecodeGzipAndDeflate() throws Exception {
+        try (PooledBody gzip = receive("gzip", gzip(BODY)).get();
+             PooledBody deflate = receive("Deflate", deflate(BODY)).get()) {
+            assertThat(gzip.toString()).isEqualTo(BODY);
+            assertThat(gzip.length()).isEqualTo(BODY.length());
+            assertThat(gzip.wireLength()).isNotEqualTo(BODY.length());
+            assertThat(deflate.toString()).isEqualTo(BODY);
+            assertThat(deflate.contentEncoding()).isEqualTo("deflate");
+        }
+    }
+
+    @Test
+    void preview_shouldTruncateLongBodies() throws Exception {
+        try (PooledBody body = receive(null, "x".repeat(1000).getBytes(StandardCharsets.UTF_8)).get()) {
+            assertThat(body.preview(256)).isEqualTo("x".repeat(256) + "...");
+            assertThat(body.preview(4096)).isEqualTo("x".repeat(1000));
+        }
+    }
+
+    @Test
+    void shouldReuseReleasedBuffers() throws Exception {
+        byte[] first;
+        try (PooledBody body = receive(null, "short".getBytes(StandardCharsets.UTF_8)).get()) {
+            first = body.bytes();
+        }
+        try (PooledBody body = receive(null, "again".getBytes(StandardCharsets.UTF_8)).get()) {
+            assertThat(body.bytes()).isSameAs(first);
+        }
+    }
+
+    @Test
+    void shouldFailUnsupportedEncodingsAndOversizedBodies() throws Exception {
+        assertThatThrownBy(() -> receive("br", new byte[8]).join())
+                .hasCauseInstanceOf(IOException.class)
+                .hasMessageContaining("Unsupported Content-Encoding: br");
+        assertThatThrownBy(() -> receive("gzip", gzip("0".repeat(10_000))).join())
+                .hasCauseInstanceOf(IOException.class)
+                .hasMessageContaining("exceeds 4096 bytes");
+    }
+
+    private CompletableFuture<PooledBody> receive(String contentEncoding, byte[]... chunks) {
+        HttpResponse.BodySubscriber<PooledBody> subscriber = handler.apply(responseInfo(contentEncoding));
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        for (byte[] chunk : chunks) {
+            subscriber.onNext(List.of(ByteBuffer.wrap(chunk)));
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture();
+    }
+
+    private static HttpResponse.ResponseInfo responseInfo(String contentEncoding) {
+        HttpHeaders headers = HttpHeaders.of(
+                contentEncoding == null ? Map.of() : Map.of("Content-Encoding", List.of(contentEncoding)),
+                (name, value) -> true);
+        return new HttpResponse.ResponseInfo() {
+            @Override
+            public int statusCode() {
+                return 200;
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return headers;
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
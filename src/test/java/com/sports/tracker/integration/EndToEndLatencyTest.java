@@ -0,0 +1,279 @@
+package com.sports.tracker.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sports.tracker.model.EventStatus;
+import com.sports.tracker.model.enums.PollingTier;
+import com.sports.tracker.model.enums.Status;
+import com.sports.tracker.service.EventService;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
+
+/**
+ * Measures how fast score changes reach Kafka, end to end, and fails when a latency percentile exceeds its
+ * budget.
+ * <p>
+ * A fixed workload of live premium events is polled from a mock provider. Two latencies are measured, from
+ * the change to the moment a consumer receives the record:
+ * <ul>
+ *     <li>{@code status-change} - from an event's LIVE status update to its first score record</li>
+ *     <li>{@code provider-change} - from a score change at the provider to the record with the new score</li>
+ * </ul>
+ * The workload and the budgets are read from {@code latency.*} system properties, see {@link #budget}; the
+ * percentiles, the budgets and whether they were met are written as JSON to {@code latency.report}. Tagged
+ * {@code latency}, so it only runs with {@code ./gradlew latencyTest}.
+ */
+@Tag("latency")
+@SpringBootTest(properties = {
+        "logging.level.com.sports.tracker=INFO",
+        "scheduler.tiers.min-poll-interval-ms=100"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndToEndLatencyTest {
+
+    private static final String STATUS_CHANGE = "status-change";
+    private static final String PROVIDER_CHANGE = "provider-change";
+
+    private static final int EVENTS = Integer.getInteger("latency.events", 50);
+    private static final int CHANGES_PER_EVENT = Integer.getInteger("latency.changes-per-event", 5);
+    private static final long POLL_INTERVAL_MS = Long.getLong("latency.poll-interval-ms", 250);
+    private static final String REPORT = System.getProperty("latency.report",
+            "build/reports/latency/end-to-end-latency.json");
+
+    private static final KafkaContainer kafkaContainer = new KafkaContainer(
+            DockerImageName.parse("confluentinc/cp-kafka:7.5.0")
+    );
+    private static final MockWebServer provider = new MockWebServer();
+    private static final Map<String, String> providerScores = new ConcurrentHashMap<>();
+
+    static {
+        kafkaContainer.start();
+        provider.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                // Path: /api/events/{eventId}/score
+                String eventId = request.getRequestUrl().pathSegments().get(2);
+                String score = providerScores.get(eventId);
+                if (score == null) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                return new MockResponse()
+                        .setBody("{\"eventId\":\"" + eventId + "\",\"currentScore\":\"" + score + "\"}")
+                        .addHeader("Content-Type", "application/json");
+            }
+        });
+        try {
+            provider.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // First time a consumer saw each "eventId score" record
+    private final Map<String, Long> receivedAt = new ConcurrentHashMap<>();
+    private final AtomicBoolean consuming = new AtomicBoolean(true);
+    private final AtomicBoolean assigned = new AtomicBoolean();
+    private final List<String> eventIds = new ArrayList<>();
+    private Thread consumer;
+
+    @Autowired
+    private EventService eventService;
+
+    @Value("${kafka.topic}")
+    private String topic;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.kafka.bootstrap-servers", kafkaContainer::getBootstrapServers);
+        registry.add("external.api.url", () -> provider.url("/api/events/").toString() + "{eventId}/score");
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        for (String eventId : eventIds) {
+            eventService.updateEventStatus(new EventStatus(eventId, Status.NOT_LIVE));
+        }
+        consuming.set(false);
+        if (consumer != null) {
+            consumer.join(10_000);
+        }
+        provider.shutdown();
+        kafkaContainer.stop();
+    }
+
+    @Test
+    void scoreChanges_shouldReachKafkaWithinTheirLatencyBudgets() {
+        startConsumer();
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < EVENTS; i++) {
+            eventIds.add("latency-" + run + "-" + i);
+        }
+
+        List<Long> statusChange = new ArrayList<>();
+        Map<String, Long> changedAt = new LinkedHashMap<>();
+        for (String eventId : eventIds) {
+            providerScores.put(eventId, "0:0");
+            changedAt.put(eventId + " 0:0", System.nanoTime());
+            eventService.updateEventStatus(new EventStatus(eventId, Status.LIVE, PollingTier.PREMIUM,
+                    POLL_INTERVAL_MS));
+        }
+        awaitReceived(changedAt);
+        collect(changedAt, statusChange);
+
+        List<Long> providerChange = new ArrayList<>();
+        for (int change = 1; change <= CHANGES_PER_EVENT; change++) {
+            changedAt.clear();
+            for (String eventId : eventIds) {
+                String score = change + ":0";
+                changedAt.put(eventId + " " + score, System.nanoTime());
+                providerScores.put(eventId, score);
+            }
+            // The next round starts once every change arrived, so a round measures one change per event
+            awaitReceived(changedAt);
+            collect(changedAt, providerChange);
+        }
+
+        Map<String, Object> measurements = new LinkedHashMap<>();
+        Map<String, Object> statusResult = evaluate(STATUS_CHANGE, statusChange);
+        Map<String, Object> providerResult = evaluate(PROVIDER_CHANGE, providerChange);
+        measurements.put(STATUS_CHANGE, statusResult);
+        measurements.put(PROVIDER_CHANGE, providerResult);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("workload", Map.of(
+                "events", EVENTS,
+                "changesPerEvent", CHANGES_PER_EVENT,
+                "pollIntervalMs", POLL_INTERVAL_MS));
+        report.put("measurements", measurements);
+        writeReport(report);
+
+        assertThat(statusResult.get("withinBudget")).as("%s latency %s", STATUS_CHANGE, statusResult).isEqualTo(true);
+        assertThat(providerResult.get("withinBudget")).as("%s latency %s", PROVIDER_CHANGE, providerResult)
+                                                      .isEqualTo(true);
+    }
+
+    private void startConsumer() {
+        Map<String, Object> consumerProps = new LinkedHashMap<>();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers());
+        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, "latency-" + UUID.randomUUID());
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // Measure the pipeline, not the broker holding a fetch until it has data
+        consumerProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 5);
+        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        consumer = Thread.ofPlatform().name("latency-consumer").start(() -> {
+            try (KafkaConsumer<String, String> kafkaConsumer = new KafkaConsumer<>(consumerProps)) {
+                kafkaConsumer.subscribe(List.of(topic));
+                while (consuming.get()) {
+                    for (ConsumerRecord<String, String> rec : kafkaConsumer.poll(Duration.ofMillis(10))) {
+                        receivedAt.putIfAbsent(rec.key() + " " + rec.value(), System.nanoTime());
+                    }
+                    if (!kafkaConsumer.assignment().isEmpty()) {
+                        assigned.set(true);
+                    }
+                }
+            }
+        });
+        await().atMost(60, TimeUnit.SECONDS).untilTrue(assigned);
+    }
+
+    private void awaitReceived(Map<String, Long> changedAt) {
+        await().atMost(60, TimeUnit.SECONDS)
+               .pollInterval(Duration.ofMillis(20))
+               .until(() -> receivedAt.keySet().containsAll(changedAt.keySet()));
+    }
+
+    private void collect(Map<String, Long> changedAt, List<Long> latencies) {
+        changedAt.forEach((record, startedAt) -> latencies.add(receivedAt.get(record) - startedAt));
+    }
+
+    private static Map<String, Object> evaluate(String measurement, List<Long> latencyNanos) {
+        long[] sorted = latencyNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("samples", sorted.length);
+        boolean withinBudget = true;
+        for (String statistic : new String[]{"p50", "p99", "max"}) {
+            double millis = statistic.equals("max")
+                    ? toMillis(sorted[sorted.length - 1])
+                    : toMillis(percentile(sorted, Integer.parseInt(statistic.substring(1)) / 100.0));
+            long budget = budget(measurement, statistic);
+            result.put(statistic + "Ms", millis);
+            result.put(statistic + "BudgetMs", budget);
+            withinBudget &= millis <= budget;
+        }
+        result.put("withinBudget", withinBudget);
+        return result;
+    }
+
+    /**
+     * The budget of a statistic in milliseconds, from {@code latency.budget.<measurement>.<statistic>-ms}.
+     * A status change waits for the first dispatch tick; a provider change also waits up to a poll interval.
+     */
+    private static long budget(String measurement, String statistic) {
+        long defaultBudget = switch (statistic) {
+            case "p50" -> 500;
+            case "p99" -> 1_000;
+            default -> 2_000;
+        };
+        if (measurement.equals(PROVIDER_CHANGE)) {
+            defaultBudget += POLL_INTERVAL_MS;
+        }
+        return Long.getLong("latency.budget." + measurement + "." + statistic + "-ms", defaultBudget);
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static void writeReport(Map<String, Object> report) {
+        File file = new File(REPORT);
+        try {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.sports.tracker.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures how long a restart pauses polling, with and without the startup optimizations.
+ * <p>
+ * Every run launches the application as a separate JVM from the exploded jar of {@code ./gradlew cdsJar},
+ * marks an event LIVE as soon as the server accepts requests, and records when the first poll for it reaches a
+ * mock provider. Both times count from the launch of the JVM:
+ * <ul>
+ *     <li>{@code ready} - the LIVE status update was accepted</li>
+ *     <li>{@code first-poll} - the provider received the first poll of the event</li>
+ * </ul>
+ * The modes are the default startup, {@code aot} (generated bean definitions), {@code cds} (class data
+ * sharing archive) and both combined. Runs alternate between modes so that a busy machine affects all of them
+ * alike. Topic creation and the warm-up are switched off, so no run waits for a Kafka broker. The runs per
+ * mode are read from {@code startup.runs}; min, median and max per mode are written as JSON to
+ * {@code startup.report}. Tagged {@code startup}, so it only runs with {@code ./gradlew startupBenchmark}.
+ */
+@Tag("startup")
+class StartupBenchmarkTest {
+
+    private static final String EVENT_ID = "startup-benchmark";
+    private static final String READY = "ready";
+    private static final String FIRST_POLL = "first-poll";
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final long TIMEOUT_MS = Long.getLong("startup.timeout-ms", 120_000);
+    private static final String JAR = System.getProperty("startup.jar");
+    private static final String CDS_ARCHIVE = System.getProperty("startup.cds-archive");
+    private static final String AOT_CDS_ARCHIVE = System.getProperty("startup.aot-cds-archive");
+    private static final String REPORT = System.getProperty("startup.report",
+            "build/reports/startup/time-to-first-poll.json");
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void restarts_shouldPollAgainInEveryStartupMode() throws Exception {
+        assumeTrue(JAR != null && new File(JAR).isFile(), "startup.jar not built; run ./gradlew startupBenchmark");
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", List.of());
+        modes.put("aot", List.of("-Dspring.aot.enabled=true"));
+        modes.put("cds", List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE));
+        modes.put("aot-cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + AOT_CDS_ARCHIVE));
+
+        Map<String, Map<String, List<Long>>> samples = new LinkedHashMap<>();
+        modes.keySet().forEach(mode -> samples.put(mode, Map.of(READY, new ArrayList<>(), FIRST_POLL,
+                new ArrayList<>())));
+        for (int run = 1; run <= RUNS; run++) {
+            for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                long[] sample = launch(mode.getKey(), mode.getValue(), run);
+                samples.get(mode.getKey()).get(READY).add(sample[0]);
+                samples.get(mode.getKey()).get(FIRST_POLL).add(sample[1]);
+            }
+        }
+
+        Map<String, Object> measurements = new LinkedHashMap<>();
+        samples.forEach((mode, measured) -> measurements.put(mode, Map.of(
+                READY, summarize(measured.get(READY)),
+                FIRST_POLL, summarize(measured.get(FIRST_POLL)))));
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runsPerMode", RUNS);
+        report.put("java", System.getProperty("java.version"));
+        report.put("modes", modes);
+        report.put("measurements", measurements);
+        writeReport(report);
+
+        samples.forEach((mode, measured) -> assertThat(measured.get(FIRST_POLL)).as(mode).hasSize(RUNS));
+    }
+
+    /**
+     * Launches the application and waits for its first poll.
+     *
+     * @return the nanoseconds from launch until ready and until the first poll
+     */
+    private long[] launch(String mode, List<String> jvmArgs, int run) throws Exception {
+        AtomicLong firstPollAt = new AtomicLong();
+        CountDownLatch polled = new CountDownLatch(1);
+        MockWebServer provider = new MockWebServer();
+        provider.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                // Path: /api/events/{eventId}/score
+                String eventId = request.getRequestUrl().pathSegments().get(2);
+                if (eventId.equals(EVENT_ID) && firstPollAt.compareAndSet(0, System.nanoTime())) {
+                    polled.countDown();
+                }
+                return new MockResponse()
+                        .setBody("{\"eventId\":\"" + eventId + "\",\"currentScore\":\"0:0\"}")
+                        .addHeader("Content-Type", "application/json");
+            }
+        });
+        provider.start();
+
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", JAR,
+                "--server.port=" + port,
+                "--custom.secondary-port=" + freePort(),
+                "--custom.admin-port=" + freePort(),
+                "--external.api.url=" + provider.url("/api/events/") + "{eventId}/score",
+                "--spring.kafka.admin.auto-create=false",
+                "--warmup.enabled=false"));
+        File log = new File(new File(REPORT).getParentFile(), "logs/" + mode + "-" + run + ".log");
+        log.getParentFile().mkdirs();
+
+        long launchedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(new File(JAR).getParentFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long readyAt = markLive(port, process, launchedAt);
+            long remaining = TIMEOUT_MS - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchedAt);
+            assertThat(polled.await(remaining, TimeUnit.MILLISECONDS))
+                    .as("%s run %d polled within %d ms, see %s", mode, run, TIMEOUT_MS, log)
+                    .isTrue();
+            return new long[]{readyAt - launchedAt, firstPollAt.get() - launchedAt};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            provider.shutdown();
+        }
+    }
+
+    /**
+     * Posts the LIVE status until the server accepts it.
+     *
+     * @return when it was accepted
+     */
+    private long markLive(int port, Process process, long launchedAt) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/events/status"))
+                                         .header("Content-Type", "application/json")
+                                         .POST(HttpRequest.BodyPublishers.ofString(
+                                                 "{\"eventId\":\"" + EVENT_ID + "\",\"status\":\"LIVE\","
+                                                         + "\"tier\":\"PREMIUM\"}"))
+                                         .build();
+        while (System.nanoTime() - launchedAt < TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS)) {
+            if (!process.isAlive()) {
+                throw new AssertionError("Application exited with " + process.exitValue());
+            }
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    return System.nanoTime();
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        throw new AssertionError("Application did not accept requests within " + TIMEOUT_MS + " ms");
+    }
+
+    private static Map<String, Object> summarize(List<Long> nanos) {
+        long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("minMs", TimeUnit.NANOSECONDS.toMillis(sorted[0]));
+        summary.put("p50Ms", TimeUnit.NANOSECONDS.toMillis(sorted[(sorted.length - 1) / 2]));
+        summary.put("maxMs", TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]));
+        return summary;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeReport(Map<String, Object> report) {
+        File file = new File(REPORT);
+        try {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
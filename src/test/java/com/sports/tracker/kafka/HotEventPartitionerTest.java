@@ -0,0 +1,121 @@
+package com.sports.tracker.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HotEventPartitionerTest {
+
+    private static final String TOPIC = "live-sports-events";
+    private static final String SNAPSHOT_TOPIC = "live-sports-snapshots";
+
+    private final HotEventKeys hotEventKeys = new HotEventKeys(List.of("final"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PartitionSkewMonitor skewMonitor = new PartitionSkewMonitor(meterRegistry);
+    private final HotEventPartitioner partitioner = new HotEventPartitioner();
+
+    @BeforeEach
+    void setup() {
+        partitioner.configure(Map.of(
+                HotEventPartitioner.HOT_EVENT_KEYS_CONFIG, hotEventKeys,
+                HotEventPartitioner.SKEW_MONITOR_CONFIG, skewMonitor,
+                HotEventPartitioner.HOT_SPREAD_CONFIG, "3",
+                HotEventPartitioner.PINNED_TOPICS_CONFIG, List.of(SNAPSHOT_TOPIC)));
+    }
+
+    @Test
+    void partition_shouldPinRegularEventsToOnePartition() {
+        Cluster cluster = cluster(12);
+
+        Set<Integer> partitions = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            partitions.add(partition("event-42", cluster));
+        }
+
+        assertThat(partitions).hasSize(1);
+    }
+
+    @Test
+    void partition_shouldSpreadHotEventsRoundRobinStartingAtTheirHomePartition() {
+        Cluster cluster = cluster(12);
+        int home = partitioner.partition(bytes("final"), 12, 0);
+
+        List<Integer> partitions = IntStream.range(0, 6).mapToObj(i -> partition("final", cluster)).toList();
+
+        assertEquals(home, partitions.get(0));
+        assertThat(Set.copyOf(partitions)).hasSize(3);
+        assertThat(partitions.subList(3, 6)).isEqualTo(partitions.subList(0, 3));
+        assertEquals(6.0, meterRegistry.get("kafka.partitioner.hot.records").counter().count());
+    }
+
+    @Test
+    void partition_shouldNotSpreadHotEventsOnPinnedTopics() {
+        Cluster cluster = cluster(12);
+        int home = partitioner.partition(bytes("final"), 12, 0);
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(home, partitioner.partition(SNAPSHOT_TOPIC, "final", bytes("final"), null, null, cluster));
+        }
+    }
+
+    @Test
+    void partition_shouldBalanceManyEventsAcrossPartitions() {
+        Cluster cluster = cluster(12);
+
+        for (int i = 0; i < 12_000; i++) {
+            partition("event-" + i, cluster);
+        }
+
+        assertThat(skewMonitor.recordsPerPartition(TOPIC)).hasSize(12);
+        assertThat(skewMonitor.skew(TOPIC)).isBetween(1.0, 1.5);
+        assertThat(meterRegistry.get("kafka.partitioner.skew").tag("topic", TOPIC).gauge().value())
+                .isEqualTo(skewMonitor.skew(TOPIC));
+    }
+
+    @Test
+    void partition_shouldMoveFewKeysWhenPartitionsAreAdded() {
+        int events = 10_000;
+        int moved = 0;
+        for (int i = 0; i < events; i++) {
+            byte[] key = bytes("event-" + i);
+            if (partitioner.partition(key, 12, 0) != partitioner.partition(key, 16, 0)) {
+                moved++;
+            }
+        }
+
+        // Ideally 4/16 of the keys move to the new partitions; hash % n would move about 3/4 of them
+        assertThat(moved).isLessThan(events * 2 / 5);
+    }
+
+    private int partition(String eventId, Cluster cluster) {
+        return partitioner.partition(TOPIC, eventId, bytes(eventId), null, null, cluster);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Cluster cluster(int partitions) {
+        Node node = new Node(0, "localhost", 9092);
+        List<PartitionInfo> infos = Stream.of(TOPIC, SNAPSHOT_TOPIC)
+                                          .flatMap(topic -> IntStream.range(0, partitions)
+                                                                     .mapToObj(p -> new PartitionInfo(topic, p, node,
+                                                                             new Node[]{node}, new Node[]{node})))
+                                          .toList();
+        return new Cluster("cluster", List.of(node), infos, Set.of(), Set.of());
+    }
+}
@@ -0,0 +1,196 @@
+package com.sports.tracker.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.outbox.KafkaOutbox;
+import com.sports.tracker.service.KafkaProducerService;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares how many scores per second the publish path handles in each logging mode, with the log written to
+ * a file as on a production instance.
+ * <p>
+ * {@code benchmark.logging.threads} threads publish {@code benchmark.logging.scores} scores of 1,000 events
+ * through a {@link KafkaProducerService} whose broker acknowledges at once, so logging is the main cost: each
+ * score goes to two topics, and a logged score writes four lines. The modes combine a sync or async appender
+ * with logging all events or a 1% sample; each mode runs once to warm up before it is measured. The results are
+ * published to the test report and written as JSON to {@code benchmark.logging.report}. Tagged {@code benchmark}, so it only runs with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class HotPathLoggingBenchmarkTest {
+
+    private static final int SCORES = Integer.getInteger("benchmark.logging.scores", 50_000);
+    private static final int THREADS = Integer.getInteger("benchmark.logging.threads", 16);
+    private static final int EVENTS = 1_000;
+    private static final double SAMPLE_RATE = 0.01;
+    private static final String REPORT = System.getProperty("benchmark.logging.report",
+            "build/reports/benchmark/hot-path-logging.json");
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%15.15t] %-40.40logger{39} : %m %kvp%n";
+
+    @TempDir
+    private Path dir;
+
+    private int runs;
+
+    @Test
+    void sampledAsyncLogging_shouldPublishMoreScoresPerSecondThanLoggingEverySend(TestReporter testReporter)
+            throws Exception {
+        Map<String, double[]> results = new LinkedHashMap<>();
+        results.put("sync, all events", measure(false, 1.0));
+        results.put("async, all events", measure(true, 1.0));
+        results.put("sync, 1% of events", measure(false, SAMPLE_RATE));
+        results.put("async, 1% of events", measure(true, SAMPLE_RATE));
+
+        Map<String, Object> modes = new LinkedHashMap<>();
+        results.forEach((mode, result) -> {
+            modes.put(mode, Map.of("scoresPerSecond", Math.round(result[0]), "linesWritten", (long) result[1]));
+            testReporter.publishEntry(mode, String.format("%.0f scores/s, %.0f lines written", result[0], result[1]));
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scores", SCORES);
+        report.put("threads", THREADS);
+        report.put("modes", modes);
+        writeReport(report);
+        assertThat(results.get("async, 1% of events")[0]).isGreaterThan(results.get("sync, all events")[0]);
+    }
+
+    /**
+     * @return the scores per second and the log lines written
+     */
+    private double[] measure(boolean async, double sampleRate) throws Exception {
+        publish(async, sampleRate, SCORES / 10);
+        return publish(async, sampleRate, SCORES);
+    }
+
+    private double[] publish(boolean async, double sampleRate, int scores) throws Exception {
+        int run = ++runs;
+        Path logFile = dir.resolve("hot-path-" + run + ".log");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        FileAppender<ILoggingEvent> file = fileAppender(context, logFile);
+        Appender<ILoggingEvent> appender = async ? asyncAppender(context, file) : file;
+        Logger logger = context.getLogger(KafkaProducerService.class);
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+
+        ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+        ExecutorService publishers = Executors.newFixedThreadPool(THREADS);
+        KafkaOutbox outbox = new KafkaOutbox(dir.resolve("outbox-" + run), 4096, 2, new SimpleMeterRegistry());
+        KafkaProducerService service = new KafkaProducerService(acknowledgingTemplate(), Retry.ofDefaults("benchmark"),
+                retryScheduler, "live-sports-events", "live-sports-snapshots", outbox, new LogSampler(sampleRate));
+        double scoresPerSecond;
+        try {
+            AtomicInteger next = new AtomicInteger();
+            List<Future<?>> workers = new ArrayList<>();
+            long startedAt = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(publishers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < scores; i = next.getAndIncrement()) {
+                        service.sendMessageAsync(new EventScore("event-" + i % EVENTS, i + ":0")).join();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            scoresPerSecond = scores / ((System.nanoTime() - startedAt) / 1e9);
+        } finally {
+            logger.detachAppender(appender);
+            logger.setAdditive(true);
+            logger.setLevel(null);
+            // Stopping the async appender writes what is still queued
+            appender.stop();
+            file.stop();
+            publishers.shutdownNow();
+            retryScheduler.shutdownNow();
+            outbox.close();
+        }
+        return new double[]{scoresPerSecond, lines(logFile)};
+    }
+
+    private static FileAppender<ILoggingEvent> fileAppender(LoggerContext context, Path logFile) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+        return file;
+    }
+
+    private static AsyncAppender asyncAppender(LoggerContext context, Appender<ILoggingEvent> file) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(file);
+        async.start();
+        return async;
+    }
+
+    private static KafkaTemplate<String, String> acknowledgingTemplate() {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of())) {
+            @Override
+            public CompletableFuture<SendResult<String, String>> send(ProducerRecord<String, String> producerRecord) {
+                TopicPartition partition = new TopicPartition(producerRecord.topic(), 0);
+                return CompletableFuture.completedFuture(new SendResult<>(producerRecord,
+                        new RecordMetadata(partition, 0, 0, 0L, 0, 0)));
+            }
+        };
+    }
+
+    private static void writeReport(Map<String, Object> report) throws IOException {
+        File file = new File(REPORT);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    private static long lines(Path logFile) throws IOException {
+        try (var lines = Files.lines(logFile)) {
+            return lines.count();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.sports.tracker.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LogSamplerTest {
+
+    @Test
+    void shouldSampleTheConfiguredShareOfEvents() {
+        LogSampler sampler = new LogSampler(0.1);
+
+        long sampled = IntStream.range(0, 100_000).filter(i -> sampler.isSampled("event-" + i)).count();
+
+        assertThat(sampled / 100_000.0).isCloseTo(0.1, within(0.01));
+    }
+
+    @Test
+    void shouldSampleAnEventForItsWholeLife() {
+        LogSampler sampler = new LogSampler(0.5);
+        LogSampler restarted = new LogSampler(0.5);
+
+        IntStream.range(0, 1_000).mapToObj(i -> "event-" + i)
+                 .forEach(eventId -> assertThat(restarted.isSampled(eventId)).isEqualTo(sampler.isSampled(eventId)));
+    }
+
+    @Test
+    void shouldSampleAllOrNoEventsAtTheBounds() {
+        assertThat(new LogSampler(1.0).isSampled("event-1")).isTrue();
+        assertThat(new LogSampler(1.0).isSampled(null)).isTrue();
+        assertThat(IntStream.range(0, 1_000).anyMatch(i -> new LogSampler(0).isSampled("event-" + i))).isFalse();
+        assertThatThrownBy(() -> new LogSampler(1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,161 @@
+package com.sports.tracker.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KafkaOutboxTest {
+
+    private static final String TOPIC = "live-sports-events";
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void shouldDrainRecordsInAppendOrder() {
+        KafkaOutbox outbox = new KafkaOutbox(dir, 4096, 4, new SimpleMeterRegistry());
+
+        outbox.append(new OutboxRecord(TOPIC, "event-1", "1:0", 100L));
+        outbox.append(new OutboxRecord(TOPIC, "event-2", "0:0", 200L));
+        outbox.append(new OutboxRecord(TOPIC, "event-1", "2:0", 300L));
+
+        assertEquals(new OutboxRecord(TOPIC, "event-1", "1:0", 100L), outbox.peek());
+        outbox.remove();
+        assertEquals(new OutboxRecord(TOPIC, "event-2", "0:0", 200L), outbox.peek());
+        outbox.remove();
+        assertEquals(new OutboxRecord(TOPIC, "event-1", "2:0", 300L), outbox.peek());
+        outbox.remove();
+
+        assertTrue(outbox.isEmpty());
+        assertNull(outbox.peek());
+        outbox.close();
+    }
+
+    @Test
+    void shouldPeekAndRemoveBatchesAcrossSegments() {
+        KafkaOutbox outbox = new KafkaOutbox(dir, 256, 8, new SimpleMeterRegistry());
+        for (int i = 0; i < 10; i++) {
+            outbox.append(new OutboxRecord(TOPIC, "event-" + i, "x".repeat(50), i));
+        }
+
+        List<OutboxRecord> batch = outbox.peek(7);
+
+        assertEquals(7, batch.size());
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L), batch.stream().map(OutboxRecord::timestampMillis).toList());
+        outbox.remove(7);
+        assertEquals(3, outbox.pendingRecords());
+        assertEquals(7L, outbox.peek().timestampMillis());
+        assertEquals(3, outbox.peek(7).size());
+        outbox.close();
+    }
+
+    @Test
+    void shouldTrackPendingKeysAcrossRestarts() {
+        KafkaOutbox outbox = new KafkaOutbox(dir, 4096, 4, new SimpleMeterRegistry());
+        outbox.append(new OutboxRecord(TOPIC, "event-1", "1:0", 100L));
+        outbox.append(new OutboxRecord(TOPIC, "event-2", "0:0", 200L));
+        outbox.append(new OutboxRecord(TOPIC, "event-1", "2:0", 300L));
+        outbox.remove();
+
+        assertTrue(outbox.hasPending("event-1"));
+        assertTrue(outbox.hasPending("event-2"));
+        assertFalse(outbox.hasPending("event-3"));
+        outbox.close();
+
+        KafkaOutbox reopened = new KafkaOutbox(dir, 4096, 4, new SimpleMeterRegistry());
+        assertTrue(reopened.hasPending("event-1"));
+        reopened.remove(2);
+        assertFalse(reopened.hasPending("event-1"));
+        assertFalse(reopened.hasPending("event-2"));
+        reopened.close();
+    }
+
+    @Test
+    void shouldRejectAppendsOnceDiskBudgetIsExhausted() throws IOException {
+        KafkaOutbox outbox = new KafkaOutbox(dir, 256, 2, new SimpleMeterRegistry());
+
+        int appended = 0;
+        while (outbox.append(new OutboxRecord(TOPIC, "event-1", "x".repeat(50), appended))) {
+            appended++;
+        }
+
+        assertTrue(appended > 2);
+        assertEquals(appended, outbox.pendingRecords());
+        assertEquals(2, segmentFiles());
+
+        // Draining a whole segment frees budget for new records
+        for (int i = 0; i < appended; i++) {
+            outbox.remove();
+        }
+        assertTrue(outbox.append(new OutboxRecord(TOPIC, "event-1", "1:1", 1L)));
+        outbox.close();
+    }
+
+    @Test
+    void shouldRejectKeysTooLongForTheLengthPrefixAndKeepDraining() {
+        KafkaOutbox outbox = new KafkaOutbox(dir, 1 << 20, 2, new SimpleMeterRegistry());
+
+        outbox.append(new OutboxRecord(TOPIC, "event-1", "1:0", 100L));
+        assertFalse(outbox.append(new OutboxRecord(TOPIC, "e".repeat(Short.MAX_VALUE + 1), "1:0", 200L)));
+        outbox.append(new OutboxRecord(TOPIC, "event-2", "2:0", 300L));
+
+        assertEquals(2, outbox.pendingRecords());
+        assertEquals(new OutboxRecord(TOPIC, "event-1", "1:0", 100L), outbox.peek());
+        outbox.remove();
+        assertEquals(new OutboxRecord(TOPIC, "event-2", "2:0", 300L), outbox.peek());
+        outbox.remove();
+        assertTrue(outbox.isEmpty());
+        outbox.close();
+    }
+
+    @Test
+    void shouldRecoverPendingRecordsAfterRestart() {
+        KafkaOutbox outbox = new KafkaOutbox(dir, 4096, 4, new SimpleMeterRegistry());
+        outbox.append(new OutboxRecord(TOPIC, "event-1", "1:0", 100L));
+        OutboxRecord withHeaders = new OutboxRecord("live-sports-snapshots", "event-1", null, 200L,
+                List.of(new RecordHeader("sequence", new byte[]{0, 0, 0, 0, 0, 0, 0, 7})));
+        outbox.append(withHeaders);
+        outbox.remove();
+        outbox.close();
+
+        KafkaOutbox reopened = new KafkaOutbox(dir, 4096, 4, new SimpleMeterRegistry());
+
+        assertEquals(1, reopened.pendingRecords());
+        assertEquals(withHeaders, reopened.peek());
+        reopened.close();
+    }
+
+    @Test
+    void shouldReportDrainLagOfOldestRecord() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KafkaOutbox outbox = new KafkaOutbox(dir, 4096, 4, meterRegistry);
+        assertEquals(0, outbox.drainLagMillis(1_000L));
+
+        outbox.append(new OutboxRecord(TOPIC, "event-1", "1:0", 100L));
+        outbox.append(new OutboxRecord(TOPIC, "event-1", "2:0", 700L));
+        assertEquals(900, outbox.drainLagMillis(1_000L));
+
+        outbox.remove();
+        assertEquals(300, outbox.drainLagMillis(1_000L));
+        assertFalse(meterRegistry.find("kafka.outbox.drain.lag").gauges().isEmpty());
+        outbox.close();
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+}
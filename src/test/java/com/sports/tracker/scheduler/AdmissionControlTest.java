@@ -0,0 +1,94 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.enums.PollingTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class AdmissionControlTest {
+
+    private static final PollingTiers POLLING_TIERS =
+            new PollingTiers(1_000, 2_000, 10_000, 15_000, 30_000, 45_000, 10);
+
+    private final EventRegistry eventRegistry = new EventRegistry(64);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldShedMinorThenStandardThenPremiumEvents() {
+        AdmissionControl admission = admission(10, 1_000);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(register("minor-" + i, PollingTier.MINOR, admission)).isNotNegative();
+        }
+        assertThat(register("minor-8", PollingTier.MINOR, admission)).isEqualTo(EventRegistry.REJECTED);
+        assertThat(register("standard-0", PollingTier.STANDARD, admission)).isNotNegative();
+        assertThat(register("standard-1", PollingTier.STANDARD, admission)).isEqualTo(EventRegistry.REJECTED);
+        assertThat(register("premium-0", PollingTier.PREMIUM, admission)).isNotNegative();
+        assertThat(register("premium-1", PollingTier.PREMIUM, admission)).isEqualTo(EventRegistry.REJECTED);
+
+        assertThat(admission.utilization()).isEqualTo(1.0);
+        assertThat(rejected(PollingTier.MINOR)).isEqualTo(1);
+        assertThat(rejected(PollingTier.PREMIUM)).isEqualTo(1);
+    }
+
+    @Test
+    void alreadyLiveEvents_shouldNotBeRejected() {
+        AdmissionControl admission = admission(1, 1_000);
+        int slot = register("premium-0", PollingTier.PREMIUM, admission);
+
+        assertThat(register("premium-0", PollingTier.PREMIUM, admission)).isEqualTo(slot);
+    }
+
+    @Test
+    void shouldAdmitWithinTheProviderPollQuota() {
+        // Two premium events poll once per second each
+        AdmissionControl admission = admission(100, 2);
+
+        assertThat(register("premium-0", PollingTier.PREMIUM, admission)).isNotNegative();
+        assertThat(register("premium-1", PollingTier.PREMIUM, admission)).isNotNegative();
+        assertThat(register("premium-2", PollingTier.PREMIUM, admission)).isEqualTo(EventRegistry.REJECTED);
+        assertThat(admission.pollRateUtilization()).isEqualTo(1.0);
+
+        eventRegistry.release("premium-1");
+        assertThat(eventRegistry.register("custom", PollingTier.PREMIUM, 4_000, admission)).isNotNegative();
+        assertThat(eventRegistry.pollsPerSecond(POLLING_TIERS)).isCloseTo(1.25, within(1e-9));
+        assertThat(meterRegistry.get("scheduler.admission.utilization").tag("limit", "polls-per-second")
+                                .gauge().value()).isCloseTo(0.625, within(1e-9));
+    }
+
+    @Test
+    void capacity_shouldReportLoadAndThresholds() {
+        AdmissionControl admission = admission(10, 1_000);
+        register("standard-0", PollingTier.STANDARD, admission);
+
+        assertThat(admission.capacity().liveEvents()).isEqualTo(1);
+        assertThat(admission.capacity().pollsPerSecond()).isCloseTo(0.1, within(1e-9));
+        assertThat(admission.capacity().utilization()).isCloseTo(0.1, within(1e-9));
+        assertThat(admission.capacity().admissionThresholds())
+                .containsEntry(PollingTier.PREMIUM, 1.0)
+                .containsEntry(PollingTier.MINOR, 0.8);
+    }
+
+    @Test
+    void shouldRejectInconsistentThresholds() {
+        assertThatThrownBy(() -> new AdmissionControl(eventRegistry, POLLING_TIERS, meterRegistry, 10, 100,
+                0.7, 0.8, 30))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AdmissionControl admission(int maxLiveEvents, double maxPollsPerSecond) {
+        return new AdmissionControl(eventRegistry, POLLING_TIERS, meterRegistry, maxLiveEvents, maxPollsPerSecond,
+                0.9, 0.8, 30);
+    }
+
+    private int register(String eventId, PollingTier tier, AdmissionControl admission) {
+        return eventRegistry.register(eventId, tier, 0, admission);
+    }
+
+    private double rejected(PollingTier tier) {
+        return meterRegistry.get("scheduler.admission.rejected").tag("tier", tier.name()).counter().count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.sports.tracker.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventLifecyclePolicyTest {
+
+    private final EventRegistry eventRegistry = new EventRegistry(8);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventLifecyclePolicy policy =
+            new EventLifecyclePolicy(eventRegistry, meterRegistry, 10_000, 5, 60_000, 1_000, 3);
+
+    @Test
+    void nextPollDelay_shouldBackOffExponentiallyUpToTheMaximum() {
+        assertThat(policy.nextPollDelayMillis(1_000, 0)).isEqualTo(1_000);
+        assertThat(policy.nextPollDelayMillis(1_000, 1)).isEqualTo(2_000);
+        assertThat(policy.nextPollDelayMillis(1_000, 3)).isEqualTo(8_000);
+        assertThat(policy.nextPollDelayMillis(1_000, 4)).isEqualTo(10_000);
+        // An interval above the maximum is never shortened
+        assertThat(policy.nextPollDelayMillis(30_000, 2)).isEqualTo(30_000);
+    }
+
+    @Test
+    void nextPollDelay_shouldProbeQuarantinedEventsRarely() {
+        assertThat(policy.isQuarantined(4)).isFalse();
+        assertThat(policy.isQuarantined(5)).isTrue();
+        assertThat(policy.nextPollDelayMillis(1_000, 5)).isEqualTo(60_000);
+        assertThat(policy.nextPollDelayMillis(1_000, 500)).isEqualTo(60_000);
+        assertThat(policy.nextPollDelayMillis(120_000, 5)).isEqualTo(120_000);
+    }
+
+    @Test
+    void transitions_shouldBeCountedOnce() {
+        assertThat(policy.onFailure(4)).isFalse();
+        assertThat(policy.onFailure(5)).isTrue();
+        assertThat(policy.onFailure(6)).isFalse();
+        assertThat(policy.onSuccess(2)).isFalse();
+        assertThat(policy.onSuccess(6)).isTrue();
+
+        assertThat(transitions("quarantined")).isEqualTo(1);
+        assertThat(transitions("recovered")).isEqualTo(1);
+    }
+
+    @Test
+    void expiry_shouldFollowTtlAndNotFoundLimits() {
+        assertThat(policy.expireIfStale(10_000, 11_000)).isFalse();
+        assertThat(policy.expireIfStale(10_000, 11_001)).isTrue();
+        assertThat(policy.expireIfNotFound(2)).isFalse();
+        assertThat(policy.expireIfNotFound(3)).isTrue();
+
+        assertThat(transitions("expired_ttl")).isEqualTo(1);
+        assertThat(transitions("expired_not_found")).isEqualTo(1);
+    }
+
+    @Test
+    void gauges_shouldCountFailingAndQuarantinedEvents() {
+        int failing = eventRegistry.register("failing");
+        int quarantined = eventRegistry.register("quarantined");
+        eventRegistry.register("healthy");
+        eventRegistry.recordFailure(failing);
+        for (int i = 0; i < 5; i++) {
+            eventRegistry.recordFailure(quarantined);
+        }
+
+        assertThat(meterRegistry.get("scheduler.events.failing").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("scheduler.events.quarantined").gauge().value()).isEqualTo(1);
+
+        eventRegistry.release("quarantined");
+        assertThat(meterRegistry.get("scheduler.events.quarantined").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldRejectNonPositiveSettings() {
+        assertThatThrownBy(() -> new EventLifecyclePolicy(eventRegistry, meterRegistry, 10_000, 0, 60_000, 1_000, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double transitions(String transition) {
+        return meterRegistry.get("scheduler.lifecycle.transitions").tag("transition", transition).counter().count();
+    }
+}
@@ -0,0 +1,292 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.enums.PollingTier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventRegistryTest {
+
+    private static final int REFERENCE_BYTES = 8;
+
+    @Test
+    void register_shouldInternEventIdsToDenseSlots() {
+        EventRegistry registry = new EventRegistry(8);
+
+        int first = registry.register("event-1");
+        int second = registry.register("event-2");
+
+        assertEquals(0, first);
+        assertEquals(1, second);
+        assertEquals(first, registry.register("event-1"));
+        assertEquals(second, registry.slotOf("event-2"));
+        assertEquals("event-1", registry.eventId(first));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void register_shouldReturnNoSlotWhenFull() {
+        EventRegistry registry = new EventRegistry(2);
+        registry.register("a");
+        registry.register("b");
+
+        assertEquals(EventRegistry.NO_SLOT, registry.register("c"));
+    }
+
+    @Test
+    void release_shouldRecycleSlotAndBumpGeneration() {
+        EventRegistry registry = new EventRegistry(4);
+        int slot = registry.register("event-1");
+        int generation = registry.generation(slot);
+
+        assertEquals(slot, registry.release("event-1"));
+        assertEquals(EventRegistry.NO_SLOT, registry.slotOf("event-1"));
+        assertNull(registry.eventId(slot));
+        assertNotEquals(generation, registry.generation(slot));
+
+        assertEquals(slot, registry.register("event-2"));
+        assertEquals(EventRegistry.NO_SLOT, registry.release("missing"));
+    }
+
+    @Test
+    void releaseOfGeneration_shouldIgnoreAnEventScheduledAgain() {
+        EventRegistry registry = new EventRegistry(4);
+        int slot = registry.register("event-1");
+        int generation = registry.generation(slot);
+        registry.release("event-1");
+        registry.register("event-1");
+
+        assertThat(registry.release("event-1", generation)).isFalse();
+        assertThat(registry.release("event-1", registry.generation(slot))).isTrue();
+        assertThat(registry.release("event-1", registry.generation(slot))).isFalse();
+    }
+
+    @Test
+    void renewAndClearFailures_shouldResetLifecycleCounts() {
+        EventRegistry registry = new EventRegistry(4);
+        int slot = registry.register("event-1");
+        registry.recordFailure(slot);
+        registry.recordFailure(slot);
+        assertEquals(1, registry.recordNotFound(slot));
+
+        assertEquals(2, registry.renew(slot, "event-1", 5_000L));
+        assertEquals(5_000L, registry.liveSinceMillis(slot));
+        assertEquals(0, registry.failureCount(slot));
+        assertEquals(1, registry.recordNotFound(slot));
+        assertEquals(-1, registry.renew(slot, "event-2", 6_000L));
+
+        registry.recordFailure(slot);
+        assertEquals(1, registry.clearFailures(slot));
+        assertEquals(0, registry.failureCount(slot));
+        assertEquals(1, registry.recordNotFound(slot));
+    }
+
+    @Test
+    void shouldKeepPerEventStateInSlots() {
+        EventRegistry registry = new EventRegistry(4);
+        int slot = registry.register("event-1");
+
+        registry.recordFailure(slot);
+        assertEquals(2, registry.recordFailure(slot));
+
+        registry.recordFetch(slot, 2, 1, 1_000L, 35);
+        assertEquals(2, registry.homeScore(slot));
+        assertEquals(1, registry.awayScore(slot));
+        assertEquals(1_000L, registry.lastFetchMillis(slot));
+        assertEquals(35, registry.lastFetchLatencyMillis(slot));
+        assertEquals(2, registry.failureCount(slot));
+
+        registry.recordPublished(slot, 17L);
+        assertEquals(17L, registry.lastOffset(slot));
+        assertEquals(0, registry.failureCount(slot));
+
+        registry.setNextDueMillis(slot, 500L);
+        long waiting = registry.state(slot);
+        assertEquals(500L, EventRegistry.dueOf(waiting));
+        assertThat(registry.claim(slot, waiting)).isTrue();
+        assertThat(registry.claim(slot, waiting)).isFalse();
+        assertEquals(EventRegistry.NOT_DUE, registry.nextDueMillis(slot));
+    }
+
+    @Test
+    void arm_shouldSucceedOncePerRegistration() {
+        EventRegistry registry = new EventRegistry(4);
+        int slot = registry.register("event-1");
+        int generation = registry.generation(slot);
+        assertEquals(EventRegistry.NOT_DUE, registry.nextDueMillis(slot));
+
+        assertThat(registry.arm(slot, generation, 100L)).isTrue();
+        assertThat(registry.arm(slot, generation, 50L)).isFalse();
+        assertEquals(slot, registry.register("event-1"));
+        assertThat(registry.arm(slot, generation, 50L)).isFalse();
+        assertEquals(100L, registry.nextDueMillis(slot));
+    }
+
+    @Test
+    void stateTransitions_shouldFailAcrossReleaseAndReRegistration() {
+        EventRegistry registry = new EventRegistry(4);
+        int slot = registry.register("event-1");
+        int generation = registry.generation(slot);
+        registry.arm(slot, generation, 100L);
+        long waiting = registry.state(slot);
+        assertThat(registry.claim(slot, waiting)).isTrue();
+
+        registry.release("event-1");
+        assertEquals(slot, registry.register("event-1"));
+        int reRegistered = registry.generation(slot);
+        assertThat(registry.arm(slot, reRegistered, 100L)).isTrue();
+
+        // The poll claimed before the release can neither re-arm nor move the new registration
+        assertThat(registry.rearm(slot, generation, 200L)).isFalse();
+        assertThat(registry.advanceDue(slot, generation, 10L)).isFalse();
+        assertThat(registry.claim(slot, waiting)).isFalse();
+        assertEquals(100L, registry.nextDueMillis(slot));
+
+        assertThat(registry.advanceDue(slot, reRegistered, 10L)).isTrue();
+        assertThat(registry.claim(slot, registry.state(slot))).isTrue();
+        assertThat(registry.rearm(slot, reRegistered, 200L)).isTrue();
+        assertThat(registry.rearm(slot, reRegistered, 300L)).isFalse();
+        assertEquals(200L, registry.nextDueMillis(slot));
+    }
+
+    @Test
+    void bulkOperations_shouldRegisterAndReleaseEachEventOnce() {
+        EventRegistry registry = new EventRegistry(3);
+        registry.register("event-1");
+
+        int[] slots = registry.registerAll(List.of("event-1", "event-2", "event-3", "event-4"),
+                PollingTier.PREMIUM, 500);
+
+        assertThat(slots).containsExactly(0, 1, 2, EventRegistry.NO_SLOT);
+        assertEquals(PollingTier.STANDARD, registry.tier(0));
+        assertEquals(PollingTier.PREMIUM, registry.tier(1));
+        assertEquals(500, registry.pollIntervalMillis(2));
+
+        assertThat(registry.releaseAll(List.of("event-1", "event-3", "event-1", "missing")))
+                .containsExactly("event-1", "event-3");
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void nextSequence_shouldKeepIncreasingAcrossReRegistration() throws InterruptedException {
+        EventRegistry registry = new EventRegistry(4);
+        int slot = registry.register("event-1");
+        long first = registry.nextSequence(slot);
+        assertEquals(first + 1, registry.nextSequence(slot));
+
+        registry.release("event-1");
+        Thread.sleep(5);
+        int reRegistered = registry.register("event-1");
+
+        assertThat(registry.nextSequence(reRegistered)).isGreaterThan(first + 1);
+    }
+
+    @Test
+    void versions_shouldBeMonotonicAndRejectStaleResults() {
+        EventRegistry registry = new EventRegistry(4);
+        int slot = registry.register("event-1");
+
+        long first = registry.nextVersion(slot, 1_000L);
+        long second = registry.nextVersion(slot, 1_000L);
+        long third = registry.nextVersion(slot, 900L);
+        assertEquals(1_000L, first);
+        assertEquals(1_001L, second);
+        assertEquals(1_002L, third);
+
+        assertThat(registry.claimVersion(slot, second)).isTrue();
+        assertThat(registry.claimVersion(slot, first)).isFalse();
+        assertThat(registry.claimVersion(slot, second)).isFalse();
+        assertThat(registry.claimVersion(slot, third)).isTrue();
+        assertEquals(third, registry.publishedVersion(slot));
+    }
+
+    @Test
+    void providerVersions_shouldOnlyBeComparedWithEachOther() {
+        EventRegistry registry = new EventRegistry(4);
+        int slot = registry.register("event-1");
+        long fetched = registry.nextVersion(slot, 1_000L);
+        assertThat(registry.claimVersion(slot, fetched)).isTrue();
+
+        long pushed = registry.claimProviderVersion(slot, 5, 900L);
+        assertEquals(1_001L, pushed);
+        assertEquals(pushed, registry.publishedVersion(slot));
+        assertEquals(EventRegistry.STALE_VERSION, registry.claimProviderVersion(slot, 5, 2_000L));
+        assertEquals(2_000L, registry.claimProviderVersion(slot, 6, 2_000L));
+        // A fetch issued before an accepted provider version is stale
+        assertThat(registry.claimVersion(slot, fetched + 1)).isFalse();
+    }
+
+    @Test
+    void shouldSurviveHeavyChurn() {
+        EventRegistry registry = new EventRegistry(1_000);
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                assertNotEquals(EventRegistry.NO_SLOT, registry.register("event-" + round + "-" + i));
+            }
+            registry.clear();
+            assertEquals(0, registry.size());
+        }
+        assertThat(registry.highWater()).isEqualTo(1_000);
+    }
+
+    @Test
+    void heapFootprint_shouldStaySmallPerLiveEvent(TestReporter testReporter) throws IllegalAccessException {
+        int events = 250_000;
+        EventRegistry registry = new EventRegistry(events);
+        for (int i = 0; i < events; i++) {
+            registry.register("event-" + i);
+        }
+
+        long bytes = arrayBytes(ReflectionTestUtils.getField(registry, "index"))
+                + arrayBytes(ReflectionTestUtils.getField(registry, "freeSlots"));
+        AtomicReferenceArray<?> pages = (AtomicReferenceArray<?>) ReflectionTestUtils.getField(registry, "pages");
+        bytes += (long) pages.length() * REFERENCE_BYTES;
+        for (int i = 0; i < pages.length(); i++) {
+            Object page = pages.get(i);
+            if (page != null) {
+                for (Field field : page.getClass().getDeclaredFields()) {
+                    field.setAccessible(true);
+                    bytes += arrayBytes(field.get(page));
+                }
+            }
+        }
+
+        // Excludes the eventId strings and the array headers
+        assertEquals(events, registry.size());
+        testReporter.publishEntry("bytesPerEvent", String.valueOf(bytes / events));
+        assertThat(bytes / events).as("EventRegistry heap footprint in bytes per event, %d events", events)
+                                  .isLessThan(128);
+    }
+
+    /**
+     * The bytes of the elements of the given array, with references counted as uncompressed pointers.
+     */
+    private static long arrayBytes(Object array) {
+        if (array instanceof AtomicLongArray atomic) {
+            return atomic.length() * (long) Long.BYTES;
+        }
+        if (array instanceof AtomicIntegerArray atomic) {
+            return atomic.length() * (long) Integer.BYTES;
+        }
+        assertThat(array.getClass().isArray()).as("array field of type %s", array.getClass()).isTrue();
+        Class<?> type = array.getClass().getComponentType();
+        int elementBytes = type == long.class || type == double.class ? 8
+                : type == int.class || type == float.class ? 4
+                : type == short.class || type == char.class ? 2
+                : type == byte.class || type == boolean.class ? 1
+                : REFERENCE_BYTES;
+        return Array.getLength(array) * (long) elementBytes;
+    }
+}
@@ -0,0 +1,181 @@
+package com.sports.tracker.scheduler;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.enums.PollingTier;
+import com.sports.tracker.service.HttpClientService;
+import com.sports.tracker.service.KafkaProducerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hammers the scheduler with concurrent LIVE / NOT_LIVE updates and checks that no event ends up with more
+ * than one polling loop, and none with zero.
+ */
+class EventSchedulerStressTest {
+
+    private static final int EVENTS = 32;
+    private static final int THREADS = 8;
+    private static final int CHANGES_PER_THREAD = 5_000;
+    private static final long POLL_INTERVAL_MS = 20;
+    private static final long FETCH_LATENCY_MS = 2;
+
+    private final Logger schedulerLogger = (Logger) LoggerFactory.getLogger(EventScheduler.class);
+    private final Map<String, LongAdder> fetches = new ConcurrentHashMap<>();
+    private final List<String> eventIds = new ArrayList<>();
+    private final ScheduledExecutorService provider = Executors.newScheduledThreadPool(2);
+
+    private Level schedulerLogLevel;
+    private EventRegistry eventRegistry;
+    private EventScheduler eventScheduler;
+
+    @BeforeEach
+    void setup() {
+        // Measure the scheduler, not console I/O of one log line per status change
+        schedulerLogLevel = schedulerLogger.getLevel();
+        schedulerLogger.setLevel(Level.WARN);
+
+        HttpClientService httpClientService = mock(HttpClientService.class);
+        KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+        when(httpClientService.callExternalApiAsync(anyString())).thenAnswer(invocation -> {
+            String eventId = invocation.getArgument(0);
+            fetches.computeIfAbsent(eventId, id -> new LongAdder()).increment();
+            CompletableFuture<EventScore> fetch = new CompletableFuture<>();
+            provider.schedule(() -> fetch.complete(new EventScore(eventId, "1:0")),
+                    FETCH_LATENCY_MS, TimeUnit.MILLISECONDS);
+            return fetch;
+        });
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+        when(kafkaProducerService.publishTombstoneAsync(anyString()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+
+        eventRegistry = new EventRegistry(EVENTS);
+        eventScheduler = EventSchedulerTestBuilder.builder(httpClientService, kafkaProducerService)
+                                                  .eventRegistry(eventRegistry)
+                                                  .build();
+        for (int i = 0; i < EVENTS; i++) {
+            eventIds.add("event-" + i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventScheduler.shutdown();
+        provider.shutdownNow();
+        schedulerLogger.setLevel(schedulerLogLevel);
+    }
+
+    @Test
+    void statusChurn_shouldLeaveExactlyOnePollerPerLiveEvent() throws Exception {
+        long elapsedNanos = churn();
+        double changesPerSecond = THREADS * CHANGES_PER_THREAD * 1e9 / elapsedNanos;
+        assertThat(changesPerSecond)
+                .as("status changes per second, %d changes in %d ms", THREADS * CHANGES_PER_THREAD,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .isGreaterThan(10_000);
+
+        eventScheduler.scheduleAll(eventIds, PollingTier.STANDARD, POLL_INTERVAL_MS);
+        assertThat(eventScheduler.getScheduledEventCount()).isEqualTo(EVENTS);
+
+        // Let polls of cancelled generations drain, then count fetches over a fixed window
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            for (String eventId : eventIds) {
+                assertThat(eventRegistry.pollsInFlight(eventRegistry.slotOf(eventId))).isLessThanOrEqualTo(1);
+            }
+        });
+        Map<String, Long> before = snapshot();
+        long windowMillis = 1_000;
+        long deadline = System.currentTimeMillis() + windowMillis;
+        while (System.currentTimeMillis() < deadline) {
+            for (String eventId : eventIds) {
+                assertThat(eventRegistry.pollsInFlight(eventRegistry.slotOf(eventId))).isLessThanOrEqualTo(1);
+            }
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        Map<String, Long> after = snapshot();
+
+        // One loop polls at most once per interval; a duplicate loop would double that
+        long maxPerLoop = windowMillis / POLL_INTERVAL_MS + 5;
+        for (String eventId : eventIds) {
+            assertThat(after.get(eventId) - before.get(eventId))
+                    .as("fetches of %s", eventId)
+                    .isPositive()
+                    .isLessThanOrEqualTo(maxPerLoop);
+        }
+    }
+
+    private long churn() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger bulkOperations = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+                    String eventId = eventIds.get(random.nextInt(EVENTS));
+                    int action = random.nextInt(100);
+                    if (action == 0) {
+                        eventScheduler.scheduleAll(eventIds.subList(0, EVENTS / 2), PollingTier.PREMIUM, null);
+                        bulkOperations.incrementAndGet();
+                    } else if (action == 1) {
+                        eventScheduler.cancelAll(eventIds.subList(EVENTS / 4, EVENTS));
+                        bulkOperations.incrementAndGet();
+                    } else if (action < 55) {
+                        eventScheduler.scheduleEvent(eventId, PollingTier.STANDARD, POLL_INTERVAL_MS);
+                    } else {
+                        eventScheduler.cancelEvent(eventId);
+                    }
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        executor.shutdown();
+        assertThat(bulkOperations.get()).isPositive();
+        return elapsed;
+    }
+
+    private Map<String, Long> snapshot() {
+        Map<String, Long> counts = new HashMap<>();
+        for (String eventId : eventIds) {
+            LongAdder count = fetches.get(eventId);
+            counts.put(eventId, count == null ? 0L : count.sum());
+        }
+        return counts;
+    }
+}
@@ -1,25 +1,42 @@
 package com.sports.tracker.scheduler;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.exception.AdmissionRejectedException;
+import com.sports.tracker.exception.ExternalApiUnexpectedStatusException;
 import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.enums.PollingTier;
 import com.sports.tracker.service.HttpClientService;
 import com.sports.tracker.service.KafkaProducerService;
+import com.sports.tracker.service.ScoreBatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.testcontainers.shaded.org.awaitility.Awaitility.await;
 
@@ -34,14 +51,29 @@ class EventSchedulerTest {
     @InjectMocks
     private EventScheduler eventScheduler;
 
+    private static final PollingTiers POLLING_TIERS =
+            new PollingTiers(1_000, 2_000, 10_000, 15_000, 30_000, 45_000, 10);
+
     private final EventScore dummyScore = new EventScore("event1", "1:2");
 
+    private EventRegistry eventRegistry;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private AutoCloseable mocks;
 
     @BeforeEach
     void setup() {
         mocks = MockitoAnnotations.openMocks(this);
-        eventScheduler = new EventScheduler(httpClientService, kafkaProducerService);
+        eventRegistry = new EventRegistry(16);
+        eventScheduler = EventSchedulerTestBuilder.builder(httpClientService, kafkaProducerService)
+                                                  .eventRegistry(eventRegistry)
+                                                  .pollingTiers(POLLING_TIERS)
+                                                  .lifecyclePolicy(registry -> lifecyclePolicy(21_600_000))
+                                                  .admissionControl(registry -> admissionControl(16))
+                                                  .meterRegistry(meterRegistry)
+                                                  .build();
+        when(kafkaProducerService.publishTombstoneAsync(anyString())).thenReturn(CompletableFuture.completedFuture(0L));
     }
 
     @AfterEach
@@ -52,16 +84,16 @@ class EventSchedulerTest {
 
     @Test
     void scheduleEvent_shouldStartFetchingAndPublishing() throws Exception {
-        when(httpClientService.callExternalApi("event1")).thenReturn(dummyScore);
-        doNothing().when(kafkaProducerService).sendMessage(dummyScore);
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(CompletableFuture.completedFuture(dummyScore));
+        when(kafkaProducerService.sendMessageAsync(eq(dummyScore), anyLong(), anyLong())).thenReturn(CompletableFuture.completedFuture(0L));
 
         eventScheduler.scheduleEvent("event1");
 
         // Give it a moment to start the task and perform at least one iteration
         TimeUnit.MILLISECONDS.sleep(50);
 
-        verify(httpClientService).callExternalApi("event1");
-        verify(kafkaProducerService).sendMessage(dummyScore);
+        verify(httpClientService).callExternalApiAsync("event1");
+        verify(kafkaProducerService).sendMessageAsync(eq(dummyScore), anyLong(), anyLong());
     }
 
     @Test
@@ -84,6 +116,344 @@ class EventSchedulerTest {
         Assertions.assertEquals(0, getScheduledTaskCount());
     }
 
+    @Test
+    void cancelEvent_shouldPublishSnapshotTombstone() {
+        eventScheduler.scheduleEvent("event2");
+
+        eventScheduler.cancelEvent("event2");
+
+        verify(kafkaProducerService).publishTombstoneAsync("event2");
+    }
+
+    @Test
+    void cancelEvent_shouldNotPublishTombstone_whenScoresAreAggregated() {
+        ScoreBatcher scoreBatcher = new ScoreBatcher(kafkaProducerService, new ObjectMapper(),
+                new SimpleMeterRegistry(), new SystemSchedulerClock(), "aggregated", 50, 2000, "live-sports-ticks",
+                100_000, 4);
+        EventScheduler aggregating = EventSchedulerTestBuilder.builder(httpClientService, kafkaProducerService)
+                                                              .scoreBatcher(scoreBatcher)
+                                                              .build();
+        try {
+            aggregating.scheduleEvent("event2");
+
+            aggregating.cancelEvent("event2");
+
+            verify(kafkaProducerService, never()).publishTombstoneAsync(anyString());
+        } finally {
+            aggregating.shutdown();
+        }
+    }
+
+    @Test
+    void cancelEvent_whileFetching_shouldNotPublishScore() {
+        CompletableFuture<EventScore> fetch = new CompletableFuture<>();
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(fetch);
+        eventScheduler.scheduleEvent("event1");
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(httpClientService).callExternalApiAsync("event1"));
+
+        eventScheduler.cancelEvent("event1");
+        fetch.complete(dummyScore);
+
+        verify(kafkaProducerService, never()).sendMessageAsync(any(), anyLong(), anyLong());
+        verify(kafkaProducerService).publishTombstoneAsync("event1");
+    }
+
+    @Test
+    void cancelEvent_whilePublishing_shouldRepeatTombstone() {
+        CompletableFuture<Long> publish = new CompletableFuture<>();
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(CompletableFuture.completedFuture(dummyScore));
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong())).thenReturn(publish);
+        eventScheduler.scheduleEvent("event1");
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> verify(kafkaProducerService).sendMessageAsync(any(), anyLong(), anyLong()));
+
+        eventScheduler.cancelEvent("event1");
+        publish.complete(0L);
+
+        verify(kafkaProducerService, times(2)).publishTombstoneAsync("event1");
+    }
+
+    @Test
+    void slowPublish_shouldNotDelayTheNextPoll() {
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(CompletableFuture.completedFuture(dummyScore));
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong())).thenReturn(new CompletableFuture<>());
+
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> verify(httpClientService, atLeast(3)).callExternalApiAsync("event1"));
+        assertThat(eventRegistry.lastOffset(eventRegistry.slotOf("event1"))).isEqualTo(-1L);
+    }
+
+    @Test
+    void overlappingPolls_shouldDiscardResultsOlderThanThePublishedOne() {
+        ReflectionTestUtils.setField(eventScheduler, "maxPollsInFlightPerEvent", 2);
+
+        CompletableFuture<EventScore> older = new CompletableFuture<>();
+        CompletableFuture<EventScore> newer = new CompletableFuture<>();
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(older, newer, new CompletableFuture<>());
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> verify(httpClientService, times(2)).callExternalApiAsync("event1"));
+
+        newer.complete(new EventScore("event1", "2:0"));
+        older.complete(new EventScore("event1", "1:0"));
+
+        ArgumentCaptor<Long> version = ArgumentCaptor.forClass(Long.class);
+        verify(kafkaProducerService).sendMessageAsync(eq(new EventScore("event1", "2:0")), anyLong(), version.capture());
+        verify(kafkaProducerService, never()).sendMessageAsync(eq(new EventScore("event1", "1:0")), anyLong(), anyLong());
+        assertThat(version.getValue()).isPositive();
+    }
+
+    @Test
+    void fetchedScores_shouldBeKeptInTheTimeline() {
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(
+                CompletableFuture.completedFuture(new EventScore("event1", "0:0")),
+                CompletableFuture.completedFuture(new EventScore("event1", "0:0")),
+                CompletableFuture.completedFuture(new EventScore("event1", "1:0")));
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(
+                ((ScoreTimeline) ReflectionTestUtils.getField(eventScheduler, "scoreTimeline"))
+                        .history("event1", 0, System.currentTimeMillis()).home()).containsExactly(0, 1));
+    }
+
+    @Test
+    void pushedScore_shouldBePublishedAndSuspendPollingUntilTheFeedGoesQuiet() throws Exception {
+        ReflectionTestUtils.setField(eventScheduler, "pushQuietMillis", 500L);
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(CompletableFuture.completedFuture(dummyScore));
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(httpClientService, atLeast(2))
+                .callExternalApiAsync("event1"));
+
+        EventScore pushed = new EventScore("event1", "2:2");
+        assertThat(eventScheduler.acceptPushedScore(pushed)).isEqualTo(EventScheduler.PushOutcome.ACCEPTED);
+
+        verify(kafkaProducerService).sendMessageAsync(eq(pushed), anyLong(), anyLong());
+        // A poll in flight during the push may still complete, but no new one starts
+        long polls = fetches();
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertThat(fetches()).isLessThanOrEqualTo(polls + 1);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> fetches() > polls + 3);
+    }
+
+    @Test
+    void pushedScore_shouldBeDroppedIfStaleOrNotLive() {
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(new CompletableFuture<>());
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+        eventScheduler.scheduleEvent("event1");
+
+        assertThat(eventScheduler.acceptPushedScore(new EventScore("event1", "1:0", 5L)))
+                .isEqualTo(EventScheduler.PushOutcome.ACCEPTED);
+        assertThat(eventScheduler.acceptPushedScore(new EventScore("event1", "0:0", 4L)))
+                .isEqualTo(EventScheduler.PushOutcome.STALE);
+        assertThat(eventScheduler.acceptPushedScore(new EventScore("missing", "1:0")))
+                .isEqualTo(EventScheduler.PushOutcome.NOT_LIVE);
+
+        verify(kafkaProducerService, times(1)).sendMessageAsync(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void providerVersion_shouldTakePrecedenceOverFetchStartTime() {
+        EventScore newer = new EventScore("event1", "3:1", 42L);
+        EventScore older = new EventScore("event1", "2:1", 41L);
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(CompletableFuture.completedFuture(newer),
+                CompletableFuture.completedFuture(older));
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(httpClientService, atLeast(3))
+                .callExternalApiAsync("event1"));
+        verify(kafkaProducerService).sendMessageAsync(eq(newer), anyLong(), anyLong());
+        verify(kafkaProducerService, never()).sendMessageAsync(eq(older), anyLong(), anyLong());
+    }
+
+    @Test
+    void pushedProviderVersion_afterAnUnversionedPoll_shouldBeAcceptedAndPublishedAsNewer() {
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(CompletableFuture.completedFuture(dummyScore));
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+        eventScheduler.scheduleEvent("event1");
+        ArgumentCaptor<Long> polledVersion = ArgumentCaptor.forClass(Long.class);
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(kafkaProducerService)
+                .sendMessageAsync(eq(dummyScore), anyLong(), polledVersion.capture()));
+
+        // Provider counters are far below the fetch times that version unversioned polls
+        EventScore pushed = new EventScore("event1", "1:0", 5L);
+        assertThat(eventScheduler.acceptPushedScore(pushed)).isEqualTo(EventScheduler.PushOutcome.ACCEPTED);
+        assertThat(eventScheduler.acceptPushedScore(new EventScore("event1", "0:0", 4L)))
+                .isEqualTo(EventScheduler.PushOutcome.STALE);
+
+        ArgumentCaptor<Long> pushedVersion = ArgumentCaptor.forClass(Long.class);
+        verify(kafkaProducerService).sendMessageAsync(eq(pushed), anyLong(), pushedVersion.capture());
+        assertThat(pushedVersion.getValue()).isGreaterThan(polledVersion.getValue());
+    }
+
+    @Test
+    void scheduleEvent_shouldPollAtTheIntervalOfTheTier() {
+        eventScheduler.scheduleEvent("premium", PollingTier.PREMIUM, null);
+        eventScheduler.scheduleEvent("custom", PollingTier.MINOR, 500L);
+
+        assertThat(eventScheduler.pollIntervalMillis(eventRegistry.slotOf("premium"))).isEqualTo(1_000L);
+        assertThat(eventScheduler.pollIntervalMillis(eventRegistry.slotOf("custom"))).isEqualTo(500L);
+    }
+
+    @Test
+    void scheduleEvent_whileLive_shouldChangeTierAndPullNextPollEarlier() {
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(CompletableFuture.completedFuture(dummyScore));
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+        eventScheduler.scheduleEvent("event1", PollingTier.MINOR, null);
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> verify(kafkaProducerService).sendMessageAsync(any(), anyLong(), anyLong()));
+
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 50L);
+
+        int slot = eventRegistry.slotOf("event1");
+        assertThat(eventRegistry.tier(slot)).isEqualTo(PollingTier.STANDARD);
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> verify(httpClientService, atLeast(2)).callExternalApiAsync("event1"));
+        assertThat(getScheduledTaskCount()).isEqualTo(1);
+    }
+
+    @Test
+    void scheduleEvent_shouldRejectIntervalsBelowTheMinimum() {
+        assertThatThrownBy(() -> eventScheduler.scheduleEvent("event1", PollingTier.PREMIUM, 5L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(getScheduledTaskCount()).isZero();
+    }
+
+    @Test
+    void scheduleAll_shouldStartNewEventsAndUpdateLiveOnes() {
+        eventScheduler.scheduleEvent("event1");
+
+        int scheduled = eventScheduler.scheduleAll(List.of("event1", "event2", "event3"), PollingTier.PREMIUM, null);
+
+        assertThat(scheduled).isEqualTo(2);
+        assertThat(getScheduledTaskCount()).isEqualTo(3);
+        assertThat(eventRegistry.tier(eventRegistry.slotOf("event1"))).isEqualTo(PollingTier.PREMIUM);
+        assertThat(eventRegistry.tier(eventRegistry.slotOf("event3"))).isEqualTo(PollingTier.PREMIUM);
+    }
+
+    @Test
+    void cancelAll_shouldTombstoneEachLiveEventOnce() {
+        eventScheduler.scheduleAll(List.of("event1", "event2"), PollingTier.STANDARD, null);
+
+        int cancelled = eventScheduler.cancelAll(List.of("event1", "event2", "event1", "missing"));
+
+        assertThat(cancelled).isEqualTo(2);
+        assertThat(getScheduledTaskCount()).isZero();
+        verify(kafkaProducerService, times(1)).publishTombstoneAsync("event1");
+        verify(kafkaProducerService, times(1)).publishTombstoneAsync("event2");
+        verify(kafkaProducerService, never()).publishTombstoneAsync("missing");
+    }
+
+    @Test
+    void failingEvent_shouldBackOffAndBeQuarantined() {
+        when(httpClientService.callExternalApiAsync("event1"))
+                .thenReturn(CompletableFuture.failedFuture(new ExternalApiUnexpectedStatusException(503)));
+
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+
+        // 20 ms interval without backoff; with it, polls come after 40, 80 and then 300000 ms in quarantine
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> verify(httpClientService, times(3)).callExternalApiAsync("event1"));
+        int slot = eventRegistry.slotOf("event1");
+        assertThat(eventRegistry.failureCount(slot)).isEqualTo(3);
+        assertThat(eventRegistry.nextDueMillis(slot) - System.currentTimeMillis()).isGreaterThan(60_000);
+        assertThat(getScheduledTaskCount()).isEqualTo(1);
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> assertThat(meterRegistry.get("failures").tag("category", "provider_status")
+                                                            .counter().count()).isEqualTo(3));
+        assertThat(meterRegistry.get("failures").tag("category", "unexpected").counter().count()).isZero();
+    }
+
+    @Test
+    void liveStatus_shouldLiftQuarantineImmediately() {
+        when(httpClientService.callExternalApiAsync("event1"))
+                .thenReturn(CompletableFuture.failedFuture(new ExternalApiUnexpectedStatusException(503)),
+                        CompletableFuture.failedFuture(new ExternalApiUnexpectedStatusException(503)),
+                        CompletableFuture.failedFuture(new ExternalApiUnexpectedStatusException(503)),
+                        CompletableFuture.completedFuture(dummyScore));
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> assertThat(eventRegistry.failureCount(eventRegistry.slotOf("event1"))).isEqualTo(3));
+
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+
+        await().atMost(5, TimeUnit.SECONDS)
+               .untilAsserted(() -> verify(kafkaProducerService, atLeastOnce())
+                       .sendMessageAsync(eq(dummyScore), anyLong(), anyLong()));
+        assertThat(eventRegistry.failureCount(eventRegistry.slotOf("event1"))).isZero();
+    }
+
+    @Test
+    void eventUnknownToProvider_shouldExpire() {
+        when(httpClientService.callExternalApiAsync("event1"))
+                .thenReturn(CompletableFuture.failedFuture(new ExternalApiUnexpectedStatusException(404)));
+
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> getScheduledTaskCount() == 0);
+        verify(httpClientService, times(2)).callExternalApiAsync("event1");
+        verify(kafkaProducerService, timeout(1_000)).publishTombstoneAsync("event1");
+    }
+
+    @Test
+    void eventWithoutLiveStatus_shouldExpireAfterItsTimeToLive() {
+        ReflectionTestUtils.setField(eventScheduler, "lifecyclePolicy", lifecyclePolicy(50));
+        when(httpClientService.callExternalApiAsync("event1")).thenReturn(CompletableFuture.completedFuture(dummyScore));
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(0L));
+
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, 20L);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> getScheduledTaskCount() == 0);
+        verify(kafkaProducerService, timeout(1_000)).publishTombstoneAsync("event1");
+    }
+
+    @Test
+    void scheduleEvent_atCapacity_shouldRejectNewEventsButUpdateLiveOnes() {
+        ReflectionTestUtils.setField(eventScheduler, "admissionControl", admissionControl(2));
+        eventScheduler.scheduleEvent("event1", PollingTier.MINOR, null);
+
+        assertThatThrownBy(() -> eventScheduler.scheduleEvent("event2", PollingTier.MINOR, null))
+                .isInstanceOf(AdmissionRejectedException.class);
+        eventScheduler.scheduleEvent("event1", PollingTier.STANDARD, null);
+        eventScheduler.scheduleEvent("event2", PollingTier.PREMIUM, null);
+
+        assertThat(getScheduledTaskCount()).isEqualTo(2);
+        assertThat(eventRegistry.tier(eventRegistry.slotOf("event1"))).isEqualTo(PollingTier.STANDARD);
+    }
+
+    @Test
+    void scheduleAll_atCapacity_shouldScheduleWhatFitsAndReportTheRest() {
+        ReflectionTestUtils.setField(eventScheduler, "admissionControl", admissionControl(2));
+
+        assertThatThrownBy(() -> eventScheduler.scheduleAll(List.of("event1", "event2", "event3"),
+                PollingTier.PREMIUM, null))
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, e -> {
+                    assertThat(e.getRejectedEvents()).isEqualTo(1);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(30);
+                });
+        assertThat(getScheduledTaskCount()).isEqualTo(2);
+        assertThat(eventRegistry.slotOf("event3")).isEqualTo(EventRegistry.NO_SLOT);
+    }
+
     @Test
     void cancelEvent_shouldLogWarningIfNoTask() {
         // No exception expected here, just log
@@ -91,6 +461,7 @@ class EventSchedulerTest {
             // code that should not throw any exception
             eventScheduler.cancelEvent("nonexistent");
         });
+        verify(kafkaProducerService, never()).publishTombstoneAsync(anyString());
     }
 
     @Test
@@ -107,15 +478,24 @@ class EventSchedulerTest {
                 .isZero();
     }
 
+    private AdmissionControl admissionControl(int maxLiveEvents) {
+        return new AdmissionControl(eventRegistry, POLLING_TIERS, new SimpleMeterRegistry(), maxLiveEvents, 10_000,
+                0.95, 0.5, 30);
+    }
+
+    private EventLifecyclePolicy lifecyclePolicy(long maxTtlMillis) {
+        return new EventLifecyclePolicy(eventRegistry, new SimpleMeterRegistry(), 300_000, 3, 300_000,
+                maxTtlMillis, 2);
+    }
+
+    private long fetches() {
+        return Mockito.mockingDetails(httpClientService).getInvocations().stream()
+                      .filter(invocation -> invocation.getMethod().getName().equals("callExternalApiAsync"))
+                      .count();
+    }
+
     private int getScheduledTaskCount() {
-        try {
-            var field = EventScheduler.class.getDeclaredField("scheduledTasks");
-            field.setAccessible(true);
-            Map<?, ?> map = (Map<?, ?>) field.get(eventScheduler);
-            return map.size();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return eventScheduler.getScheduledEventCount();
     }
 
     @Test
@@ -123,7 +503,8 @@ class EventSchedulerTest {
         String eventId = "testEvent";
 
         // Simulate exception thrown by HttpClientService
-        when(httpClientService.callExternalApi(eventId)).thenThrow(new RuntimeException("API failure"));
+        when(httpClientService.callExternalApiAsync(eventId))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("API failure")));
 
         eventScheduler.scheduleEvent(eventId);
 
@@ -134,10 +515,10 @@ class EventSchedulerTest {
         // Cancel task to clean up
         eventScheduler.cancelEvent(eventId);
 
-        // Verify that callExternalApi was called at least once
-        verify(httpClientService, atLeastOnce()).callExternalApi(eventId);
+        // Verify that callExternalApiAsync was called at least once
+        verify(httpClientService, atLeastOnce()).callExternalApiAsync(eventId);
 
-        // Verify no interactions with KafkaProducer since exception prevents sending
-        verifyNoInteractions(kafkaProducerService);
+        // Verify nothing was published since exception prevents sending
+        verify(kafkaProducerService, never()).sendMessageAsync(any(), anyLong(), anyLong());
     }
 }
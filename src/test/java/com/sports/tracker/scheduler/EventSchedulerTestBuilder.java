@@ -0,0 +1,112 @@
+package com.sports.tracker.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.exception.FailureCounter;
+import com.sports.tracker.jfr.JfrEvents;
+import com.sports.tracker.service.HttpClientService;
+import com.sports.tracker.service.KafkaProducerService;
+import com.sports.tracker.service.ScoreBatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.function.Function;
+
+/**
+ * Builds an {@link EventScheduler} for tests, with defaults for every collaborator a test does not set: no
+ * score batching, no admission limits, the system clock and a lifecycle policy that quarantines after ten
+ * failures. Collaborators that need the registry are created from it when the scheduler is built.
+ */
+final class EventSchedulerTestBuilder {
+
+    static final PollingTiers DEFAULT_TIERS = new PollingTiers(1_000, 2_000, 10_000, 15_000, 30_000, 45_000, 10);
+
+    private final HttpClientService httpClientService;
+    private final KafkaProducerService kafkaProducerService;
+    private EventRegistry eventRegistry;
+    private PollingTiers pollingTiers = DEFAULT_TIERS;
+    private ScoreBatcher scoreBatcher;
+    private Function<EventRegistry, EventLifecyclePolicy> lifecyclePolicy = registry -> new EventLifecyclePolicy(
+            registry, new SimpleMeterRegistry(), 300_000, 10, 300_000, 21_600_000, 5);
+    private Function<EventRegistry, AdmissionControl> admissionControl;
+    private Function<EventRegistry, ScoreTimeline> scoreTimeline = registry -> new ScoreTimeline(registry,
+            new SimpleMeterRegistry(), 8, 3_600_000, 1 << 20);
+    private SchedulerClock clock = new SystemSchedulerClock();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EventSchedulerTestBuilder(HttpClientService httpClientService, KafkaProducerService kafkaProducerService) {
+        this.httpClientService = httpClientService;
+        this.kafkaProducerService = kafkaProducerService;
+    }
+
+    static EventSchedulerTestBuilder builder(HttpClientService httpClientService,
+                                             KafkaProducerService kafkaProducerService) {
+        return new EventSchedulerTestBuilder(httpClientService, kafkaProducerService);
+    }
+
+    /**
+     * Defaults to a registry of 16 events.
+     */
+    EventSchedulerTestBuilder eventRegistry(EventRegistry eventRegistry) {
+        this.eventRegistry = eventRegistry;
+        return this;
+    }
+
+    EventSchedulerTestBuilder pollingTiers(PollingTiers pollingTiers) {
+        this.pollingTiers = pollingTiers;
+        return this;
+    }
+
+    /**
+     * Defaults to a batcher in mode {@code none}, which publishes every score right away.
+     */
+    EventSchedulerTestBuilder scoreBatcher(ScoreBatcher scoreBatcher) {
+        this.scoreBatcher = scoreBatcher;
+        return this;
+    }
+
+    EventSchedulerTestBuilder lifecyclePolicy(Function<EventRegistry, EventLifecyclePolicy> lifecyclePolicy) {
+        this.lifecyclePolicy = lifecyclePolicy;
+        return this;
+    }
+
+    /**
+     * Defaults to admitting up to 100,000 events at up to 1,000,000 polls per second, in every tier.
+     */
+    EventSchedulerTestBuilder admissionControl(Function<EventRegistry, AdmissionControl> admissionControl) {
+        this.admissionControl = admissionControl;
+        return this;
+    }
+
+    EventSchedulerTestBuilder scoreTimeline(Function<EventRegistry, ScoreTimeline> scoreTimeline) {
+        this.scoreTimeline = scoreTimeline;
+        return this;
+    }
+
+    EventSchedulerTestBuilder clock(SchedulerClock clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    /**
+     * The registry the {@code failures} counters are registered in.
+     */
+    EventSchedulerTestBuilder meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    EventScheduler build() {
+        // Registered by JfrEventRegistration in the application, otherwise the first poll initializes JFR
+        JfrEvents.preload();
+        EventRegistry registry = eventRegistry != null ? eventRegistry : new EventRegistry(16);
+        ScoreBatcher batcher = scoreBatcher != null ? scoreBatcher : new ScoreBatcher(kafkaProducerService,
+                new ObjectMapper(), new SimpleMeterRegistry(), clock, "none", 50, 2000, "live-sports-ticks", 100_000,
+                4);
+        AdmissionControl admission = admissionControl != null ? admissionControl.apply(registry)
+                : new AdmissionControl(registry, pollingTiers, new SimpleMeterRegistry(), 100_000, 1_000_000, 1.0,
+                        1.0, 30);
+        return new EventScheduler(httpClientService, kafkaProducerService, batcher, registry, pollingTiers,
+                new PollingSlaMonitor(pollingTiers, new SimpleMeterRegistry()), lifecyclePolicy.apply(registry),
+                admission, scoreTimeline.apply(registry), clock, new FailureCounter(meterRegistry));
+    }
+}
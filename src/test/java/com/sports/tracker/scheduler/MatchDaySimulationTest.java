@@ -0,0 +1,274 @@
+package com.sports.tracker.scheduler;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.enums.PollingTier;
+import com.sports.tracker.service.HttpClientService;
+import com.sports.tracker.service.KafkaProducerService;
+import com.sports.tracker.service.ScoreBatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replays a match day on a {@link SimulatedSchedulerClock}: events kick off spread over the day, stay live for a
+ * match and end, while a simulated provider answers every fetch after a random latency. Reports poll counts,
+ * fairness and drift per tier; the scenario is seeded, so a replay is deterministic.
+ */
+class MatchDaySimulationTest {
+
+    private static final int EVENTS = Integer.getInteger("simulation.events", 5_000);
+    private static final long DAY_START = Instant.parse("2026-05-16T00:00:00Z").toEpochMilli();
+    private static final long FIRST_KICKOFF = TimeUnit.HOURS.toMillis(10);
+    private static final long LAST_KICKOFF = TimeUnit.HOURS.toMillis(22);
+    private static final long MATCH_MILLIS = TimeUnit.MINUTES.toMillis(110);
+    private static final long RESOLUTION_MS = 100;
+    private static final long MIN_FETCH_LATENCY_MS = 20;
+    private static final long MAX_FETCH_LATENCY_MS = 300;
+    private static final CompletableFuture<Long> PUBLISHED = CompletableFuture.completedFuture(0L);
+    private static final int MAX_POLLS_PER_SECOND = 10_000;
+    private static final int MAX_DRIFT_MS = 10_000;
+
+    private static final PollingTiers TIERS = new PollingTiers(1_000, 2_000, 10_000, 15_000, 30_000, 45_000, 250);
+
+    private final Logger schedulerLogger = (Logger) LoggerFactory.getLogger(EventScheduler.class);
+    private Level schedulerLogLevel;
+
+    @BeforeEach
+    void quietScheduler() {
+        // Measure the scheduler, not console I/O of two log lines per event
+        schedulerLogLevel = schedulerLogger.getLevel();
+        schedulerLogger.setLevel(Level.WARN);
+    }
+
+    @AfterEach
+    void restoreLogLevel() {
+        schedulerLogger.setLevel(schedulerLogLevel);
+    }
+
+    @Test
+    void matchDay_shouldPollEveryEventAtItsCadence() {
+        Report report = new Simulation(EVENTS, 42, RESOLUTION_MS).replay();
+
+        assertThat(report.unpolledEvents()).isZero();
+        for (PollingTier tier : PollingTier.values()) {
+            int i = tier.ordinal();
+            assertThat(report.polls()[i]).as("%s polls", tier).isPositive();
+            // Every event of a tier got its share of polls
+            assertThat(report.fairness()[i]).as("%s fairness", tier).isGreaterThan(0.99);
+            // The next poll is due an interval after the previous one completed, and starts at most a wake-up late
+            assertThat(report.maxDriftMillis()[i]).as("%s max drift", tier)
+                                                 .isBetween(MIN_FETCH_LATENCY_MS, MAX_FETCH_LATENCY_MS + RESOLUTION_MS);
+        }
+        assertThat(report.peakPollsPerSecond()).isLessThanOrEqualTo(MAX_POLLS_PER_SECOND);
+    }
+
+    @Test
+    void replay_shouldBeDeterministic() {
+        assertThat(new Simulation(1_000, 7, 1_000).replay()).isEqualTo(new Simulation(1_000, 7, 1_000).replay());
+    }
+
+    @Test
+    void runSimulation_shouldRequireASimulatedClock() {
+        EventScheduler scheduler = new Simulation(1, 1, RESOLUTION_MS).scheduler(new SystemSchedulerClock());
+
+        assertThatThrownBy(() -> scheduler.runSimulation(0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * @param polls              polls per tier
+     * @param fairness           Jain's fairness index of the events' polls relative to their expected polls, per
+     *                           tier: 1.0 if every event got the same share
+     * @param p99DriftMillis     99th percentile of how much later than one interval after the previous one a
+     *                           poll started, per tier
+     * @param maxDriftMillis     the largest such delay per tier
+     * @param peakPollsPerSecond the most polls started within one simulated second
+     * @param unpolledEvents     events that went live but were never polled
+     */
+    record Report(long[] polls, double[] fairness, long[] p99DriftMillis, long[] maxDriftMillis,
+                  int peakPollsPerSecond, int unpolledEvents) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Report report
+                    && Arrays.equals(polls, report.polls)
+                    && Arrays.equals(fairness, report.fairness)
+                    && Arrays.equals(p99DriftMillis, report.p99DriftMillis)
+                    && Arrays.equals(maxDriftMillis, report.maxDriftMillis)
+                    && peakPollsPerSecond == report.peakPollsPerSecond
+                    && unpolledEvents == report.unpolledEvents;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(polls);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (PollingTier tier : PollingTier.values()) {
+                int i = tier.ordinal();
+                text.append(String.format("%s: %d polls, fairness %.4f, drift p99 %d ms max %d ms; ",
+                        tier, polls[i], fairness[i], p99DriftMillis[i], maxDriftMillis[i]));
+            }
+            return text.append(String.format("peak %d polls/s, %d unpolled events", peakPollsPerSecond,
+                    unpolledEvents)).toString();
+        }
+    }
+
+    private static final class Simulation {
+
+        private final int events;
+        private final SplittableRandom random;
+        private final SimulatedSchedulerClock clock;
+        private final PollingTier[] tiers;
+        private final long[] kickoffs;
+        private final long[] polls;
+        private final long[] lastPollMillis;
+        private final int[] pollsPerSecond = new int[(int) TimeUnit.DAYS.toSeconds(1)];
+        private final int[][] driftHistogram = new int[PollingTier.values().length][MAX_DRIFT_MS + 1];
+        private final long[] maxDrift = new long[PollingTier.values().length];
+
+        private Simulation(int events, long seed, long resolutionMillis) {
+            this.events = events;
+            this.clock = new SimulatedSchedulerClock(DAY_START, resolutionMillis);
+            this.random = new SplittableRandom(seed);
+            this.tiers = new PollingTier[events];
+            this.kickoffs = new long[events];
+            this.polls = new long[events];
+            this.lastPollMillis = new long[events];
+            for (int e = 0; e < events; e++) {
+                int draw = random.nextInt(100);
+                tiers[e] = draw < 2 ? PollingTier.PREMIUM : draw < 20 ? PollingTier.STANDARD : PollingTier.MINOR;
+                kickoffs[e] = DAY_START + random.nextLong(FIRST_KICKOFF, LAST_KICKOFF);
+            }
+        }
+
+        Report replay() {
+            EventScheduler scheduler = scheduler(clock);
+            for (int e = 0; e < events; e++) {
+                String eventId = "match-" + e;
+                PollingTier tier = tiers[e];
+                clock.schedule(kickoffs[e] - DAY_START, () -> scheduler.scheduleEvent(eventId, tier, null));
+                clock.schedule(kickoffs[e] - DAY_START + MATCH_MILLIS, () -> scheduler.cancelEvent(eventId));
+            }
+            scheduler.runSimulation(DAY_START + TimeUnit.DAYS.toMillis(1) - 1);
+            scheduler.shutdown();
+            return report();
+        }
+
+        EventScheduler scheduler(SchedulerClock schedulerClock) {
+            // Fakes rather than mocks on the polling path: a day is tens of millions of polls
+            HttpClientService provider = new HttpClientService(null, null, null, null, null) {
+                @Override
+                public CompletableFuture<EventScore> callExternalApiAsync(String eventId) {
+                    recordPoll(Integer.parseInt(eventId, "match-".length(), eventId.length(), 10));
+                    CompletableFuture<EventScore> fetch = new CompletableFuture<>();
+                    clock.schedule(random.nextLong(MIN_FETCH_LATENCY_MS, MAX_FETCH_LATENCY_MS),
+                            () -> fetch.complete(new EventScore(eventId, "0:0")));
+                    return fetch;
+                }
+            };
+            KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+            when(kafkaProducerService.publishTombstoneAsync(anyString()))
+                    .thenReturn(CompletableFuture.completedFuture(0L));
+            ScoreBatcher scoreBatcher = new ScoreBatcher(kafkaProducerService, new ObjectMapper(),
+                    new SimpleMeterRegistry(), schedulerClock, "none", 50, 2000, "live-sports-ticks", 100_000, 4) {
+                @Override
+                public CompletableFuture<Long> submit(EventScore eventScore, long sequence, long version) {
+                    return PUBLISHED;
+                }
+            };
+
+            EventRegistry eventRegistry = new EventRegistry(Math.max(events, EventRegistry.PAGE_SIZE));
+            return EventSchedulerTestBuilder.builder(provider, kafkaProducerService)
+                                            .eventRegistry(eventRegistry)
+                                            .pollingTiers(TIERS)
+                                            .scoreBatcher(scoreBatcher)
+                                            .admissionControl(registry -> new AdmissionControl(registry, TIERS,
+                                                    new SimpleMeterRegistry(), 100_000, MAX_POLLS_PER_SECOND, 0.95,
+                                                    0.8, 30))
+                                            .scoreTimeline(registry -> new ScoreTimeline(registry,
+                                                    new SimpleMeterRegistry(), 8, 3_600_000, 1 << 26))
+                                            .clock(schedulerClock)
+                                            .build();
+        }
+
+        private void recordPoll(int e) {
+            long now = clock.currentTimeMillis();
+            if (polls[e]++ > 0) {
+                int tier = tiers[e].ordinal();
+                long drift = now - lastPollMillis[e] - TIERS.pollIntervalMillis(tiers[e]);
+                driftHistogram[tier][(int) Math.max(0, Math.min(MAX_DRIFT_MS, drift))]++;
+                maxDrift[tier] = Math.max(maxDrift[tier], drift);
+            }
+            lastPollMillis[e] = now;
+            pollsPerSecond[(int) ((now - DAY_START) / 1_000)]++;
+        }
+
+        private Report report() {
+            int tierCount = PollingTier.values().length;
+            long[] tierPolls = new long[tierCount];
+            double[] sum = new double[tierCount];
+            double[] sumOfSquares = new double[tierCount];
+            int[] tierEvents = new int[tierCount];
+            int unpolled = 0;
+            for (int e = 0; e < events; e++) {
+                int tier = tiers[e].ordinal();
+                double share = polls[e] / (double) (MATCH_MILLIS / TIERS.pollIntervalMillis(tiers[e]));
+                tierPolls[tier] += polls[e];
+                sum[tier] += share;
+                sumOfSquares[tier] += share * share;
+                tierEvents[tier]++;
+                if (polls[e] == 0) {
+                    unpolled++;
+                }
+            }
+            double[] fairness = new double[tierCount];
+            long[] p99Drift = new long[tierCount];
+            for (int tier = 0; tier < tierCount; tier++) {
+                fairness[tier] = sumOfSquares[tier] == 0 ? 1.0
+                        : sum[tier] * sum[tier] / (tierEvents[tier] * sumOfSquares[tier]);
+                p99Drift[tier] = percentile(driftHistogram[tier], 0.99);
+            }
+            int peak = 0;
+            for (int count : pollsPerSecond) {
+                peak = Math.max(peak, count);
+            }
+            return new Report(tierPolls, fairness, p99Drift, maxDrift, peak, unpolled);
+        }
+
+        private static long percentile(int[] histogram, double percentile) {
+            long total = 0;
+            for (int count : histogram) {
+                total += count;
+            }
+            long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int millis = 0; millis < histogram.length; millis++) {
+                seen += histogram[millis];
+                if (seen >= rank && seen > 0) {
+                    return millis;
+                }
+            }
+            return 0;
+        }
+    }
+}
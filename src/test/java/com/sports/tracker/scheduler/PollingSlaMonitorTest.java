@@ -0,0 +1,31 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.enums.PollingTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PollingSlaMonitorTest {
+
+    @Test
+    void attainment_shouldBeShareOfFetchGapsWithinTheTierSla() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PollingTiers tiers = new PollingTiers(1_000, 2_000, 10_000, 15_000, 30_000, 45_000, 250);
+        PollingSlaMonitor monitor = new PollingSlaMonitor(tiers, meterRegistry);
+
+        monitor.recordFetchGap(PollingTier.PREMIUM, 1_000);
+        monitor.recordFetchGap(PollingTier.PREMIUM, 1_900);
+        monitor.recordFetchGap(PollingTier.PREMIUM, 2_500);
+        monitor.recordFetchGap(PollingTier.MINOR, 30_000);
+
+        assertEquals(2.0 / 3, monitor.attainment(PollingTier.PREMIUM), 1e-9);
+        assertEquals(1.0, monitor.attainment(PollingTier.MINOR));
+        assertEquals(1.0, monitor.attainment(PollingTier.STANDARD));
+        assertEquals(1.0, meterRegistry.get("scheduler.sla.fetches")
+                                       .tag("tier", "premium").tag("outcome", "missed")
+                                       .counter().count());
+        assertEquals(2.0 / 3, meterRegistry.get("scheduler.sla.attainment").tag("tier", "premium")
+                                           .gauge().value(), 1e-9);
+    }
+}
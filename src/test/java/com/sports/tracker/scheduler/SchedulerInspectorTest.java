@@ -0,0 +1,113 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.ScheduledEventPage;
+import com.sports.tracker.model.ScheduledEventState;
+import com.sports.tracker.model.enums.PollingTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SchedulerInspectorTest {
+
+    private static final SchedulerInspector.Filter NO_FILTER = new SchedulerInspector.Filter(null, null, null, null, null, null);
+
+    private EventRegistry registry;
+    private SchedulerInspector inspector;
+    private EventScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EventRegistry(64);
+        scheduler = mock(EventScheduler.class);
+        when(scheduler.pollIntervalMillis(anyInt())).thenReturn(10_000L);
+        inspector = new SchedulerInspector(registry, scheduler, new SystemSchedulerClock());
+
+        for (int i = 0; i < 10; i++) {
+            int slot = registry.register((i % 2 == 0 ? "football-" : "tennis-") + i);
+            registry.setNextDueMillis(slot, System.currentTimeMillis() + 60_000);
+        }
+    }
+
+    @Test
+    void inspect_shouldPaginateInSlotOrder() {
+        ScheduledEventPage first = inspector.inspect(NO_FILTER, 0, 4);
+        ScheduledEventPage last = inspector.inspect(NO_FILTER, 2, 4);
+
+        assertEquals(10, first.totalMatching());
+        assertEquals(10, first.liveEvents());
+        assertEquals(4, first.events().size());
+        assertEquals("football-0", first.events().get(0).eventId());
+        assertEquals(2, last.events().size());
+        assertEquals("tennis-9", last.events().get(1).eventId());
+    }
+
+    @Test
+    void inspect_shouldFilterByPrefixAndFailures() {
+        int slot = registry.slotOf("tennis-3");
+        registry.recordFailure(slot);
+        registry.recordFailure(slot);
+
+        ScheduledEventPage tennis = inspector.inspect(new SchedulerInspector.Filter("tennis-", null, null, null, null, null), 0, 100);
+        ScheduledEventPage failing = inspector.inspect(new SchedulerInspector.Filter(null, 2, null, null, null, null), 0, 100);
+
+        assertEquals(5, tennis.totalMatching());
+        assertEquals(1, failing.totalMatching());
+        assertEquals(2, failing.events().get(0).consecutiveFailures());
+    }
+
+    @Test
+    void inspect_shouldFilterByTier() {
+        registry.updateCadence(registry.slotOf("football-4"), "football-4", PollingTier.PREMIUM, 0);
+
+        ScheduledEventPage premium = inspector.inspect(
+                new SchedulerInspector.Filter(null, null, null, null, null, PollingTier.PREMIUM), 0, 10);
+
+        assertEquals(1, premium.totalMatching());
+        assertEquals(PollingTier.PREMIUM, premium.events().get(0).tier());
+    }
+
+    @Test
+    void inspect_shouldReportInFlightAndOverdueEvents() {
+        int inFlightSlot = registry.slotOf("football-0");
+        registry.setNextDueMillis(inFlightSlot, EventRegistry.NOT_DUE);
+        registry.beginPoll(inFlightSlot);
+        int overdueSlot = registry.slotOf("football-2");
+        registry.setNextDueMillis(overdueSlot, System.currentTimeMillis() - 5_000);
+        registry.recordFetch(overdueSlot, 3, 1, System.currentTimeMillis(), 120);
+
+        ScheduledEventPage inFlight = inspector.inspect(new SchedulerInspector.Filter(null, null, null, null, true, null), 0, 10);
+        ScheduledEventPage overdue = inspector.inspect(new SchedulerInspector.Filter(null, null, null, 1_000L, null, null), 0, 10);
+
+        ScheduledEventState inFlightState = inFlight.events().get(0);
+        assertTrue(inFlightState.inFlight());
+        assertNull(inFlightState.nextDueAt());
+
+        ScheduledEventState overdueState = overdue.events().get(0);
+        assertEquals(1, overdue.totalMatching());
+        assertFalse(overdueState.inFlight());
+        assertEquals("3:1", overdueState.currentScore());
+        assertEquals(120, overdueState.lastFetchLatencyMs());
+        assertEquals(10_000L, overdueState.pollIntervalMs());
+    }
+
+    @Test
+    void inspect_shouldMeasureOverdueTimesOnTheSchedulerClock() {
+        SimulatedSchedulerClock clock = new SimulatedSchedulerClock(System.currentTimeMillis() + 120_000);
+        SchedulerInspector simulated = new SchedulerInspector(registry, scheduler, clock);
+
+        ScheduledEventPage overdue = simulated.inspect(new SchedulerInspector.Filter(null, null, null, 30_000L, null,
+                null), 0, 10);
+
+        // Every event was due 60 s after the real now, so 60 s before the simulated one
+        assertEquals(10, overdue.totalMatching());
+        assertEquals(0, inspector.inspect(new SchedulerInspector.Filter(null, null, null, 30_000L, null, null), 0, 10)
+                                 .totalMatching());
+    }
+}
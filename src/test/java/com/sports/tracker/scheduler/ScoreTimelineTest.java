@@ -0,0 +1,75 @@
+package com.sports.tracker.scheduler;
+
+import com.sports.tracker.model.ScoreHistory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreTimelineTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private final EventRegistry eventRegistry = new EventRegistry(2048);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScoreTimeline timeline = new ScoreTimeline(eventRegistry, meterRegistry, 4, 60_000, 1 << 20);
+
+    @Test
+    void shouldRecordScoreChangesOnly() {
+        int slot = eventRegistry.register("event-1");
+        int generation = eventRegistry.generation(slot);
+
+        timeline.record(slot, generation, NOW - 300, 0, 0);
+        timeline.record(slot, generation, NOW - 200, 0, 0);
+        timeline.record(slot, generation, NOW - 100, 1, 0);
+        timeline.record(slot, generation, NOW - 50, -1, -1);
+
+        ScoreHistory history = timeline.history("event-1", 0, NOW);
+        assertThat(history.timestamps()).containsExactly(NOW - 300, NOW - 100);
+        assertThat(history.home()).containsExactly(0, 1);
+        assertThat(history.away()).containsExactly(0, 0);
+    }
+
+    @Test
+    void shouldKeepTheLatestChangesWithinSinceAndRetention() {
+        int slot = eventRegistry.register("event-1");
+        int generation = eventRegistry.generation(slot);
+        for (int goals = 0; goals < 6; goals++) {
+            timeline.record(slot, generation, NOW - 110_000 + goals * 20_000, goals, 0);
+        }
+
+        // The ring holds the last four changes; the oldest of them is past the one minute retention
+        assertThat(timeline.history("event-1", 0, NOW).home()).containsExactly(3, 4, 5);
+        assertThat(timeline.history("event-1", NOW - 20_000, NOW).home()).containsExactly(5);
+        assertThat(timeline.history("event-1", NOW, NOW).timestamps()).isEmpty();
+    }
+
+    @Test
+    void historyOfAnEvent_shouldEndWithItsSlot() {
+        int slot = eventRegistry.register("event-1");
+        timeline.record(slot, eventRegistry.generation(slot), NOW, 2, 1);
+        eventRegistry.release("event-1");
+
+        assertThat(timeline.history("event-1", 0, NOW)).isNull();
+
+        assertThat(eventRegistry.register("event-2")).isEqualTo(slot);
+        assertThat(timeline.history("event-2", 0, NOW).timestamps()).isEmpty();
+        timeline.record(slot, eventRegistry.generation(slot), NOW, 0, 1);
+        assertThat(timeline.history("event-2", 0, NOW).away()).containsExactly(1);
+    }
+
+    @Test
+    void shouldStayWithinTheMemoryCapAndAllocatePagesLazily() {
+        // 2048 slots at 8 + 12 bytes per entry: 64 KiB afford two entries per event
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ScoreTimeline capped = new ScoreTimeline(eventRegistry, meterRegistry, 32, 60_000, 64 * 1024);
+        assertThat(capped.entriesPerEvent()).isEqualTo(2);
+        assertThat(meterRegistry.get("score.history.memory").gauge().value()).isZero();
+
+        int slot = eventRegistry.register("event-1");
+        capped.record(slot, eventRegistry.generation(slot), NOW, 1, 1);
+
+        assertThat(meterRegistry.get("score.history.memory").gauge().value())
+                .isEqualTo(EventRegistry.PAGE_SIZE * (8 + 2 * 12));
+    }
+}
@@ -0,0 +1,42 @@
+package com.sports.tracker.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulatedSchedulerClockTest {
+
+    @Test
+    void parkUntil_shouldRunDueActionsInTimeOrderAndJumpToTheWakeUp() {
+        SimulatedSchedulerClock clock = new SimulatedSchedulerClock(1_000);
+        List<String> ran = new ArrayList<>();
+        clock.schedule(50, () -> ran.add("b@" + clock.currentTimeMillis()));
+        clock.schedule(20, () -> {
+            ran.add("a@" + clock.currentTimeMillis());
+            clock.schedule(10, () -> ran.add("a2@" + clock.currentTimeMillis()));
+        });
+        clock.schedule(50, () -> ran.add("c@" + clock.currentTimeMillis()));
+        clock.schedule(500, () -> ran.add("late"));
+
+        clock.parkUntil(1_100);
+
+        assertThat(ran).containsExactly("a@1020", "a2@1030", "b@1050", "c@1050");
+        assertThat(clock.currentTimeMillis()).isEqualTo(1_100);
+        assertThat(clock.pendingActions()).isEqualTo(1);
+    }
+
+    @Test
+    void parkUntil_shouldRoundWakeUpsToTheResolution() {
+        SimulatedSchedulerClock clock = new SimulatedSchedulerClock(1_000, 100);
+
+        clock.parkUntil(1_001);
+        assertThat(clock.currentTimeMillis()).isEqualTo(1_100);
+
+        // A wake-up in the past still moves time forward
+        clock.parkUntil(900);
+        assertThat(clock.currentTimeMillis()).isEqualTo(1_101);
+    }
+}
@@ -1,11 +1,21 @@
 package com.sports.tracker.service;
 
+import com.sports.tracker.exception.AdmissionRejectedException;
 import com.sports.tracker.model.EventStatus;
+import com.sports.tracker.model.enums.PollingTier;
 import com.sports.tracker.model.enums.Status;
 import com.sports.tracker.scheduler.EventScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -31,10 +41,22 @@ class EventServiceTest {
         eventService.updateEventStatus(liveStatus);
 
         // then
-        verify(eventScheduler).scheduleEvent("event-1");
+        verify(eventScheduler).scheduleEvent("event-1", PollingTier.STANDARD, null);
         verify(eventScheduler, never()).cancelEvent(anyString());
     }
 
+    @Test
+    void shouldScheduleEventInRequestedTier_whenStatusIsLive() {
+        // given
+        EventStatus premium = new EventStatus("event-1", Status.LIVE, PollingTier.PREMIUM, 500L);
+
+        // when
+        eventService.updateEventStatus(premium);
+
+        // then
+        verify(eventScheduler).scheduleEvent("event-1", PollingTier.PREMIUM, 500L);
+    }
+
     @Test
     void shouldCancelEvent_whenStatusIsNotLive() {
         // given
@@ -45,6 +67,65 @@ class EventServiceTest {
 
         // then
         verify(eventScheduler).cancelEvent("event-2");
-        verify(eventScheduler, never()).scheduleEvent(anyString());
+        verify(eventScheduler, never()).scheduleEvent(anyString(), any(), any());
+    }
+
+    @Test
+    void shouldApplyBatchWithBulkOperations_whenLastStatusOfEachEventWins() {
+        // given
+        List<EventStatus> statuses = List.of(
+                new EventStatus("event-1", Status.LIVE),
+                new EventStatus("event-2", Status.LIVE, PollingTier.PREMIUM, null),
+                new EventStatus("event-3", Status.NOT_LIVE),
+                new EventStatus("event-4", Status.LIVE),
+                new EventStatus("event-1", Status.NOT_LIVE));
+
+        // when
+        eventService.updateEventStatuses(statuses);
+
+        // then
+        verify(eventScheduler).cancelAll(List.of("event-1", "event-3"));
+        verify(eventScheduler).scheduleAll(List.of("event-2"), PollingTier.PREMIUM, null);
+        verify(eventScheduler).scheduleAll(List.of("event-4"), PollingTier.STANDARD, null);
+    }
+
+    @Test
+    void shouldAdmitHigherTiersFirstAndReportAllRejections() {
+        // given
+        doThrow(new AdmissionRejectedException("full", 2, 30))
+                .when(eventScheduler).scheduleAll(List.of("minor-1", "minor-2"), PollingTier.MINOR, null);
+        doThrow(new AdmissionRejectedException("full", 1, 30))
+                .when(eventScheduler).scheduleAll(List.of("standard-1"), PollingTier.STANDARD, null);
+        List<EventStatus> statuses = List.of(
+                new EventStatus("minor-1", Status.LIVE, PollingTier.MINOR, null),
+                new EventStatus("standard-1", Status.LIVE),
+                new EventStatus("minor-2", Status.LIVE, PollingTier.MINOR, null),
+                new EventStatus("premium-1", Status.LIVE, PollingTier.PREMIUM, null));
+
+        // when
+        AdmissionRejectedException rejection = assertThrows(AdmissionRejectedException.class,
+                () -> eventService.updateEventStatuses(statuses));
+
+        // then
+        assertEquals(3, rejection.getRejectedEvents());
+        assertEquals(30, rejection.getRetryAfterSeconds());
+        InOrder inOrder = inOrder(eventScheduler);
+        inOrder.verify(eventScheduler).scheduleAll(List.of("premium-1"), PollingTier.PREMIUM, null);
+        inOrder.verify(eventScheduler).scheduleAll(List.of("standard-1"), PollingTier.STANDARD, null);
+        inOrder.verify(eventScheduler).scheduleAll(List.of("minor-1", "minor-2"), PollingTier.MINOR, null);
+    }
+
+    @Test
+    void shouldRejectWholeBatch_whenAnIntervalIsInvalid() {
+        // given
+        doThrow(new IllegalArgumentException("bad interval")).when(eventScheduler).validatePollInterval(1L);
+        List<EventStatus> statuses = List.of(
+                new EventStatus("event-1", Status.NOT_LIVE),
+                new EventStatus("event-2", Status.LIVE, PollingTier.PREMIUM, 1L));
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> eventService.updateEventStatuses(statuses));
+        verify(eventScheduler, never()).cancelAll(any());
+        verify(eventScheduler, never()).scheduleAll(any(), any(), any());
     }
 }
@@ -1,34 +1,65 @@
 package com.sports.tracker.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.config.RetryConfigFactory;
 import com.sports.tracker.exception.ExternalApiCallFailedException;
 import com.sports.tracker.exception.ExternalApiUnexpectedStatusException;
+import com.sports.tracker.http.HedgedRequests;
+import com.sports.tracker.jfr.ExternalApiCallEvent;
+import com.sports.tracker.jfr.JsonDecodeEvent;
+import com.sports.tracker.logging.LogSampler;
 import com.sports.tracker.model.EventScore;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 
 class HttpClientServiceTest {
 
     private static MockWebServer mockWebServer;
 
+    private static final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+
     private HttpClientService httpClientService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeAll
     static void startServer() throws IOException {
         mockWebServer = new MockWebServer();
@@ -38,6 +69,7 @@ class HttpClientServiceTest {
     @AfterAll
     static void stopServer() throws IOException {
         mockWebServer.shutdown();
+        retryScheduler.shutdownNow();
     }
 
     @BeforeEach
@@ -46,9 +78,13 @@ class HttpClientServiceTest {
         Retry retry = Retry.of("test", RetryConfig.custom()
                                                   .maxAttempts(2)
                                                   .waitDuration(Duration.ofMillis(100))
+                                                  .retryOnException(RetryConfigFactory::isRetryableHttpFailure)
                                                   .build());
 
-        httpClientService = Mockito.spy(new HttpClientService(retry, objectMapper));
+        meterRegistry = new SimpleMeterRegistry();
+        HedgedRequests hedgedRequests = new HedgedRequests(meterRegistry, retryScheduler, 0.95, 20, 100, 1.0);
+        httpClientService = Mockito.spy(new HttpClientService(retry, objectMapper, retryScheduler, hedgedRequests,
+                new LogSampler(1.0)));
         setField(httpClientService, mockWebServer.url("/events/{eventId}/score").toString());
     }
 
@@ -78,7 +114,7 @@ class HttpClientServiceTest {
         assertInstanceOf(ExternalApiUnexpectedStatusException.class, cause, "Expected cause to be ExternalApiUnexpectedStatusException");
         assertEquals("Unexpected response status from external API: 500", cause.getMessage());
         String url = mockWebServer.url("/events/%7BeventId%7D/score").toString();
-        Mockito.verify(httpClientService, times(2)).performHttpCall(url);
+        Mockito.verify(httpClientService, times(2)).performHttpCallAsync(anyString(), eq(url), anyInt());
     }
 
     @Test
@@ -93,7 +129,7 @@ class HttpClientServiceTest {
                 () -> httpClientService.callExternalApi("e3"));
 
         String url = mockWebServer.url("/events/%7BeventId%7D/score").toString();
-        Mockito.verify(httpClientService, times(2)).performHttpCall(url);
+        Mockito.verify(httpClientService, times(2)).performHttpCallAsync(anyString(), eq(url), anyInt());
     }
 
     @Test
@@ -104,6 +140,143 @@ class HttpClientServiceTest {
                 () -> httpClientService.callExternalApi("e4"));
     }
 
+    @Test
+    void callExternalApiAsync_shouldReturnEventScoreOnSuccess() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"eventId\":\"e5\",\"currentScore\":\"0:3\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        EventScore score = httpClientService.callExternalApiAsync("e5").join();
+
+        assertEquals(new EventScore("e5", "0:3"), score);
+    }
+
+    @Test
+    void callExternalApiAsync_shouldRetryServerErrors() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"eventId\":\"e6\",\"currentScore\":\"1:1\"}"));
+
+        EventScore score = httpClientService.callExternalApiAsync("e6").join();
+
+        assertEquals("1:1", score.currentScore());
+        String url = mockWebServer.url("/events/%7BeventId%7D/score").toString();
+        Mockito.verify(httpClientService, times(2)).performHttpCallAsync(anyString(), eq(url), anyInt());
+    }
+
+    @Test
+    void callExternalApiAsync_shouldNotRetryClientErrors() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> httpClientService.callExternalApiAsync("e7").join());
+
+        ExternalApiUnexpectedStatusException cause =
+                assertInstanceOf(ExternalApiUnexpectedStatusException.class, e.getCause());
+        assertEquals(404, cause.getStatusCode());
+        String url = mockWebServer.url("/events/%7BeventId%7D/score").toString();
+        Mockito.verify(httpClientService, times(1)).performHttpCallAsync(anyString(), eq(url), anyInt());
+    }
+
+    @Test
+    void callExternalApiAsync_shouldNegotiateAndDecodeGzip() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody(gzip("{\"eventId\":\"e9\",\"currentScore\":\"2:2\"}"))
+                .addHeader("Content-Encoding", "gzip")
+                .addHeader("Content-Type", "application/json"));
+
+        EventScore score = httpClientService.callExternalApiAsync("e9").join();
+
+        assertEquals(new EventScore("e9", "2:2"), score);
+        assertEquals("gzip, deflate", lastRequest().getHeader("Accept-Encoding"));
+    }
+
+    @Test
+    void callExternalApiAsync_shouldHedgeSlowProviderWithSecondProvider() throws IOException {
+        try (MockWebServer secondProvider = new MockWebServer()) {
+            secondProvider.start();
+            ReflectionTestUtils.setField(httpClientService, "hedgeUrls",
+                    new String[]{secondProvider.url("/events/{eventId}/score").toString()});
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .setBody("{\"eventId\":\"e10\",\"currentScore\":\"1:0\"}")
+                    .setHeadersDelay(5, TimeUnit.SECONDS));
+            secondProvider.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .setBody("{\"eventId\":\"e10\",\"currentScore\":\"1:0\"}"));
+            long startedAt = System.nanoTime();
+
+            EventScore score = httpClientService.callExternalApiAsync("e10").join();
+
+            assertEquals(new EventScore("e10", "1:0"), score);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(4_000);
+            assertEquals(1, secondProvider.getRequestCount());
+            assertEquals(1.0, meterRegistry.get("external.api.hedge.rate").gauge().value());
+            assertEquals(1.0, meterRegistry.get("external.api.hedge.wins").tag("request", "hedge").counter().count());
+        }
+    }
+
+    @Test
+    void warmUpAsync_shouldCountEveryResponseWithoutRetrying() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200)
+                                                .setBody("{\"eventId\":\"warm-up\",\"currentScore\":\"0:0\"}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        assertEquals(2, httpClientService.warmUpAsync("warm-up", 2).join());
+        Mockito.verify(httpClientService, times(2)).performHttpCallAsync(eq("warm-up"), anyString(), eq(1));
+    }
+
+    @Test
+    void callExternalApi_shouldEmitJfrEventsPerAttempt(@TempDir Path tempDir) throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setBody("{\"eventId\":\"e8\",\"currentScore\":\"4:0\"}"));
+
+        Path dump = tempDir.resolve("tracker.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ExternalApiCallEvent.class);
+            recording.enable(JsonDecodeEvent.class);
+            recording.start();
+            httpClientService.callExternalApi("e8");
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> calls = RecordingFile.readAllEvents(dump).stream()
+                                                 .filter(e -> "e8".equals(e.getString("eventId")))
+                                                 .toList();
+        assertThat(calls)
+                .extracting(e -> e.getEventType().getName(), e -> e.getInt("attempt"), e -> e.getString("outcome"))
+                .containsExactlyInAnyOrder(
+                        tuple("com.sports.tracker.ExternalApiCall", 1, "failure:ExternalApiUnexpectedStatusException"),
+                        tuple("com.sports.tracker.ExternalApiCall", 2, "success"),
+                        tuple("com.sports.tracker.JsonDecode", 2, "success"));
+    }
+
+    private static Buffer gzip(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return new Buffer().write(bytes.toByteArray());
+    }
+
+    /**
+     * The server is shared by all tests, so skip the requests of earlier tests.
+     */
+    private static RecordedRequest lastRequest() throws InterruptedException {
+        RecordedRequest last = null;
+        RecordedRequest next;
+        while ((next = mockWebServer.takeRequest(100, TimeUnit.MILLISECONDS)) != null) {
+            last = next;
+        }
+        return last;
+    }
+
     private void setField(Object target, Object value) {
         try {
             var field = HttpClientService.class.getDeclaredField("externalApiUrl");
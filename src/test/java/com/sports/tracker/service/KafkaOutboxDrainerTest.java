@@ -0,0 +1,81 @@
+package com.sports.tracker.service;
+
+import com.sports.tracker.outbox.KafkaOutbox;
+import com.sports.tracker.outbox.OutboxRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KafkaOutboxDrainerTest {
+
+    private static final String TOPIC = "live-sports-events";
+
+    @TempDir
+    private Path dir;
+
+    private KafkaOutbox outbox;
+    private final KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+    private KafkaOutboxDrainer drainer;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new KafkaOutbox(dir, 4096, 4, new SimpleMeterRegistry());
+        drainer = new KafkaOutboxDrainer(outbox, kafkaProducerService);
+        for (int i = 0; i < 3; i++) {
+            outbox.append(new OutboxRecord(TOPIC, "event-" + i, i + ":0", i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.close();
+    }
+
+    @Test
+    void drainOnce_shouldSendTheWholeBatchBeforeWaitingForAcknowledgements() {
+        // The broker acknowledges only once it received the whole batch
+        List<CompletableFuture<Boolean>> sends = new CopyOnWriteArrayList<>();
+        when(kafkaProducerService.publishFromOutboxAsync(any(OutboxRecord.class))).thenAnswer(invocation -> {
+            CompletableFuture<Boolean> send = new CompletableFuture<>();
+            sends.add(send);
+            if (sends.size() == 3) {
+                sends.forEach(pending -> pending.complete(true));
+            }
+            return send;
+        });
+
+        assertTrue(assertTimeoutPreemptively(Duration.ofSeconds(5), drainer::drainOnce));
+
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    void drainOnce_shouldKeepRecordsFromTheFirstUnacknowledgedOne() throws InterruptedException {
+        when(kafkaProducerService.publishFromOutboxAsync(any(OutboxRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(true))
+                .thenReturn(CompletableFuture.completedFuture(false))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        assertTrue(drainer.drainOnce());
+
+        assertEquals(2, outbox.pendingRecords());
+        assertEquals("event-1", outbox.peek().key());
+        assertFalse(outbox.hasPending("event-0"));
+    }
+}
@@ -1,28 +1,47 @@
 package com.sports.tracker.service;
 
 import com.sports.tracker.exception.KafkaMessageSendException;
+import com.sports.tracker.logging.LogSampler;
 import com.sports.tracker.model.EventScore;
+import com.sports.tracker.outbox.KafkaOutbox;
+import com.sports.tracker.outbox.OutboxRecord;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Header;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -39,9 +58,17 @@ class KafkaProducerServiceTest {
     @Captor
     private ArgumentCaptor<ProducerRecord<String, String>> recordCaptor;
 
+    @TempDir
+    private Path outboxDir;
+
+    private KafkaOutbox outbox;
+
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+
     private AutoCloseable mocks;
 
     private static final String TOPIC = "live-sports-events";
+    private static final String SNAPSHOT_TOPIC = "live-sports-snapshots";
     private static final String EVENT_ID = "event123";
     private static final String SCORE = "2-1";
 
@@ -55,11 +82,19 @@ class KafkaProducerServiceTest {
                                         .build();
         Retry realRetry = Retry.of("testRetry", config);
 
-        kafkaProducerService = new KafkaProducerService(kafkaTemplate, realRetry,TOPIC);
+        outbox = new KafkaOutbox(outboxDir, 4096, 2, new SimpleMeterRegistry());
+        kafkaProducerService = new KafkaProducerService(kafkaTemplate, realRetry, retryScheduler, TOPIC,
+                SNAPSHOT_TOPIC, outbox, new LogSampler(1.0));
+
+        // Acknowledge every record unless a test stubs otherwise
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                new SendResult<>(invocation.getArgument(0), new RecordMetadata(null, 0, 0, 0L, 0, 0))));
     }
 
     @AfterEach
     void tearDown() throws Exception {
+        outbox.close();
+        retryScheduler.shutdownNow();
         mocks.close();
     }
 
@@ -81,12 +116,17 @@ class KafkaProducerServiceTest {
         assertDoesNotThrow(() -> kafkaProducerService.sendMessage(eventScore));
 
         // Then
-        verify(kafkaTemplate).send(recordCaptor.capture());
-        ProducerRecord<String, String> capturedRecord = recordCaptor.getValue();
+        verify(kafkaTemplate, times(2)).send(recordCaptor.capture());
+        ProducerRecord<String, String> capturedRecord = recordCaptor.getAllValues().get(0);
 
         assertEquals(TOPIC, capturedRecord.topic());
         assertEquals(EVENT_ID, capturedRecord.key());
         assertEquals(SCORE, capturedRecord.value());
+
+        ProducerRecord<String, String> snapshotRecord = recordCaptor.getAllValues().get(1);
+        assertEquals(SNAPSHOT_TOPIC, snapshotRecord.topic());
+        assertEquals(EVENT_ID, snapshotRecord.key());
+        assertEquals(SCORE, snapshotRecord.value());
     }
 
     @Test
@@ -95,13 +135,9 @@ class KafkaProducerServiceTest {
         EventScore eventScore = new EventScore(EVENT_ID, SCORE);
         ProducerRecord<String, String> event123 = new ProducerRecord<>(TOPIC, EVENT_ID, SCORE);
 
-        when(kafkaTemplate.send(event123))
-                .thenReturn(new CompletableFuture<>() {
-                    @Override
-                    public SendResult<String, String> get() throws InterruptedException {
-                        throw new InterruptedException("Simulated interrupt");
-                    }
-                });
+        // The broker never acknowledges, and the caller is interrupted while waiting
+        when(kafkaTemplate.send(event123)).thenReturn(new CompletableFuture<>());
+        Thread.currentThread().interrupt();
 
         // When
         assertThatThrownBy(() -> kafkaProducerService.sendMessage(eventScore))
@@ -109,11 +145,12 @@ class KafkaProducerServiceTest {
                 .hasMessageContaining("interrupted");
 
         // Then
+        assertTrue(Thread.interrupted());
         verify(kafkaTemplate).send(event123);
     }
 
     @Test
-    void sendMessage_executionException_throwsKafkaMessageSendException() {
+    void sendMessage_executionException_spillsToOutbox() {
         // Given
         EventScore eventScore = new EventScore(EVENT_ID, SCORE);
         ProducerRecord<String, String> event123 = new ProducerRecord<>(TOPIC, EVENT_ID, SCORE);
@@ -124,11 +161,248 @@ class KafkaProducerServiceTest {
         when(kafkaTemplate.send(event123)).thenReturn(future);
 
         // When
-        assertThatThrownBy(() -> kafkaProducerService.sendMessage(eventScore))
+        assertDoesNotThrow(() -> kafkaProducerService.sendMessage(eventScore));
+
+        // Then
+        verify(kafkaTemplate, times(3)).send(event123);
+        OutboxRecord spilled = outbox.peek();
+        assertEquals(EVENT_ID, spilled.key());
+        assertEquals(SCORE, spilled.value());
+    }
+
+    @Test
+    void sendMessage_whileOutboxPending_appendsBehindPendingRecords() {
+        // Given
+        outbox.append(new OutboxRecord(TOPIC, EVENT_ID, "0-0", 1L));
+
+        // When
+        kafkaProducerService.sendMessage(new EventScore(EVENT_ID, SCORE));
+
+        // Then
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        assertEquals(3, outbox.pendingRecords());
+        assertEquals("0-0", outbox.peek().value());
+    }
+
+    @Test
+    void sendMessage_outboxFull_throwsKafkaMessageSendException() {
+        // Given
+        while (outbox.append(new OutboxRecord(TOPIC, EVENT_ID, SCORE, 1L))) {
+            // fill the outbox up to its disk budget
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> kafkaProducerService.sendMessage(new EventScore(EVENT_ID, SCORE)))
                 .isInstanceOf(KafkaMessageSendException.class)
-                .hasMessageContaining("Kafka send failed");
+                .hasMessageContaining("outbox is full");
+    }
+
+    @Test
+    void sendMessage_whileOutboxHoldsOtherKeys_sendsToBroker() {
+        // Given
+        outbox.append(new OutboxRecord(TOPIC, "other-event", "0-0", 1L));
+
+        // When
+        kafkaProducerService.sendMessage(new EventScore(EVENT_ID, SCORE));
 
         // Then
+        verify(kafkaTemplate).send(new ProducerRecord<>(TOPIC, EVENT_ID, SCORE));
+        assertEquals(1, outbox.pendingRecords());
+    }
+
+    @Test
+    void publishFromOutboxAsync_returnsWhetherBrokerAcknowledged() {
+        // Given
+        OutboxRecord outboxRecord = new OutboxRecord(TOPIC, EVENT_ID, SCORE, 42L);
+        RecordMetadata recordMetadata = new RecordMetadata(null, 0, 0, 0L, 0, 0);
+        CompletableFuture<SendResult<String, String>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new RuntimeException("broker down"));
+
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(failed)
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, recordMetadata)));
+
+        // When / Then
+        assertFalse(kafkaProducerService.publishFromOutboxAsync(outboxRecord).join());
+        assertTrue(kafkaProducerService.publishFromOutboxAsync(outboxRecord).join());
+
+        verify(kafkaTemplate, times(2)).send(recordCaptor.capture());
+        assertEquals(42L, recordCaptor.getValue().timestamp());
+    }
+
+    @Test
+    void sendMessageAsync_success() {
+        // Given
+        EventScore eventScore = new EventScore(EVENT_ID, SCORE);
+        RecordMetadata recordMetadata = new RecordMetadata(null, 7, 0, 0L, 0, 0);
+        ProducerRecord<String, String> event123 = new ProducerRecord<>(TOPIC, EVENT_ID, SCORE);
+        when(kafkaTemplate.send(event123))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(event123, recordMetadata)));
+
+        // When
+        assertEquals(7L, kafkaProducerService.sendMessageAsync(eventScore).join());
+
+        // Then
+        verify(kafkaTemplate).send(event123);
+        verify(kafkaTemplate).send(new ProducerRecord<>(SNAPSHOT_TOPIC, EVENT_ID, SCORE));
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    void sendMessageAsync_failure_retriesWithoutBlockingThenSpills() {
+        // Given
+        EventScore eventScore = new EventScore(EVENT_ID, SCORE);
+        ProducerRecord<String, String> event123 = new ProducerRecord<>(TOPIC, EVENT_ID, SCORE);
+        when(kafkaTemplate.send(event123))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new RuntimeException("fail")));
+
+        // When
+        CompletableFuture<Long> result = kafkaProducerService.sendMessageAsync(eventScore);
+
+        // Then
+        assertEquals(KafkaProducerService.OFFSET_UNKNOWN, result.join());
         verify(kafkaTemplate, times(3)).send(event123);
+        assertEquals(SCORE, outbox.peek().value());
+    }
+
+    @Test
+    void sendMessageAsync_retry_runsOnAVirtualThreadInsteadOfTheRetryScheduler() {
+        // Given
+        ProducerRecord<String, String> event123 = new ProducerRecord<>(TOPIC, EVENT_ID, SCORE);
+        SendResult<String, String> sent = new SendResult<>(event123, new RecordMetadata(null, 0, 0, 0L, 0, 0));
+        List<Thread> attempts = new CopyOnWriteArrayList<>();
+        when(kafkaTemplate.send(event123)).thenAnswer(invocation -> {
+            attempts.add(Thread.currentThread());
+            return attempts.size() == 1
+                    ? CompletableFuture.failedFuture(new RuntimeException("fail"))
+                    : CompletableFuture.completedFuture(sent);
+        });
+
+        // When
+        kafkaProducerService.sendMessageAsync(new EventScore(EVENT_ID, SCORE)).join();
+
+        // Then: a send blocking on broker metadata cannot hold up the scheduler's single thread
+        assertEquals(2, attempts.size());
+        assertTrue(attempts.get(1).isVirtual());
+    }
+
+    @Test
+    void sendMessageAsync_newerScoreWaitsForTheRetryOfAnOlderOne() {
+        // Given
+        ProducerRecord<String, String> older = new ProducerRecord<>(TOPIC, EVENT_ID, "1:0");
+        ProducerRecord<String, String> newer = new ProducerRecord<>(TOPIC, EVENT_ID, "2:0");
+        CompletableFuture<SendResult<String, String>> firstAttempt = new CompletableFuture<>();
+        when(kafkaTemplate.send(older))
+                .thenReturn(firstAttempt)
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        new SendResult<>(older, new RecordMetadata(null, 0, 0, 0L, 0, 0))));
+
+        // When: the newer score arrives while the older one is in flight, and the older one then fails once
+        CompletableFuture<Long> olderResult = kafkaProducerService.sendMessageAsync(new EventScore(EVENT_ID, "1:0"));
+        CompletableFuture<Long> newerResult = kafkaProducerService.sendMessageAsync(new EventScore(EVENT_ID, "2:0"));
+        verify(kafkaTemplate, never()).send(newer);
+        firstAttempt.completeExceptionally(new RuntimeException("fail"));
+        olderResult.join();
+        newerResult.join();
+
+        // Then: the newer score went out only after the retry of the older one
+        InOrder inOrder = inOrder(kafkaTemplate);
+        inOrder.verify(kafkaTemplate, times(2)).send(older);
+        inOrder.verify(kafkaTemplate).send(newer);
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    void sendMessageAsync_newerScoreOfASpilledKey_isSpilledBehindIt() {
+        // Given
+        ProducerRecord<String, String> older = new ProducerRecord<>(TOPIC, EVENT_ID, "1:0");
+        when(kafkaTemplate.send(older))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new RuntimeException("fail")));
+
+        // When
+        CompletableFuture<Long> olderResult = kafkaProducerService.sendMessageAsync(new EventScore(EVENT_ID, "1:0"));
+        CompletableFuture<Long> newerResult = kafkaProducerService.sendMessageAsync(new EventScore(EVENT_ID, "2:0"));
+        olderResult.join();
+
+        // Then
+        assertEquals(KafkaProducerService.OFFSET_UNKNOWN, newerResult.join());
+        verify(kafkaTemplate, never()).send(new ProducerRecord<>(TOPIC, EVENT_ID, "2:0"));
+        assertEquals(List.of("1:0", "2:0"), outbox.peek(10).stream()
+                                                  .filter(outboxRecord -> outboxRecord.topic().equals(TOPIC))
+                                                  .map(OutboxRecord::value)
+                                                  .toList());
+    }
+
+    @Test
+    void sendMessageAsync_withSequenceAndVersion_setsHeadersAndKeepsThemWhenSpilled() {
+        // Given
+        EventScore eventScore = new EventScore(EVENT_ID, SCORE);
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenAnswer(invocation -> CompletableFuture.failedFuture(new RuntimeException("fail")));
+
+        // When
+        kafkaProducerService.sendMessageAsync(eventScore, 42L, 1_000L).join();
+
+        // Then
+        verify(kafkaTemplate, times(6)).send(recordCaptor.capture());
+        Header sent = recordCaptor.getValue().headers().lastHeader(KafkaProducerService.SEQUENCE_HEADER);
+        assertEquals(42L, ByteBuffer.wrap(sent.value()).getLong());
+        Header version = recordCaptor.getValue().headers().lastHeader(KafkaProducerService.VERSION_HEADER);
+        assertEquals(1_000L, ByteBuffer.wrap(version.value()).getLong());
+
+        Header spilled = outbox.peek().headers().get(0);
+        assertEquals(KafkaProducerService.SEQUENCE_HEADER, spilled.key());
+        assertEquals(42L, ByteBuffer.wrap(spilled.value()).getLong());
+        assertEquals(KafkaProducerService.VERSION_HEADER, outbox.peek().headers().get(1).key());
+    }
+
+    @Test
+    void sendMessageAsync_snapshotRetryOvertakenByNewerScore_isDropped() {
+        // Given
+        ProducerRecord<String, String> olderSnapshot = new ProducerRecord<>(SNAPSHOT_TOPIC, EVENT_ID, "1:0");
+        ProducerRecord<String, String> newerSnapshot = new ProducerRecord<>(SNAPSHOT_TOPIC, EVENT_ID, "2:0");
+        CompletableFuture<SendResult<String, String>> firstAttempt = new CompletableFuture<>();
+        when(kafkaTemplate.send(olderSnapshot)).thenReturn(firstAttempt);
+
+        // When: the older score fails once, after the newer one was sent
+        CompletableFuture<Long> older = kafkaProducerService.sendMessageAsync(new EventScore(EVENT_ID, "1:0"));
+        kafkaProducerService.sendMessageAsync(new EventScore(EVENT_ID, "2:0")).join();
+        firstAttempt.completeExceptionally(new RuntimeException("fail"));
+        older.join();
+
+        // Then: the older snapshot is neither sent again nor spilled behind the newer one
+        verify(kafkaTemplate, times(1)).send(olderSnapshot);
+        verify(kafkaTemplate, times(1)).send(newerSnapshot);
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    void sendMessageAsync_snapshotFailingOnceWithoutNewerScore_isRetried() {
+        // Given
+        ProducerRecord<String, String> snapshot = new ProducerRecord<>(SNAPSHOT_TOPIC, EVENT_ID, SCORE);
+        when(kafkaTemplate.send(snapshot))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("fail")))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        new SendResult<>(snapshot, new RecordMetadata(null, 0, 0, 0L, 0, 0))));
+
+        // When
+        kafkaProducerService.sendMessageAsync(new EventScore(EVENT_ID, SCORE)).join();
+
+        // Then
+        verify(kafkaTemplate, times(2)).send(snapshot);
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    void publishTombstoneAsync_sendsNullValueToSnapshotTopic() {
+        // When
+        kafkaProducerService.publishTombstoneAsync(EVENT_ID).join();
+
+        // Then
+        verify(kafkaTemplate).send(recordCaptor.capture());
+        ProducerRecord<String, String> tombstone = recordCaptor.getValue();
+        assertEquals(SNAPSHOT_TOPIC, tombstone.topic());
+        assertEquals(EVENT_ID, tombstone.key());
+        assertNull(tombstone.value());
     }
 }
@@ -0,0 +1,232 @@
+package com.sports.tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.ScoreTick;
+import com.sports.tracker.scheduler.SimulatedSchedulerClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScoreBatcherTest {
+
+    private final KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SimulatedSchedulerClock clock = new SimulatedSchedulerClock(1_000);
+
+    @Test
+    void submit_shouldPublishImmediately_whenBatchingDisabled() {
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(3L));
+        ScoreBatcher scoreBatcher = batcher("none", 2000);
+
+        CompletableFuture<Long> result = scoreBatcher.submit(new EventScore("event-1", "1:0"), 1, 1);
+
+        assertThat(result).isCompletedWithValue(3L);
+        verify(kafkaProducerService, never()).flush();
+    }
+
+    @Test
+    void flush_shouldSendQueuedScoresAndFlushProducerOnce_whenPerEvent() {
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(7L));
+        ScoreBatcher scoreBatcher = batcher("per-event", 2000);
+
+        CompletableFuture<Long> first = scoreBatcher.submit(new EventScore("event-1", "1:0"), 1, 1);
+        CompletableFuture<Long> second = scoreBatcher.submit(new EventScore("event-2", "0:0"), 4, 2);
+        assertThat(first).isNotDone();
+        verify(kafkaProducerService, never()).sendMessageAsync(any(), anyLong(), anyLong());
+
+        scoreBatcher.flush();
+
+        assertThat(first).isCompletedWithValue(7L);
+        assertThat(second).isCompletedWithValue(7L);
+        verify(kafkaProducerService).sendMessageAsync(new EventScore("event-2", "0:0"), 4, 2);
+        verify(kafkaProducerService, timeout(1_000).times(1)).flush();
+        assertThat(meterRegistry.get("kafka.batch.size").tag("mode", "per_event").summary().totalAmount())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("kafka.batch.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void flush_shouldPublishOneTickRecord_whenAggregated() throws Exception {
+        when(kafkaProducerService.sendRecordAsync(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(42L));
+        ScoreBatcher scoreBatcher = batcher("aggregated", 2000);
+
+        CompletableFuture<Long> first = scoreBatcher.submit(new EventScore("event-1", "1:0"), 1, 5);
+        CompletableFuture<Long> second = scoreBatcher.submit(new EventScore("event-2", "2:2"), 3, 6);
+        scoreBatcher.flush();
+
+        ArgumentCaptor<String> value = ArgumentCaptor.forClass(String.class);
+        verify(kafkaProducerService).sendRecordAsync(eq("live-sports-ticks"), eq(ScoreBatcher.AGGREGATE_KEY),
+                value.capture());
+        verify(kafkaProducerService, never()).sendMessageAsync(any(), anyLong(), anyLong());
+        ScoreTick tick = objectMapper.readValue(value.getValue(), ScoreTick.class);
+        assertThat(tick.tickMillis()).isEqualTo(1_000);
+        assertThat(tick.scores()).containsExactly(
+                new ScoreTick.Entry("event-1", "1:0", 5, 1),
+                new ScoreTick.Entry("event-2", "2:2", 6, 3));
+        assertThat(first).isCompletedWithValue(42L);
+        assertThat(second).isCompletedWithValue(42L);
+    }
+
+    @Test
+    void flush_shouldFailEveryScoreOfTick_whenAggregatedSendFails() {
+        when(kafkaProducerService.sendRecordAsync(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        ScoreBatcher scoreBatcher = batcher("aggregated", 2000);
+
+        CompletableFuture<Long> first = scoreBatcher.submit(new EventScore("event-1", "1:0"), 1, 1);
+        CompletableFuture<Long> second = scoreBatcher.submit(new EventScore("event-2", "0:1"), 1, 1);
+        scoreBatcher.flush();
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+    }
+
+    @Test
+    void flush_shouldSplitTickIntoBatchesOfMaxBatchSize() {
+        when(kafkaProducerService.sendRecordAsync(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(1L));
+        ScoreBatcher scoreBatcher = batcher("aggregated", 2);
+
+        for (int i = 0; i < 5; i++) {
+            scoreBatcher.submit(new EventScore("event-" + i, "0:0"), 1, 1);
+        }
+        scoreBatcher.flush();
+
+        verify(kafkaProducerService, times(3)).sendRecordAsync(anyString(), anyString(), anyString());
+        assertThat(meterRegistry.get("kafka.batch.size").summary().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("kafka.batch.size").summary().max()).isEqualTo(2.0);
+    }
+
+    @Test
+    void submit_shouldKeepOnlyTheNewestWaitingScorePerEvent() {
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong()))
+                .thenReturn(CompletableFuture.completedFuture(9L));
+        ScoreBatcher scoreBatcher = batcher("per-event", 2000);
+
+        CompletableFuture<Long> older = scoreBatcher.submit(new EventScore("event-1", "1:0"), 1, 1);
+        CompletableFuture<Long> other = scoreBatcher.submit(new EventScore("event-2", "0:0"), 1, 1);
+        CompletableFuture<Long> newer = scoreBatcher.submit(new EventScore("event-1", "2:0"), 2, 2);
+
+        assertThat(older).isCompletedWithValue(null);
+        assertThat(meterRegistry.get("kafka.batch.conflated").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("kafka.batch.pending").gauge().value()).isEqualTo(2.0);
+
+        scoreBatcher.flush();
+
+        assertThat(newer).isCompletedWithValue(9L);
+        assertThat(other).isCompletedWithValue(9L);
+        verify(kafkaProducerService).sendMessageAsync(new EventScore("event-2", "0:0"), 1, 1);
+        verify(kafkaProducerService).sendMessageAsync(new EventScore("event-1", "2:0"), 2, 2);
+        verify(kafkaProducerService, never()).sendMessageAsync(eq(new EventScore("event-1", "1:0")), anyLong(),
+                anyLong());
+    }
+
+    @Test
+    void submit_shouldRejectNewEvents_whenHandOffIsFull() {
+        ScoreBatcher scoreBatcher = batcher("per-event", 2000, 1, 4);
+
+        scoreBatcher.submit(new EventScore("event-1", "1:0"), 1, 1);
+        CompletableFuture<Long> replacing = scoreBatcher.submit(new EventScore("event-1", "2:0"), 2, 2);
+        CompletableFuture<Long> rejected = scoreBatcher.submit(new EventScore("event-2", "0:0"), 1, 1);
+
+        assertThat(replacing).isNotDone();
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(meterRegistry.get("kafka.batch.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void flush_shouldHoldBackAndConflate_whileTooManyBatchesAreUnacknowledged() {
+        CompletableFuture<Long> ack = new CompletableFuture<>();
+        when(kafkaProducerService.sendRecordAsync(anyString(), anyString(), anyString())).thenReturn(ack);
+        ScoreBatcher scoreBatcher = batcher("aggregated", 2000, 100_000, 1);
+
+        scoreBatcher.submit(new EventScore("event-1", "1:0"), 1, 1);
+        scoreBatcher.flush();
+        scoreBatcher.submit(new EventScore("event-1", "2:0"), 2, 2);
+        scoreBatcher.flush();
+        CompletableFuture<Long> newest = scoreBatcher.submit(new EventScore("event-1", "3:0"), 3, 3);
+        scoreBatcher.flush();
+
+        verify(kafkaProducerService, times(1)).sendRecordAsync(anyString(), anyString(), anyString());
+        assertThat(meterRegistry.get("kafka.batch.in-flight").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("kafka.batch.conflated").counter().count()).isEqualTo(1.0);
+
+        ack.complete(1L);
+        scoreBatcher.flush();
+
+        verify(kafkaProducerService, times(2)).sendRecordAsync(anyString(), anyString(), anyString());
+        assertThat(newest).isCompletedWithValue(1L);
+    }
+
+    @Test
+    void flush_shouldNotWaitForABlockingProducerFlush_whenPerEvent() throws Exception {
+        when(kafkaProducerService.sendMessageAsync(any(), anyLong(), anyLong())).thenReturn(new CompletableFuture<>());
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch brokerReachable = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushing.countDown();
+            brokerReachable.await();
+            return null;
+        }).when(kafkaProducerService).flush();
+        ScoreBatcher scoreBatcher = batcher("per-event", 2000, 100_000, 2);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            scoreBatcher.submit(new EventScore("event-1", "1:0"), 1, 1);
+            scoreBatcher.flush();
+            assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+            scoreBatcher.submit(new EventScore("event-2", "1:0"), 1, 1);
+            scoreBatcher.flush();
+            scoreBatcher.submit(new EventScore("event-3", "1:0"), 1, 1);
+            scoreBatcher.flush();
+        });
+
+        // Both batches are unacknowledged, so the third tick was skipped instead of stalling the ticker
+        verify(kafkaProducerService, times(2)).sendMessageAsync(any(), anyLong(), anyLong());
+        assertThat(meterRegistry.get("kafka.batch.pending").gauge().value()).isEqualTo(1.0);
+        brokerReachable.countDown();
+        // The flush requested during the blocked one runs once it returns
+        verify(kafkaProducerService, timeout(1_000).times(2)).flush();
+        scoreBatcher.stop();
+    }
+
+    @Test
+    void constructor_shouldRejectUnknownModeAndNonPositiveSizes() {
+        assertThatThrownBy(() -> batcher("sometimes", 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> batcher("per-event", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> batcher("per-event", 10, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ScoreBatcher batcher(String mode, int maxBatchSize) {
+        return batcher(mode, maxBatchSize, 100_000, 4);
+    }
+
+    private ScoreBatcher batcher(String mode, int maxBatchSize, int maxPending, int maxInFlight) {
+        return new ScoreBatcher(kafkaProducerService, objectMapper, meterRegistry, clock, mode, 50, maxBatchSize,
+                "live-sports-ticks", maxPending, maxInFlight);
+    }
+}
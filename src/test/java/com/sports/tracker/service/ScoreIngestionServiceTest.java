@@ -0,0 +1,82 @@
+package com.sports.tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sports.tracker.model.EventScore;
+import com.sports.tracker.model.PushSummary;
+import com.sports.tracker.scheduler.EventScheduler;
+import com.sports.tracker.scheduler.EventScheduler.PushOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScoreIngestionServiceTest {
+
+    private final EventScheduler eventScheduler = mock(EventScheduler.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ScoreIngestionService scoreIngestionService;
+
+    @BeforeEach
+    void setUp() {
+        scoreIngestionService = new ScoreIngestionService(eventScheduler, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void stream_shouldPublishEachLineAndCountWhatItCouldNot() {
+        when(eventScheduler.acceptPushedScore(new EventScore("event1", "1:0"))).thenReturn(PushOutcome.ACCEPTED);
+        when(eventScheduler.acceptPushedScore(new EventScore("event1", "0:0", 1L))).thenReturn(PushOutcome.STALE);
+        when(eventScheduler.acceptPushedScore(new EventScore("event2", "1:1"))).thenReturn(PushOutcome.NOT_LIVE);
+        String ndjson = """
+                {"eventId":"event1","currentScore":"1:0"}
+
+                {"eventId":"event1","currentScore":"0:0","version":1}
+                not json
+                {"eventId":"event2","currentScore":"1:1"}
+                {"eventId":"event3"}
+                """;
+
+        PushSummary summary = scoreIngestionService.stream("provider-a",
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(summary).isEqualTo(new PushSummary(1, 1, 1, 2));
+        assertThat(pushed("accepted")).isEqualTo(1);
+        assertThat(pushed("invalid")).isEqualTo(2);
+        assertThat(meterRegistry.get("scores.push.streams").gauge().value()).isZero();
+    }
+
+    @Test
+    void push_shouldRejectTheWholeBatchIfAScoreIsInvalid() {
+        List<EventScore> batch = List.of(new EventScore("event1", "1:0"), new EventScore(" ", "1:0"));
+
+        assertThatThrownBy(() -> scoreIngestionService.push(batch)).isInstanceOf(IllegalArgumentException.class);
+
+        verify(eventScheduler, never()).acceptPushedScore(any());
+        assertThat(pushed("invalid")).isEqualTo(1);
+    }
+
+    @Test
+    void push_shouldSummarizeTheOutcomes() {
+        when(eventScheduler.acceptPushedScore(any())).thenReturn(PushOutcome.ACCEPTED, PushOutcome.STALE);
+
+        PushSummary summary = scoreIngestionService.push(
+                List.of(new EventScore("event1", "1:0"), new EventScore("event1", "1:0")));
+
+        assertThat(summary).isEqualTo(new PushSummary(1, 1, 0, 0));
+        assertThat(pushed("stale")).isEqualTo(1);
+    }
+
+    private double pushed(String result) {
+        return meterRegistry.get("scores.pushed").tag("result", result).counter().count();
+    }
+}
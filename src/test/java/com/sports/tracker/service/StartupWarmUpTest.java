@@ -0,0 +1,72 @@
+package com.sports.tracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StartupWarmUpTest {
+
+    private final HttpClientService httpClientService = mock(HttpClientService.class);
+    private final KafkaProducerService kafkaProducerService = mock(KafkaProducerService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void warmUp_shouldRunEveryStepAndRecordDurations() {
+        when(httpClientService.warmUpAsync("warm-up", 4)).thenReturn(CompletableFuture.completedFuture(4));
+        when(kafkaProducerService.warmUp()).thenReturn(12);
+
+        assertThat(warmUp(true, 5_000).warmUp()).isTrue();
+
+        verify(kafkaProducerService).warmUp();
+        for (String step : new String[]{"provider", "kafka", "codec", "total"}) {
+            assertThat(meterRegistry.get("startup.warmup").tag("step", step).timer().count())
+                    .as("step %s", step)
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    void warmUp_shouldGiveUpAfterTimeout() {
+        when(httpClientService.warmUpAsync(anyString(), anyInt())).thenReturn(new CompletableFuture<>());
+        when(kafkaProducerService.warmUp()).thenReturn(12);
+        long startedAt = System.currentTimeMillis();
+
+        assertThat(warmUp(true, 200).warmUp()).isFalse();
+
+        assertThat(System.currentTimeMillis() - startedAt).isLessThan(5_000);
+        assertThat(meterRegistry.get("startup.warmup").tag("step", "total").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("startup.warmup").tag("step", "provider").timer()).isNull();
+    }
+
+    @Test
+    void warmUp_shouldNotFailStartup_whenAStepFails() throws Exception {
+        when(httpClientService.warmUpAsync(anyString(), anyInt())).thenReturn(CompletableFuture.completedFuture(0));
+        when(kafkaProducerService.warmUp()).thenThrow(new IllegalStateException("no broker"));
+
+        assertThat(warmUp(true, 5_000).warmUp()).isFalse();
+        warmUp(true, 5_000).run(null);
+    }
+
+    @Test
+    void run_shouldSkipWarmUp_whenDisabled() throws Exception {
+        warmUp(false, 5_000).run(null);
+
+        verify(httpClientService, never()).warmUpAsync(anyString(), anyInt());
+        verify(kafkaProducerService, never()).warmUp();
+    }
+
+    private StartupWarmUp warmUp(boolean enabled, long timeoutMillis) {
+        return new StartupWarmUp(httpClientService, kafkaProducerService, new ObjectMapper(), meterRegistry,
+                enabled, timeoutMillis, 4, "warm-up", 100);
+    }
+}